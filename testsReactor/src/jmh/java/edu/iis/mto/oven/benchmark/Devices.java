@@ -0,0 +1,119 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.ProgramStage;
+
+final class Devices {
+
+    static final String NO_OP = "noop";
+    static final String LATENCY = "latency";
+
+    private static final long LATENCY_TOKENS = 200;
+    private static final HeatType[] HEAT_TYPES = HeatType.values();
+
+    private Devices() {}
+
+    static HeatingModule heatingModule(String kind) {
+        return LATENCY.equals(kind) ? new LatencyHeatingModule() : new NoOpHeatingModule();
+    }
+
+    static Fan fan(String kind) {
+        return LATENCY.equals(kind) ? new LatencyFan() : new NoOpFan();
+    }
+
+    static BakingProgram mixedProgram(int stages) {
+        List<ProgramStage> programStages = new ArrayList<>(stages);
+        for (int i = 0; i < stages; i++) {
+            programStages.add(ProgramStage.builder()
+                                          .withHeat(HEAT_TYPES[i % HEAT_TYPES.length])
+                                          .withTargetTemp(150 + i % 100)
+                                          .withStageTime(1 + i % 30)
+                                          .build());
+        }
+        return BakingProgram.builder()
+                            .withInitialTemp(150)
+                            .withStages(programStages)
+                            .withCoolAtFinish(true)
+                            .build();
+    }
+
+    private static class NoOpHeatingModule implements HeatingModule {
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) {}
+
+        @Override
+        public void heater(HeatingSettings settings) {}
+
+        @Override
+        public void grill(HeatingSettings settings) {}
+    }
+
+    private static class LatencyHeatingModule implements HeatingModule {
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) {
+            Blackhole.consumeCPU(LATENCY_TOKENS);
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) {
+            Blackhole.consumeCPU(LATENCY_TOKENS);
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) {
+            Blackhole.consumeCPU(LATENCY_TOKENS);
+        }
+    }
+
+    private static class NoOpFan implements Fan {
+
+        private boolean on;
+
+        @Override
+        public void on() {
+            on = true;
+        }
+
+        @Override
+        public void off() {
+            on = false;
+        }
+
+        @Override
+        public boolean isOn() {
+            return on;
+        }
+    }
+
+    private static class LatencyFan extends NoOpFan {
+
+        @Override
+        public void on() {
+            Blackhole.consumeCPU(LATENCY_TOKENS);
+            super.on();
+        }
+
+        @Override
+        public void off() {
+            Blackhole.consumeCPU(LATENCY_TOKENS);
+            super.off();
+        }
+
+        @Override
+        public boolean isOn() {
+            Blackhole.consumeCPU(LATENCY_TOKENS);
+            return super.isOn();
+        }
+    }
+}
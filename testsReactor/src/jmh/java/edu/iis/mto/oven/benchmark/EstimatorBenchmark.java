@@ -0,0 +1,79 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.estimate.BatchEstimates;
+import edu.iis.mto.oven.estimate.ProgramBatch;
+import edu.iis.mto.oven.estimate.ProgramEstimator;
+
+/**
+ * Estimating a whole catalog: one program at a time through the object model, as one columnar batch on a single
+ * thread, and as a batch split across the common fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstimatorBenchmark {
+
+    @Param({"100000"})
+    int programs;
+
+    @Param({"10"})
+    int stages;
+
+    private List<BakingProgram> catalog;
+    private ProgramBatch batch;
+    private ProgramEstimator sequential;
+    private ProgramEstimator forkJoin;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(programs);
+        for (int i = 0; i < programs; i++) {
+            catalog.add(Devices.mixedProgram(1 + i % stages));
+        }
+        batch = ProgramBatch.of(catalog);
+        sequential = ProgramEstimator.builder()
+                                     .withSplitThreshold(Integer.MAX_VALUE)
+                                     .build();
+        forkJoin = ProgramEstimator.builder()
+                                   .build();
+    }
+
+    @Benchmark
+    public void perProgram(Blackhole blackhole) {
+        for (BakingProgram program : catalog) {
+            blackhole.consume(sequential.estimate(program)
+                                        .getTotalMinutes());
+        }
+    }
+
+    @Benchmark
+    public BatchEstimates batchSequential() {
+        return sequential.estimate(batch);
+    }
+
+    @Benchmark
+    public BatchEstimates batchForkJoin() {
+        return forkJoin.estimate(batch);
+    }
+}
@@ -0,0 +1,89 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenMetrics;
+import edu.iis.mto.oven.events.OvenEvent;
+import edu.iis.mto.oven.events.OvenEventPublisher;
+
+/**
+ * Cost of event publishing on the {@code runProgram} path: no listener at all, a publisher nobody subscribed to and a
+ * publisher with one subscriber draining on the common pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPublisherBenchmark {
+
+    @Param({"10", "1000"})
+    int stages;
+
+    @Param({"none", "idle", "subscribed"})
+    String publishing;
+
+    private Oven oven;
+    private BakingProgram program;
+    private OvenEventPublisher publisher;
+
+    @Setup
+    public void setUp() {
+        publisher = OvenEventPublisher.builder()
+                                      .build();
+        if ("subscribed".equals(publishing)) {
+            publisher.subscribe(new DrainingSubscriber());
+        }
+        oven = new Oven(Devices.heatingModule(Devices.NO_OP), Devices.fan(Devices.NO_OP),
+                "none".equals(publishing) ? OvenMetrics.NONE : publisher);
+        program = Devices.mixedProgram(stages);
+    }
+
+    @TearDown
+    public void tearDown() {
+        publisher.close();
+    }
+
+    @Benchmark
+    public void runProgram() {
+        oven.runProgram(program);
+    }
+
+    private static class DrainingSubscriber implements Flow.Subscriber<OvenEvent> {
+
+        private long sequence;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(OvenEvent item) {
+            sequence = item.getSequence();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {}
+    }
+}
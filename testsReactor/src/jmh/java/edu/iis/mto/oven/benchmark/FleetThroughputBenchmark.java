@@ -0,0 +1,64 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Oven;
+
+/**
+ * Every benchmark thread owns an independent oven, so the score shows how program throughput scales with threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetThroughputBenchmark {
+
+    @Param({"10"})
+    int stages;
+
+    @Param({Devices.NO_OP, Devices.LATENCY})
+    String devices;
+
+    private Oven oven;
+    private BakingProgram program;
+
+    @Setup
+    public void setUp() {
+        oven = new Oven(Devices.heatingModule(devices), Devices.fan(devices));
+        program = Devices.mixedProgram(stages);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void independentOvens1() {
+        oven.runProgram(program);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void independentOvens4() {
+        oven.runProgram(program);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void independentOvensMax() {
+        oven.runProgram(program);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.CompiledProgram;
+import edu.iis.mto.oven.ExecutionPlan;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenMetrics;
+import edu.iis.mto.oven.StagePlanOptimizer;
+import edu.iis.mto.oven.metrics.RecordingOvenMetrics;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OvenBenchmark {
+
+    @Param({"1", "10", "1000"})
+    int stages;
+
+    @Param({Devices.NO_OP, Devices.LATENCY})
+    String devices;
+
+    @Param({"false", "true"})
+    boolean metrics;
+
+    private Oven oven;
+    private BakingProgram program;
+    private CompiledProgram compiledProgram;
+    private ExecutionPlan plan;
+
+    @Setup
+    public void setUp() {
+        oven = new Oven(Devices.heatingModule(devices), Devices.fan(devices),
+                metrics ? new RecordingOvenMetrics() : OvenMetrics.NONE);
+        program = Devices.mixedProgram(stages);
+        compiledProgram = CompiledProgram.compile(program);
+        plan = new StagePlanOptimizer().optimize(program);
+    }
+
+    @Benchmark
+    public void runBakingProgram() {
+        oven.runProgram(program);
+    }
+
+    @Benchmark
+    public void runCompiledProgram() {
+        oven.runProgram(compiledProgram);
+    }
+
+    @Benchmark
+    public void runExecutionPlan() {
+        oven.runProgram(plan);
+    }
+}
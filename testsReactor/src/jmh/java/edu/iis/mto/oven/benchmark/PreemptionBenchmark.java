@@ -0,0 +1,87 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.preempt.PriorityOvenQueue;
+
+/**
+ * Latency distribution of short high-priority programs on an oven kept busy by long low-priority ones. Compare the
+ * upper percentiles with and without preemption.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreemptionBenchmark {
+
+    private static final int LOW = 0;
+    private static final int HIGH = 1;
+    private static final int BACKLOG = 2;
+    private static final long FEED_INTERVAL_NANOS = 100_000;
+
+    @Param({"true", "false"})
+    boolean preemptive;
+
+    @Param({"2000"})
+    int lowPriorityStages;
+
+    private PriorityOvenQueue queue;
+    private BakingProgram longProgram;
+    private BakingProgram rushOrder;
+    private Thread background;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        queue = PriorityOvenQueue.builder()
+                                 .withHeatingModule(Devices.heatingModule(Devices.LATENCY))
+                                 .withFan(Devices.fan(Devices.LATENCY))
+                                 .withPreemption(preemptive)
+                                 .build();
+        longProgram = Devices.mixedProgram(lowPriorityStages);
+        rushOrder = Devices.mixedProgram(3);
+        running = true;
+        background = new Thread(() -> {
+            while (running) {
+                if (queue.queueDepth() < BACKLOG) {
+                    queue.submit(longProgram, LOW);
+                } else {
+                    LockSupport.parkNanos(FEED_INTERVAL_NANOS);
+                }
+            }
+        }, "low-priority-load");
+        background.setDaemon(true);
+        background.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        background.join();
+        queue.close();
+    }
+
+    @Benchmark
+    public void rushOrder() {
+        queue.submit(rushOrder, HIGH)
+             .result()
+             .join();
+    }
+}
@@ -0,0 +1,82 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.library.ProgramLibrary;
+import edu.iis.mto.oven.library.ProgramLibraryWriter;
+
+/**
+ * Cold start of a recipe catalog: building every program through the builders versus mapping a library file and
+ * reading programs by id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProgramLibraryBenchmark {
+
+    @Param({"100000"})
+    int programs;
+
+    @Param({"10"})
+    int stages;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ProgramLibraryWriter writer = new ProgramLibraryWriter();
+        for (int i = 0; i < programs; i++) {
+            writer.add(Devices.mixedProgram(stages));
+        }
+        file = Files.createTempFile("programs", ".lib");
+        writer.writeTo(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<BakingProgram> buildFromObjects() {
+        List<BakingProgram> catalog = new ArrayList<>(programs);
+        for (int i = 0; i < programs; i++) {
+            catalog.add(Devices.mixedProgram(stages));
+        }
+        return catalog;
+    }
+
+    @Benchmark
+    public ProgramLibrary openLibrary() throws IOException {
+        return ProgramLibrary.open(file);
+    }
+
+    @Benchmark
+    public BakingProgram openLibraryAndReadOne() throws IOException {
+        ProgramLibrary library = ProgramLibrary.open(file);
+        return library.get(library.size() / 2);
+    }
+}
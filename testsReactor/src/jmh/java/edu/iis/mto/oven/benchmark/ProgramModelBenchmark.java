@@ -0,0 +1,55 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.ProgramStage;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramModelBenchmark {
+
+    @Param({"1", "10", "1000"})
+    int stages;
+
+    private BakingProgram program;
+    private int temp;
+
+    @Setup
+    public void setUp() {
+        program = Devices.mixedProgram(stages);
+    }
+
+    @Benchmark
+    public void iterateStages(Blackhole blackhole) {
+        for (ProgramStage stage : program) {
+            blackhole.consume(stage);
+        }
+    }
+
+    @Benchmark
+    public HeatingSettings buildHeatingSettings() {
+        return HeatingSettings.builder()
+                              .withTargetTemp(++temp)
+                              .withTimeInMinutes(10)
+                              .build();
+    }
+}
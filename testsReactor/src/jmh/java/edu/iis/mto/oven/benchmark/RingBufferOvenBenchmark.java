@@ -0,0 +1,118 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.ring.RingBufferOven;
+import edu.iis.mto.oven.ring.WaitStrategy;
+
+/**
+ * All benchmark threads share one oven and wait for their own program to finish. Compares the ring-buffer front
+ * against a plain {@code synchronized} wrapper as the number of producers grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferOvenBenchmark {
+
+    @Param({"10"})
+    int stages;
+
+    @Param({Devices.NO_OP, Devices.LATENCY})
+    String devices;
+
+    @Param({"BUSY_SPIN", "YIELD", "PARK"})
+    WaitStrategy waitStrategy;
+
+    private RingBufferOven ring;
+    private Oven synchronizedOven;
+    private BakingProgram program;
+
+    @Setup
+    public void setUp() {
+        ring = RingBufferOven.builder()
+                             .withHeatingModule(Devices.heatingModule(devices))
+                             .withFan(Devices.fan(devices))
+                             .withWaitStrategy(waitStrategy)
+                             .build();
+        synchronizedOven = new Oven(Devices.heatingModule(devices), Devices.fan(devices));
+        program = Devices.mixedProgram(stages);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ring.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void ring1() throws InterruptedException {
+        ring.runProgram(program);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void ring4() throws InterruptedException {
+        ring.runProgram(program);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void ring16() throws InterruptedException {
+        ring.runProgram(program);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void ring64() throws InterruptedException {
+        ring.runProgram(program);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void synchronized1() {
+        runSynchronized();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void synchronized4() {
+        runSynchronized();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void synchronized16() {
+        runSynchronized();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void synchronized64() {
+        runSynchronized();
+    }
+
+    private void runSynchronized() {
+        synchronized (synchronizedOven) {
+            synchronizedOven.runProgram(program);
+        }
+    }
+}
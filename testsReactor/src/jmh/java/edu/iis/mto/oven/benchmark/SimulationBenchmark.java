@@ -0,0 +1,62 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.CompiledProgram;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.sim.ThermalSimulation;
+
+/**
+ * Simulated programs per second; every thread drives its own simulated oven.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"10"})
+    int stages;
+
+    @Param({"0", "0.01"})
+    double failureRate;
+
+    private Oven oven;
+    private CompiledProgram program;
+
+    @Setup
+    public void setUp() {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withFailureRate(failureRate)
+                                                        .build();
+        oven = new Oven(simulation.heatingModule(), simulation.fan());
+        program = CompiledProgram.compile(Devices.mixedProgram(stages));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean simulatedPrograms() {
+        try {
+            oven.runProgram(program);
+            return true;
+        } catch (OvenException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.iis.mto.oven.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.ProgramStage;
+import edu.iis.mto.oven.template.ProgramTemplate;
+import edu.iis.mto.oven.template.TemplateParameters;
+
+/**
+ * Serving an order for one of a few scaled variants of a recipe: rebuilding the program with builders per order
+ * versus instantiating a cached template variant and running its compiled form.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    private static final int VARIANTS = 8;
+
+    @Param({"10", "100"})
+    int stages;
+
+    private Oven oven;
+    private BakingProgram base;
+    private ProgramTemplate template;
+    private TemplateParameters[] parameters;
+    private int order;
+
+    @Setup
+    public void setUp() {
+        oven = new Oven(Devices.heatingModule(Devices.NO_OP), Devices.fan(Devices.NO_OP));
+        base = Devices.mixedProgram(stages);
+        ProgramTemplate.Builder builder = ProgramTemplate.builder()
+                                                         .withInitialTemp(base.getInitialTemp())
+                                                         .withCoolAtFinish(base.isCoolAtFinish());
+        for (ProgramStage stage : base) {
+            builder.withStage(stage.getHeat(), stage.getTargetTemp(), stage.getStageTime());
+        }
+        template = builder.build();
+        parameters = new TemplateParameters[VARIANTS];
+        for (int i = 0; i < VARIANTS; i++) {
+            parameters[i] = TemplateParameters.builder()
+                                              .withTimeMultiplier(1 + i / 10.0)
+                                              .build();
+        }
+    }
+
+    @Benchmark
+    public void rebuildPerOrder() {
+        double multiplier = parameters[order++ % VARIANTS].getTimeMultiplier();
+        List<ProgramStage> scaled = new ArrayList<>();
+        for (ProgramStage stage : base) {
+            scaled.add(ProgramStage.builder()
+                                   .withHeat(stage.getHeat())
+                                   .withTargetTemp(stage.getTargetTemp())
+                                   .withStageTime((int) Math.round(stage.getStageTime() * multiplier))
+                                   .build());
+        }
+        oven.runProgram(BakingProgram.builder()
+                                     .withInitialTemp(base.getInitialTemp())
+                                     .withStages(scaled)
+                                     .withCoolAtFinish(base.isCoolAtFinish())
+                                     .build());
+    }
+
+    @Benchmark
+    public void instantiateTemplate() {
+        oven.runProgram(template.instantiate(parameters[order++ % VARIANTS])
+                                .compile());
+    }
+}
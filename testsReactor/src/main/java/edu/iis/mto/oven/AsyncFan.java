@@ -0,0 +1,15 @@
+package edu.iis.mto.oven;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link Fan}.
+ */
+public interface AsyncFan {
+
+    CompletionStage<Void> on();
+
+    CompletionStage<Void> off();
+
+    CompletionStage<Boolean> isOn();
+}
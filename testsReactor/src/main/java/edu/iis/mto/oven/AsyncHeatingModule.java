@@ -0,0 +1,16 @@
+package edu.iis.mto.oven;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link HeatingModule}. Failed commands complete exceptionally with a
+ * {@link HeatingException}.
+ */
+public interface AsyncHeatingModule {
+
+    CompletionStage<Void> termalCircuit(HeatingSettings settings);
+
+    CompletionStage<Void> heater(HeatingSettings settings);
+
+    CompletionStage<Void> grill(HeatingSettings settings);
+}
@@ -0,0 +1,80 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of {@link Oven}. Commands are issued in the same order as {@link Oven#runProgram} issues
+ * them, but each one is chained on completion of the previous one instead of parking the calling thread.
+ */
+public class AsyncOven {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final AsyncHeatingModule heatingModule;
+    private final AsyncFan fan;
+
+    public AsyncOven(AsyncHeatingModule heatingModule, AsyncFan fan) {
+        this.heatingModule = requireNonNull(heatingModule);
+        this.fan = requireNonNull(fan);
+    }
+
+    public AsyncOven(HeatingModule heatingModule, Fan fan, Executor executor) {
+        this(new ExecutorAsyncHeatingModule(heatingModule, executor), new ExecutorAsyncFan(fan, executor));
+    }
+
+    /**
+     * Starts the program and returns at once. A failing command completes the result exceptionally with an
+     * {@link OvenException} carrying the failing stage index.
+     */
+    public CompletableFuture<ProgramResult> runProgramAsync(BakingProgram program) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> chain = DONE;
+        if (program.getInitialTemp() > 0) {
+            HeatingSettings preheat = Oven.preheatSettings(program.getInitialTemp());
+            chain = chain.thenCompose(ignored -> failAs(heatingModule.heater(preheat), OvenException.NO_STAGE));
+        }
+        int stages = 0;
+        for (ProgramStage programStage : program) {
+            int stage = stages++;
+            chain = chain.thenCompose(ignored -> failAs(runStage(programStage), stage));
+        }
+        if (program.isCoolAtFinish()) {
+            chain = chain.thenCompose(ignored -> fan.on());
+        }
+        int stagesRun = stages;
+        return chain.thenApply(ignored -> new ProgramResult(stagesRun, System.nanoTime() - start));
+    }
+
+    private CompletionStage<Void> runStage(ProgramStage programStage) {
+        HeatingSettings settings = Oven.settings(programStage);
+        if (programStage.getHeat() == HeatType.THERMO_CIRCULATION) {
+            return fan.on()
+                      .thenCompose(ignored -> heatingModule.termalCircuit(settings))
+                      .thenCompose(ignored -> fan.off());
+        }
+        return fan.isOn()
+                  .thenCompose(on -> on ? fan.off() : DONE)
+                  .thenCompose(ignored -> programStage.getHeat() == HeatType.GRILL ? heatingModule.grill(settings)
+                          : heatingModule.heater(settings));
+    }
+
+    private static CompletableFuture<Void> failAs(CompletionStage<Void> command, int stage) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        command.whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                result.complete(null);
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause()
+                    : failure;
+            result.completeExceptionally(
+                    cause instanceof HeatingException ? new OvenException((HeatingException) cause, stage) : cause);
+        });
+        return result;
+    }
+}
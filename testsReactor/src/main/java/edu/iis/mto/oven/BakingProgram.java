@@ -3,6 +3,7 @@ package edu.iis.mto.oven;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 public class BakingProgram implements Iterable<ProgramStage> {
 
@@ -30,6 +31,33 @@ public class BakingProgram implements Iterable<ProgramStage> {
         return coolAtFinish;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(initialTemp, stages, coolAtFinish);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        BakingProgram other = (BakingProgram) obj;
+        return initialTemp == other.initialTemp && coolAtFinish == other.coolAtFinish
+               && Objects.equals(stages, other.stages);
+    }
+
+    @Override
+    public String toString() {
+        return "BakingProgram [initialTemp=" + initialTemp + ", stages=" + stages + ", coolAtFinish=" + coolAtFinish
+               + "]";
+    }
+
     public static Builder builder() {
         return new Builder();
     }
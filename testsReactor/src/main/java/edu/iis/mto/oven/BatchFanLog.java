@@ -0,0 +1,51 @@
+package edu.iis.mto.oven;
+
+/**
+ * Fan handed to a {@link BatchHeatingModule} by a metered {@link Oven}. It remembers the switches the module makes,
+ * so that the oven can report them in command order, between the stage callbacks, once the batch has run.
+ */
+final class BatchFanLog implements Fan {
+
+    private final Fan fan;
+    private final boolean[] switches;
+    private int recorded;
+    private int reported;
+
+    BatchFanLog(Fan fan, int commands) {
+        this.fan = fan;
+        this.switches = new boolean[commands];
+    }
+
+    @Override
+    public void on() {
+        fan.on();
+        record(true);
+    }
+
+    @Override
+    public void off() {
+        fan.off();
+        record(false);
+    }
+
+    @Override
+    public boolean isOn() {
+        return fan.isOn();
+    }
+
+    /**
+     * Reports the switch made for the fan command, if it made one. A {@link PlanOp#FAN_OFF_IF_ON} only switched when
+     * the next recorded switch is an off, as nothing in a batch switches the fan off twice in a row.
+     */
+    void report(PlanOp op, OvenMetrics metrics) {
+        if (reported < recorded && switches[reported] == (op == PlanOp.FAN_ON)) {
+            metrics.fanSwitched(switches[reported++]);
+        }
+    }
+
+    private void record(boolean on) {
+        if (recorded < switches.length) {
+            switches[recorded++] = on;
+        }
+    }
+}
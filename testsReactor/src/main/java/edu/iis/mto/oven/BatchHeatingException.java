@@ -0,0 +1,17 @@
+package edu.iis.mto.oven;
+
+public class BatchHeatingException extends HeatingException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int commandIndex;
+
+    public BatchHeatingException(int commandIndex, HeatingException cause) {
+        this.commandIndex = commandIndex;
+        initCause(cause);
+    }
+
+    public int getCommandIndex() {
+        return commandIndex;
+    }
+}
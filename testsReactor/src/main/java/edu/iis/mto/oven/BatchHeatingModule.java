@@ -0,0 +1,15 @@
+package edu.iis.mto.oven;
+
+/**
+ * {@link HeatingModule} able to take a whole {@link HeatingBatch} in one submission. {@link Oven} uses this path
+ * automatically when its heating module implements it, with or without {@link OvenMetrics}. A metered oven reports the
+ * same callbacks as for any other module, but only once the batch has returned, and it times the batch as a whole:
+ * every stage is reported with an equal share of the batch time.
+ */
+public interface BatchHeatingModule extends HeatingModule {
+
+    /**
+     * Executes the commands in order and stops at the first one that fails.
+     */
+    void execute(HeatingBatch batch, Fan fan) throws BatchHeatingException;
+}
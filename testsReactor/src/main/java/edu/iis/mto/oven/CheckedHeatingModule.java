@@ -0,0 +1,22 @@
+package edu.iis.mto.oven;
+
+/**
+ * Heating module SPI for devices that report failures as return codes instead of throwing {@link HeatingException}.
+ * Every command returns {@link #OK} on success or a device-specific non-zero failure code, which
+ * {@link Oven#runProgramChecked(BakingProgram)} hands back in its {@link ProgramOutcome}.
+ */
+public interface CheckedHeatingModule {
+
+    int OK = 0;
+
+    /**
+     * Code reported for plain {@link HeatingModule}s that signalled a failure by throwing.
+     */
+    int FAILED = 1;
+
+    int termalCircuit(HeatingSettings settings);
+
+    int heater(HeatingSettings settings);
+
+    int grill(HeatingSettings settings);
+}
@@ -0,0 +1,34 @@
+package edu.iis.mto.oven;
+
+/**
+ * Presents a {@link CheckedHeatingModule} to the throwing code paths of {@link Oven}.
+ */
+class CheckedHeatingModuleAdapter implements HeatingModule {
+
+    private final CheckedHeatingModule checked;
+
+    CheckedHeatingModuleAdapter(CheckedHeatingModule checked) {
+        this.checked = checked;
+    }
+
+    @Override
+    public void termalCircuit(HeatingSettings settings) throws HeatingException {
+        check(checked.termalCircuit(settings));
+    }
+
+    @Override
+    public void heater(HeatingSettings settings) throws HeatingException {
+        check(checked.heater(settings));
+    }
+
+    @Override
+    public void grill(HeatingSettings settings) throws HeatingException {
+        check(checked.grill(settings));
+    }
+
+    private static void check(int code) throws HeatingException {
+        if (code != CheckedHeatingModule.OK) {
+            throw new HeatingException();
+        }
+    }
+}
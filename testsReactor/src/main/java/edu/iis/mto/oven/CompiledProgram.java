@@ -0,0 +1,88 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, pre-resolved form of a {@link BakingProgram}. Stages are packed into primitive arrays and every
+ * {@link HeatingSettings} the oven will send is built once at compile time, so running it allocates nothing.
+ */
+public final class CompiledProgram {
+
+    private static final HeatType[] HEAT_TYPES = HeatType.values();
+
+    private final int initialTemp;
+    private final boolean coolAtFinish;
+    private final int[] targetTemps;
+    private final int[] stageTimes;
+    private final byte[] heatTypes;
+    private final HeatingSettings preheatSettings;
+    private final HeatingSettings[] stageSettings;
+
+    private CompiledProgram(BakingProgram program) {
+        List<ProgramStage> stages = new ArrayList<>();
+        for (ProgramStage stage : program) {
+            stages.add(requireNonNull(stage));
+        }
+        int size = stages.size();
+        this.initialTemp = program.getInitialTemp();
+        this.coolAtFinish = program.isCoolAtFinish();
+        this.targetTemps = new int[size];
+        this.stageTimes = new int[size];
+        this.heatTypes = new byte[size];
+        this.stageSettings = new HeatingSettings[size];
+        this.preheatSettings = initialTemp > 0 ? Oven.preheatSettings(initialTemp) : null;
+        for (int i = 0; i < size; i++) {
+            ProgramStage stage = stages.get(i);
+            targetTemps[i] = stage.getTargetTemp();
+            stageTimes[i] = stage.getStageTime();
+            heatTypes[i] = (byte) stage.getHeat()
+                                       .ordinal();
+            stageSettings[i] = Oven.settings(stage);
+        }
+    }
+
+    public static CompiledProgram compile(BakingProgram program) {
+        return new CompiledProgram(requireNonNull(program));
+    }
+
+    public int getInitialTemp() {
+        return initialTemp;
+    }
+
+    public boolean isCoolAtFinish() {
+        return coolAtFinish;
+    }
+
+    public int size() {
+        return targetTemps.length;
+    }
+
+    public int getTargetTemp(int stage) {
+        return targetTemps[stage];
+    }
+
+    public int getStageTime(int stage) {
+        return stageTimes[stage];
+    }
+
+    public HeatType getHeat(int stage) {
+        return HEAT_TYPES[heatTypes[stage]];
+    }
+
+    HeatingSettings getPreheatSettings() {
+        return preheatSettings;
+    }
+
+    HeatingSettings getSettings(int stage) {
+        return stageSettings[stage];
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledProgram [initialTemp=" + initialTemp + ", stages=" + size() + ", coolAtFinish=" + coolAtFinish
+               + "]";
+    }
+}
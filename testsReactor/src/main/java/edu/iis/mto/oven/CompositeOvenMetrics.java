@@ -0,0 +1,104 @@
+package edu.iis.mto.oven;
+
+/**
+ * Forwards every callback to several {@link OvenMetrics} in the order they were given.
+ */
+final class CompositeOvenMetrics implements OvenMetrics {
+
+    private final OvenMetrics[] metrics;
+
+    CompositeOvenMetrics(OvenMetrics[] metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void programStarted() {
+        for (OvenMetrics each : metrics) {
+            each.programStarted();
+        }
+    }
+
+    @Override
+    public void programCompleted(long nanos) {
+        for (OvenMetrics each : metrics) {
+            each.programCompleted(nanos);
+        }
+    }
+
+    @Override
+    public void programFailed(long nanos) {
+        for (OvenMetrics each : metrics) {
+            each.programFailed(nanos);
+        }
+    }
+
+    @Override
+    public void preheatStarted(HeatingSettings settings) {
+        for (OvenMetrics each : metrics) {
+            each.preheatStarted(settings);
+        }
+    }
+
+    @Override
+    public void preheatCompleted(long nanos) {
+        for (OvenMetrics each : metrics) {
+            each.preheatCompleted(nanos);
+        }
+    }
+
+    @Override
+    public void preheatFailed() {
+        for (OvenMetrics each : metrics) {
+            each.preheatFailed();
+        }
+    }
+
+    @Override
+    public void stageStarted(int stage, HeatType heat, HeatingSettings settings) {
+        for (OvenMetrics each : metrics) {
+            each.stageStarted(stage, heat, settings);
+        }
+    }
+
+    @Override
+    public void stageCompleted(HeatType heat, long nanos) {
+        for (OvenMetrics each : metrics) {
+            each.stageCompleted(heat, nanos);
+        }
+    }
+
+    @Override
+    public void stageCompleted(int stage, HeatType heat, HeatingSettings settings, long nanos) {
+        for (OvenMetrics each : metrics) {
+            each.stageCompleted(stage, heat, settings, nanos);
+        }
+    }
+
+    @Override
+    public void stageFailed(HeatType heat) {
+        for (OvenMetrics each : metrics) {
+            each.stageFailed(heat);
+        }
+    }
+
+    @Override
+    public void stageFailed(int stage, HeatType heat, HeatingSettings settings) {
+        for (OvenMetrics each : metrics) {
+            each.stageFailed(stage, heat, settings);
+        }
+    }
+
+    @Override
+    public void coolingStarted() {
+        for (OvenMetrics each : metrics) {
+            each.coolingStarted();
+        }
+    }
+
+    @Override
+    public void fanSwitched(boolean on) {
+        for (OvenMetrics each : metrics) {
+            each.fanSwitched(on);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.iis.mto.oven;
+
+import java.util.Objects;
+
+/**
+ * Built-in handler shape: one device command wrapped in a fan policy. Both are flattened into flags at construction
+ * instead of being called on the enum constants, which keeps every device and fan call site in the oven's stage loop
+ * monomorphic.
+ */
+final class DeviceHeatModeHandler implements HeatModeHandler {
+
+    private final FanPolicy fanPolicy;
+    private final PlanOp command;
+    private final boolean circulate;
+    private final boolean offFirst;
+    private final boolean termalCircuit;
+    private final boolean grill;
+
+    DeviceHeatModeHandler(FanPolicy fanPolicy, PlanOp command) {
+        if (command.getHeat() == null) {
+            throw new IllegalArgumentException("not a device command: " + command);
+        }
+        this.fanPolicy = fanPolicy;
+        this.command = command;
+        this.circulate = fanPolicy == FanPolicy.CIRCULATE;
+        this.offFirst = fanPolicy == FanPolicy.OFF;
+        this.termalCircuit = command == PlanOp.TERMAL_CIRCUIT;
+        this.grill = command == PlanOp.GRILL;
+    }
+
+    @Override
+    public void run(HeatingModule heatingModule, Fan fan, HeatingSettings settings) throws HeatingException {
+        before(fan);
+        command(heatingModule, settings);
+        after(fan);
+    }
+
+    private void command(HeatingModule heatingModule, HeatingSettings settings) throws HeatingException {
+        if (termalCircuit) {
+            heatingModule.termalCircuit(settings);
+        } else if (grill) {
+            heatingModule.grill(settings);
+        } else {
+            heatingModule.heater(settings);
+        }
+    }
+
+    @Override
+    public int run(CheckedHeatingModule heatingModule, Fan fan, HeatingSettings settings) {
+        before(fan);
+        int code = command.execute(heatingModule, settings);
+        if (code == CheckedHeatingModule.OK) {
+            after(fan);
+        }
+        return code;
+    }
+
+    void appendTo(HeatingBatch.Builder batch, HeatingSettings settings, int stage) {
+        if (fanPolicy.getBeforeOp() != null) {
+            batch.withFan(fanPolicy.getBeforeOp(), stage);
+        }
+        batch.withCommand(command, settings, stage);
+        if (fanPolicy.getAfterOp() != null) {
+            batch.withFan(fanPolicy.getAfterOp(), stage);
+        }
+    }
+
+    private void before(Fan fan) {
+        if (circulate) {
+            fan.on();
+        } else if (offFirst && fan.isOn()) {
+            fan.off();
+        }
+    }
+
+    private void after(Fan fan) {
+        if (circulate) {
+            fan.off();
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fanPolicy, command);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        DeviceHeatModeHandler other = (DeviceHeatModeHandler) obj;
+        return fanPolicy == other.fanPolicy && command == other.command;
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceHeatModeHandler [fanPolicy=" + fanPolicy + ", command=" + command + "]";
+    }
+
+}
@@ -0,0 +1,63 @@
+package edu.iis.mto.oven;
+
+/**
+ * Flat sequence of device commands produced by {@link StagePlanOptimizer}. Runs through
+ * {@link Oven#runProgram(ExecutionPlan)}.
+ */
+public final class ExecutionPlan {
+
+    private final HeatingBatch commands;
+    private final int originalDeviceCalls;
+
+    ExecutionPlan(HeatingBatch commands, int originalDeviceCalls) {
+        this.commands = commands;
+        this.originalDeviceCalls = originalDeviceCalls;
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    public PlanOp getOp(int step) {
+        return commands.getOp(step);
+    }
+
+    /**
+     * Settings sent with the step, {@code null} for fan steps.
+     */
+    public HeatingSettings getSettings(int step) {
+        return commands.getSettings(step);
+    }
+
+    /**
+     * Index of the first original program stage the step was planned from.
+     */
+    public int getStageIndex(int step) {
+        return commands.getStageIndex(step);
+    }
+
+    public HeatingBatch getCommands() {
+        return commands;
+    }
+
+    /**
+     * Device calls the unoptimized program makes, counting a fan that starts switched off.
+     */
+    public int getOriginalDeviceCalls() {
+        return originalDeviceCalls;
+    }
+
+    public int getDeviceCalls() {
+        return commands.size();
+    }
+
+    public int getSavedDeviceCalls() {
+        return originalDeviceCalls - commands.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionPlan [steps=" + commands.size() + ", originalDeviceCalls=" + originalDeviceCalls
+               + ", savedDeviceCalls=" + getSavedDeviceCalls() + "]";
+    }
+}
@@ -0,0 +1,36 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a blocking {@link Fan} on the given executor.
+ */
+public class ExecutorAsyncFan implements AsyncFan {
+
+    private final Fan fan;
+    private final Executor executor;
+
+    public ExecutorAsyncFan(Fan fan, Executor executor) {
+        this.fan = requireNonNull(fan);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public CompletionStage<Void> on() {
+        return CompletableFuture.runAsync(fan::on, executor);
+    }
+
+    @Override
+    public CompletionStage<Void> off() {
+        return CompletableFuture.runAsync(fan::off, executor);
+    }
+
+    @Override
+    public CompletionStage<Boolean> isOn() {
+        return CompletableFuture.supplyAsync(fan::isOn, executor);
+    }
+}
@@ -0,0 +1,62 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a blocking {@link HeatingModule} on the given executor. Every failure of a command completes its stage
+ * exceptionally; an {@link Error} is rethrown afterwards so the executor still sees it.
+ */
+public class ExecutorAsyncHeatingModule implements AsyncHeatingModule {
+
+    private final HeatingModule heatingModule;
+    private final Executor executor;
+
+    public ExecutorAsyncHeatingModule(HeatingModule heatingModule, Executor executor) {
+        this.heatingModule = requireNonNull(heatingModule);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public CompletionStage<Void> termalCircuit(HeatingSettings settings) {
+        return submit(() -> heatingModule.termalCircuit(settings));
+    }
+
+    @Override
+    public CompletionStage<Void> heater(HeatingSettings settings) {
+        return submit(() -> heatingModule.heater(settings));
+    }
+
+    @Override
+    public CompletionStage<Void> grill(HeatingSettings settings) {
+        return submit(() -> heatingModule.grill(settings));
+    }
+
+    private CompletionStage<Void> submit(HeatingCommand command) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    command.run();
+                    result.complete(null);
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    if (e instanceof Error) {
+                        throw (Error) e;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private interface HeatingCommand {
+
+        void run() throws HeatingException;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.iis.mto.oven;
+
+/**
+ * What a heat mode does with the fan around its device call.
+ */
+public enum FanPolicy {
+
+    /**
+     * Fan on for the duration of the call and off again once it succeeded.
+     */
+    CIRCULATE(PlanOp.FAN_ON, PlanOp.FAN_OFF),
+
+    /**
+     * Fan switched off before the call if it is running.
+     */
+    OFF(PlanOp.FAN_OFF_IF_ON, null),
+
+    /**
+     * Fan left as it is.
+     */
+    UNCHANGED(null, null);
+
+    private final PlanOp beforeOp;
+    private final PlanOp afterOp;
+
+    FanPolicy(PlanOp beforeOp, PlanOp afterOp) {
+        this.beforeOp = beforeOp;
+        this.afterOp = afterOp;
+    }
+
+    /**
+     * Fan command issued before the device call in a {@link HeatingBatch}, {@code null} for none.
+     */
+    PlanOp getBeforeOp() {
+        return beforeOp;
+    }
+
+    /**
+     * Fan command issued after the device call in a {@link HeatingBatch}, {@code null} for none.
+     */
+    PlanOp getAfterOp() {
+        return afterOp;
+    }
+}
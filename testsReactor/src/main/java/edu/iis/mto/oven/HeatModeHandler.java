@@ -0,0 +1,26 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs one stage of a {@link HeatType}: the device call together with whatever the mode does with the fan. Handlers
+ * are looked up in a {@link HeatModeRegistry} once, when an {@link Oven} is constructed.
+ */
+public interface HeatModeHandler {
+
+    void run(HeatingModule heatingModule, Fan fan, HeatingSettings settings) throws HeatingException;
+
+    /**
+     * Variant for modules reporting failures by return code; returns {@link CheckedHeatingModule#OK} or the device's
+     * failure code.
+     */
+    int run(CheckedHeatingModule heatingModule, Fan fan, HeatingSettings settings);
+
+    /**
+     * Handler issuing one device command with the given fan policy. Ovens with a {@link BatchHeatingModule} can
+     * submit stages of such handlers as a batch.
+     */
+    static HeatModeHandler of(FanPolicy fanPolicy, PlanOp command) {
+        return new DeviceHeatModeHandler(requireNonNull(fanPolicy), requireNonNull(command));
+    }
+}
@@ -0,0 +1,90 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Maps every {@link HeatType} to the {@link HeatModeHandler} running its stages. {@link #STANDARD} holds the built-in
+ * modes; a builder starts from them and replaces or adds handlers, so a new heat type only needs registering here.
+ */
+public final class HeatModeRegistry {
+
+    public static final HeatModeRegistry STANDARD = builder().build();
+
+    private final Map<HeatType, HeatModeHandler> handlers;
+
+    private HeatModeRegistry(Builder builder) {
+        for (HeatType heat : HeatType.values()) {
+            if (!builder.handlers.containsKey(heat)) {
+                throw new IllegalStateException("no handler for heat type " + heat);
+            }
+        }
+        this.handlers = new EnumMap<>(builder.handlers);
+    }
+
+    public HeatModeHandler get(HeatType heat) {
+        return handlers.get(requireNonNull(heat));
+    }
+
+    /**
+     * Dispatch table indexed by {@link HeatType#ordinal()}.
+     */
+    HeatModeHandler[] table() {
+        HeatModeHandler[] table = new HeatModeHandler[HeatType.values().length];
+        for (Map.Entry<HeatType, HeatModeHandler> entry : handlers.entrySet()) {
+            table[entry.getKey()
+                       .ordinal()] = entry.getValue();
+        }
+        return table;
+    }
+
+    /**
+     * Whether every heat type runs exactly like in {@link #STANDARD}.
+     */
+    boolean isStandard() {
+        return this == STANDARD || handlers.equals(STANDARD.handlers);
+    }
+
+    /**
+     * Whether every handler is a plain device command, which is what a {@link HeatingBatch} can express.
+     */
+    boolean isBatchable() {
+        for (HeatModeHandler handler : handlers.values()) {
+            if (!(handler instanceof DeviceHeatModeHandler)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "HeatModeRegistry [handlers=" + handlers + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final Map<HeatType, HeatModeHandler> handlers = new EnumMap<>(HeatType.class);
+
+        private Builder() {
+            handlers.put(HeatType.THERMO_CIRCULATION, HeatModeHandler.of(FanPolicy.CIRCULATE, PlanOp.TERMAL_CIRCUIT));
+            handlers.put(HeatType.HEATER, HeatModeHandler.of(FanPolicy.OFF, PlanOp.HEATER));
+            handlers.put(HeatType.GRILL, HeatModeHandler.of(FanPolicy.OFF, PlanOp.GRILL));
+        }
+
+        public Builder withHandler(HeatType heat, HeatModeHandler handler) {
+            handlers.put(requireNonNull(heat), requireNonNull(handler));
+            return this;
+        }
+
+        public HeatModeRegistry build() {
+            return new HeatModeRegistry(this);
+        }
+    }
+}
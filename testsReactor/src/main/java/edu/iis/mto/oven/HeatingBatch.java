@@ -0,0 +1,79 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered sequence of heating and fan commands submitted to a {@link BatchHeatingModule} at once. Every command
+ * remembers the index of the program stage it belongs to, or {@link OvenException#NO_STAGE} for preheat and cooling.
+ */
+public final class HeatingBatch {
+
+    private final PlanOp[] ops;
+    private final HeatingSettings[] settings;
+    private final int[] stageIndexes;
+
+    private HeatingBatch(Builder builder) {
+        int size = builder.ops.size();
+        this.ops = builder.ops.toArray(new PlanOp[size]);
+        this.settings = builder.settings.toArray(new HeatingSettings[size]);
+        this.stageIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            stageIndexes[i] = builder.stageIndexes.get(i);
+        }
+    }
+
+    public int size() {
+        return ops.length;
+    }
+
+    public PlanOp getOp(int command) {
+        return ops[command];
+    }
+
+    /**
+     * Settings sent with the command, {@code null} for fan commands.
+     */
+    public HeatingSettings getSettings(int command) {
+        return settings[command];
+    }
+
+    public int getStageIndex(int command) {
+        return stageIndexes[command];
+    }
+
+    @Override
+    public String toString() {
+        return "HeatingBatch [commands=" + ops.length + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final List<PlanOp> ops = new ArrayList<>();
+        private final List<HeatingSettings> settings = new ArrayList<>();
+        private final List<Integer> stageIndexes = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder withFan(PlanOp op, int stageIndex) {
+            return withCommand(op, null, stageIndex);
+        }
+
+        public Builder withCommand(PlanOp op, HeatingSettings settings, int stageIndex) {
+            ops.add(requireNonNull(op));
+            this.settings.add(settings);
+            stageIndexes.add(stageIndex);
+            return this;
+        }
+
+        public HeatingBatch build() {
+            return new HeatingBatch(this);
+        }
+    }
+}
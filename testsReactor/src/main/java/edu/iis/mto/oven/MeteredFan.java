@@ -0,0 +1,29 @@
+package edu.iis.mto.oven;
+
+class MeteredFan implements Fan {
+
+    private final Fan fan;
+    private final OvenMetrics metrics;
+
+    MeteredFan(Fan fan, OvenMetrics metrics) {
+        this.fan = fan;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void on() {
+        fan.on();
+        metrics.fanSwitched(true);
+    }
+
+    @Override
+    public void off() {
+        fan.off();
+        metrics.fanSwitched(false);
+    }
+
+    @Override
+    public boolean isOn() {
+        return fan.isOn();
+    }
+}
@@ -1,70 +1,576 @@
 package edu.iis.mto.oven;
 
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.List;
+
 public class Oven {
 
-    static final int HEAT_UP_AND_FINISH_SETTING_TIME = 0;
+    public static final int HEAT_UP_AND_FINISH_SETTING_TIME = 0;
     private final HeatingModule heatingModule;
+    private final BatchHeatingModule batchHeatingModule;
+    private final CheckedHeatingModule checkedHeatingModule;
+    private final HeatModeHandler[] handlers;
+    private final boolean standardModes;
     private final Fan fan;
+    private final Fan unmeteredFan;
+    private final OvenMetrics metrics;
+    private final boolean metricsEnabled;
 
     public Oven(HeatingModule heatingModule, Fan fan) {
+        this(heatingModule, fan, OvenMetrics.NONE);
+    }
+
+    /**
+     * Oven reporting to the given metrics. A {@link BatchHeatingModule} still gets whole programs as one batch; its
+     * callbacks then follow the batch, with the batch time spread evenly over its stages.
+     */
+    public Oven(HeatingModule heatingModule, Fan fan, OvenMetrics metrics) {
+        this(heatingModule, fan, metrics, HeatModeRegistry.STANDARD);
+    }
+
+    /**
+     * Oven running the stages of every heat type with the handler registered for it.
+     */
+    public Oven(HeatingModule heatingModule, Fan fan, OvenMetrics metrics, HeatModeRegistry heatModes) {
+        this(heatingModule, null, fan, metrics, heatModes);
+    }
+
+    public Oven(CheckedHeatingModule heatingModule, Fan fan) {
+        this(heatingModule, fan, OvenMetrics.NONE);
+    }
+
+    public Oven(CheckedHeatingModule heatingModule, Fan fan, OvenMetrics metrics) {
+        this(heatingModule, fan, metrics, HeatModeRegistry.STANDARD);
+    }
+
+    public Oven(CheckedHeatingModule heatingModule, Fan fan, OvenMetrics metrics, HeatModeRegistry heatModes) {
+        this(new CheckedHeatingModuleAdapter(requireNonNull(heatingModule)), heatingModule, fan, metrics, heatModes);
+    }
+
+    private Oven(HeatingModule heatingModule, CheckedHeatingModule checkedHeatingModule, Fan fan,
+            OvenMetrics metrics, HeatModeRegistry heatModes) {
         this.heatingModule = heatingModule;
-        this.fan = fan;
+        this.checkedHeatingModule = checkedHeatingModule;
+        this.handlers = heatModes.table();
+        this.standardModes = heatModes.isStandard();
+        this.metrics = requireNonNull(metrics);
+        this.metricsEnabled = metrics.isEnabled();
+        this.batchHeatingModule = heatingModule instanceof BatchHeatingModule && heatModes.isBatchable()
+                ? (BatchHeatingModule) heatingModule : null;
+        this.unmeteredFan = fan;
+        this.fan = metricsEnabled ? new MeteredFan(fan, metrics) : fan;
     }
 
     public void runProgram(BakingProgram program) {
-        init(program.getInitialTemp());
+        run(program, true, program.isCoolAtFinish());
+    }
+
+    /**
+     * Runs the program like {@link #runProgram(BakingProgram)} but reports a device failure in the returned outcome
+     * instead of throwing, and creates no exception on the way when the module is a {@link CheckedHeatingModule}.
+     * Batch heating modules are driven command by command here.
+     */
+    public ProgramOutcome runProgramChecked(BakingProgram program) {
+        long start = programStarted();
+        ProgramOutcome outcome = ProgramOutcome.COMPLETED;
+        if (program.getInitialTemp() > 0) {
+            outcome = preheatChecked(preheatSettings(program.getInitialTemp()));
+        }
+        int stage = 0;
         for (ProgramStage programStage : program) {
-            runStage(programStage);
+            if (!outcome.isCompleted()) {
+                break;
+            }
+            outcome = runStageChecked(programStage.getHeat(), settings(programStage), stage++);
+        }
+        if (outcome.isCompleted()) {
+            cool(program.isCoolAtFinish());
         }
-        cool(program);
+        programFinished(start, outcome.isCompleted());
+        return outcome;
     }
 
-    private void cool(BakingProgram program) {
-        if (program.isCoolAtFinish()) {
-            fan.on();
+    /**
+     * Runs the programs back to back on a warm oven, see {@link OvenSession}. When a program fails, the cooling
+     * deferred by the programs before it still runs before the failure propagates.
+     */
+    public void runPrograms(List<BakingProgram> programs) {
+        try (OvenSession session = openSession()) {
+            for (BakingProgram program : programs) {
+                session.run(program);
+            }
         }
     }
 
-    private void init(int initialTemp) {
-        if (initialTemp > 0) {
+    public OvenSession openSession() {
+        return new OvenSession(this);
+    }
+
+    /**
+     * Runs the program from the given stage on, asking the gate before every stage whether to go on. Preheat happens
+     * only when starting from the first stage and cooling only once the last stage has run. Returns the index of the
+     * first stage that did not run, which is the stage count when the program completed.
+     */
+    public int runProgram(BakingProgram program, int fromStage, StageGate gate) {
+        requireNonNull(gate);
+        if (fromStage < 0) {
+            throw new IllegalArgumentException("negative stage index: " + fromStage);
+        }
+        int stageCount = stageCount(program);
+        if (fromStage > stageCount) {
+            throw new IllegalArgumentException("program has " + stageCount + " stages, cannot start at " + fromStage);
+        }
+        long start = programStarted();
+        boolean failed = true;
+        try {
+            int stage = 0;
+            for (ProgramStage programStage : program) {
+                if (stage >= fromStage) {
+                    if (!gate.mayStart(stage)) {
+                        failed = false;
+                        return stage;
+                    }
+                    if (stage == 0) {
+                        init(program.getInitialTemp());
+                    }
+                    runStage(programStage.getHeat(), settings(programStage), stage);
+                }
+                stage++;
+            }
+            if (fromStage == 0 && stage == 0) {
+                init(program.getInitialTemp());
+            }
+            cool(program.isCoolAtFinish());
+            failed = false;
+            programFinished(start, true);
+            return stage;
+        } finally {
+            if (failed) {
+                programFinished(start, false);
+            }
+        }
+    }
+
+    private static int stageCount(BakingProgram program) {
+        int stages = 0;
+        for (Iterator<ProgramStage> iterator = program.iterator(); iterator.hasNext(); iterator.next()) {
+            stages++;
+        }
+        return stages;
+    }
+
+    void run(BakingProgram program, boolean preheat, boolean coolAtFinish) {
+        long start = programStarted();
+        boolean completed = false;
+        try {
+            if (batchHeatingModule != null) {
+                runBatch(batch(program, preheat, coolAtFinish), program.iterator());
+            } else {
+                if (preheat) {
+                    init(program.getInitialTemp());
+                }
+                int stage = 0;
+                for (ProgramStage programStage : program) {
+                    runStage(programStage.getHeat(), settings(programStage), stage++);
+                }
+                cool(coolAtFinish);
+            }
+            completed = true;
+        } finally {
+            programFinished(start, completed);
+        }
+    }
+
+    public void runProgram(CompiledProgram program) {
+        long start = programStarted();
+        boolean completed = false;
+        try {
+            HeatingSettings preheat = program.getPreheatSettings();
+            if (preheat != null) {
+                preheat(preheat);
+            }
+            for (int stage = 0; stage < program.size(); stage++) {
+                runStage(program.getHeat(stage), program.getSettings(stage), stage);
+            }
+            cool(program.isCoolAtFinish());
+            completed = true;
+        } finally {
+            programFinished(start, completed);
+        }
+    }
+
+    /**
+     * Runs a plan compiled by {@link StagePlanOptimizer}. Plans spell out the device and fan commands of the
+     * {@link HeatModeRegistry#STANDARD} modes, so ovens with other heat mode handlers reject them.
+     */
+    public void runProgram(ExecutionPlan plan) {
+        if (!standardModes) {
+            throw new IllegalStateException("execution plans need the standard heat modes");
+        }
+        long start = programStarted();
+        boolean completed = false;
+        try {
+            if (batchHeatingModule != null) {
+                runBatch(plan.getCommands(), null);
+            } else {
+                runSteps(plan);
+            }
+            completed = true;
+        } finally {
+            programFinished(start, completed);
+        }
+    }
+
+    /**
+     * Runs the plan step by step, grouping the steps planned from one stage so that preheat, stage and cooling
+     * callbacks match those of the equivalent {@link BakingProgram} run.
+     */
+    private void runSteps(ExecutionPlan plan) {
+        int step = 0;
+        while (step < plan.size()) {
+            int stage = plan.getStageIndex(step);
+            if (stage == OvenException.NO_STAGE) {
+                runUnstagedStep(plan.getOp(step), plan.getSettings(step));
+                step++;
+            } else {
+                int end = step + 1;
+                while (end < plan.size() && plan.getStageIndex(end) == stage) {
+                    end++;
+                }
+                runPlannedStage(plan, step, end, stage);
+                step = end;
+            }
+        }
+    }
+
+    private void runUnstagedStep(PlanOp op, HeatingSettings settings) {
+        if (op == PlanOp.HEATER) {
+            preheat(settings);
+        } else if (op == PlanOp.FAN_ON) {
+            cool(true);
+        } else {
             try {
-                heatingModule.heater(HeatingSettings.builder()
-                                                    .withTargetTemp(initialTemp)
-                                                    .withTimeInMinutes(HEAT_UP_AND_FINISH_SETTING_TIME)
-                                                    .build());
+                op.execute(heatingModule, fan, settings);
             } catch (HeatingException e) {
                 throw new OvenException(e);
             }
         }
     }
 
-    private void runStage(ProgramStage programStage) {
+    private void runPlannedStage(ExecutionPlan plan, int from, int end, int stage) {
+        int command = end - 1;
+        while (command > from && plan.getOp(command)
+                                     .getHeat() == null) {
+            command--;
+        }
+        HeatType heat = plan.getOp(command)
+                            .getHeat();
+        HeatingSettings settings = plan.getSettings(command);
+        long start = heat != null ? stageStarted(stage, heat, settings) : 0;
+        for (int step = from; step < end; step++) {
+            try {
+                plan.getOp(step)
+                    .execute(heatingModule, fan, plan.getSettings(step));
+            } catch (HeatingException e) {
+                if (metricsEnabled && heat != null) {
+                    metrics.stageFailed(stage, heat, settings);
+                }
+                throw new OvenException(e, stage);
+            }
+        }
+        if (metricsEnabled && heat != null) {
+            metrics.stageCompleted(stage, heat, settings, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Submits the batch; the stages, when given, are those the batch was built from and name the heat types reported
+     * to the metrics.
+     */
+    private void runBatch(HeatingBatch batch, Iterator<ProgramStage> stages) {
+        if (metricsEnabled) {
+            runMeteredBatch(batch, stages);
+            return;
+        }
+        try {
+            batchHeatingModule.execute(batch, fan);
+        } catch (BatchHeatingException e) {
+            throw batchFailure(batch, e);
+        }
+    }
+
+    /**
+     * Submits the batch in one go like an unmetered oven and reports the preheat, stage, fan and cooling callbacks
+     * afterwards, in command order. The batch is timed as a whole, so every device command that ran is reported with
+     * an equal share of that time.
+     */
+    private void runMeteredBatch(HeatingBatch batch, Iterator<ProgramStage> stages) {
+        BatchFanLog fanLog = new BatchFanLog(unmeteredFan, batch.size());
+        long start = System.nanoTime();
         try {
-            if (programStage.getHeat() == HeatType.THERMO_CIRCULATION) {
-                fan.on();
-                heatingModule.termalCircuit(settings(programStage));
-                fan.off();
+            batchHeatingModule.execute(batch, fanLog);
+        } catch (BatchHeatingException e) {
+            int command = e.getCommandIndex();
+            if (command >= 0 && command < batch.size()) {
+                reportBatch(batch, stages, fanLog, command, System.nanoTime() - start);
+            }
+            throw batchFailure(batch, e);
+        }
+        reportBatch(batch, stages, fanLog, batch.size(), System.nanoTime() - start);
+    }
+
+    private static OvenException batchFailure(HeatingBatch batch, BatchHeatingException e) {
+        int command = e.getCommandIndex();
+        HeatingException cause = e.getCause() instanceof HeatingException ? (HeatingException) e.getCause() : e;
+        if (command >= 0 && command < batch.size()) {
+            return new OvenException(cause, batch.getStageIndex(command));
+        }
+        return new OvenException(cause);
+    }
+
+    /**
+     * Reports the commands up to and including the failed one, or all of them when {@code failed} is the batch size.
+     */
+    private void reportBatch(HeatingBatch batch, Iterator<ProgramStage> stages, BatchFanLog fanLog, int failed,
+            long nanos) {
+        int end = Math.min(failed + 1, batch.size());
+        int deviceCommands = 0;
+        for (int command = 0; command < end; command++) {
+            if (batch.getOp(command)
+                     .getHeat() != null) {
+                deviceCommands++;
+            }
+        }
+        long share = deviceCommands > 0 ? nanos / deviceCommands : 0;
+        int command = 0;
+        while (command < end) {
+            int stage = batch.getStageIndex(command);
+            if (stage == OvenException.NO_STAGE) {
+                reportUnstagedCommand(batch, fanLog, command, command == failed, share);
+                command++;
             } else {
-                if (fan.isOn()) {
-                    fan.off();
+                int stageEnd = command + 1;
+                while (stageEnd < end && batch.getStageIndex(stageEnd) == stage) {
+                    stageEnd++;
                 }
-                runHeatingProgram(programStage);
+                reportBatchStage(batch, stages, fanLog, command, stageEnd, failed < stageEnd, share);
+                command = stageEnd;
+            }
+        }
+    }
+
+    private void reportUnstagedCommand(HeatingBatch batch, BatchFanLog fanLog, int command, boolean failed,
+            long nanos) {
+        PlanOp op = batch.getOp(command);
+        if (op.getHeat() != null) {
+            metrics.preheatStarted(batch.getSettings(command));
+            if (failed) {
+                metrics.preheatFailed();
+            } else {
+                metrics.preheatCompleted(nanos);
+            }
+            return;
+        }
+        if (op == PlanOp.FAN_ON) {
+            metrics.coolingStarted();
+        }
+        if (!failed) {
+            fanLog.report(op, metrics);
+        }
+    }
+
+    private void reportBatchStage(HeatingBatch batch, Iterator<ProgramStage> stages, BatchFanLog fanLog, int from,
+            int end, boolean failed, long nanos) {
+        int device = from;
+        while (device < end && batch.getOp(device)
+                                    .getHeat() == null) {
+            device++;
+        }
+        int stage = batch.getStageIndex(from);
+        HeatType heat = null;
+        HeatingSettings settings = null;
+        if (device < end) {
+            ProgramStage programStage = stages != null ? stages.next() : null;
+            heat = programStage != null ? programStage.getHeat()
+                    : batch.getOp(device)
+                           .getHeat();
+            settings = batch.getSettings(device);
+            metrics.stageStarted(stage, heat, settings);
+        }
+        for (int command = from; command < end; command++) {
+            if (batch.getOp(command)
+                     .getHeat() == null && !(failed && command == end - 1)) {
+                fanLog.report(batch.getOp(command), metrics);
             }
+        }
+        if (heat != null) {
+            if (failed) {
+                metrics.stageFailed(stage, heat, settings);
+            } else {
+                metrics.stageCompleted(stage, heat, settings, nanos);
+            }
+        }
+    }
+
+    void cool(boolean coolAtFinish) {
+        if (coolAtFinish) {
+            if (metricsEnabled) {
+                metrics.coolingStarted();
+            }
+            fan.on();
+        }
+    }
+
+    private void init(int initialTemp) {
+        if (initialTemp > 0) {
+            preheat(preheatSettings(initialTemp));
+        }
+    }
+
+    private void preheat(HeatingSettings settings) {
+        long start = preheatStarted(settings);
+        try {
+            heatingModule.heater(settings);
         } catch (HeatingException e) {
+            if (metricsEnabled) {
+                metrics.preheatFailed();
+            }
             throw new OvenException(e);
         }
+        if (metricsEnabled) {
+            metrics.preheatCompleted(System.nanoTime() - start);
+        }
     }
 
-    private void runHeatingProgram(ProgramStage stage) throws HeatingException {
-        HeatingSettings settings = settings(stage);
-        if (stage.getHeat() == HeatType.GRILL) {
-            heatingModule.grill(settings);
+    private void runStage(HeatType heat, HeatingSettings settings, int stage) {
+        long start = stageStarted(stage, heat, settings);
+        try {
+            handlers[heat.ordinal()].run(heatingModule, fan, settings);
+        } catch (HeatingException e) {
+            if (metricsEnabled) {
+                metrics.stageFailed(stage, heat, settings);
+            }
+            throw new OvenException(e, stage);
+        }
+        if (metricsEnabled) {
+            metrics.stageCompleted(stage, heat, settings, System.nanoTime() - start);
+        }
+    }
+
+    private ProgramOutcome preheatChecked(HeatingSettings settings) {
+        long start = preheatStarted(settings);
+        int code;
+        if (checkedHeatingModule != null) {
+            code = checkedHeatingModule.heater(settings);
         } else {
-            heatingModule.heater(settings);
+            try {
+                heatingModule.heater(settings);
+                code = CheckedHeatingModule.OK;
+            } catch (HeatingException e) {
+                code = CheckedHeatingModule.FAILED;
+            }
+        }
+        if (code != CheckedHeatingModule.OK) {
+            if (metricsEnabled) {
+                metrics.preheatFailed();
+            }
+            return ProgramOutcome.preheatFailed(settings, code);
+        }
+        if (metricsEnabled) {
+            metrics.preheatCompleted(System.nanoTime() - start);
+        }
+        return ProgramOutcome.COMPLETED;
+    }
+
+    private ProgramOutcome runStageChecked(HeatType heat, HeatingSettings settings, int stage) {
+        long start = stageStarted(stage, heat, settings);
+        HeatModeHandler handler = handlers[heat.ordinal()];
+        int code;
+        if (checkedHeatingModule != null) {
+            code = handler.run(checkedHeatingModule, fan, settings);
+        } else {
+            try {
+                handler.run(heatingModule, fan, settings);
+                code = CheckedHeatingModule.OK;
+            } catch (HeatingException e) {
+                code = CheckedHeatingModule.FAILED;
+            }
+        }
+        if (code != CheckedHeatingModule.OK) {
+            if (metricsEnabled) {
+                metrics.stageFailed(stage, heat, settings);
+            }
+            return ProgramOutcome.stageFailed(stage, heat, settings, code);
+        }
+        if (metricsEnabled) {
+            metrics.stageCompleted(stage, heat, settings, System.nanoTime() - start);
+        }
+        return ProgramOutcome.COMPLETED;
+    }
+
+    private long programStarted() {
+        if (!metricsEnabled) {
+            return 0;
         }
+        metrics.programStarted();
+        return System.nanoTime();
+    }
+
+    private long preheatStarted(HeatingSettings settings) {
+        if (!metricsEnabled) {
+            return 0;
+        }
+        metrics.preheatStarted(settings);
+        return System.nanoTime();
+    }
+
+    private long stageStarted(int stage, HeatType heat, HeatingSettings settings) {
+        if (!metricsEnabled) {
+            return 0;
+        }
+        metrics.stageStarted(stage, heat, settings);
+        return System.nanoTime();
+    }
+
+    private void programFinished(long start, boolean completed) {
+        if (!metricsEnabled) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (completed) {
+            metrics.programCompleted(elapsed);
+        } else {
+            metrics.programFailed(elapsed);
+        }
+    }
+
+    private HeatingBatch batch(BakingProgram program, boolean preheat, boolean coolAtFinish) {
+        HeatingBatch.Builder batch = HeatingBatch.builder();
+        if (preheat && program.getInitialTemp() > 0) {
+            batch.withCommand(PlanOp.HEATER, preheatSettings(program.getInitialTemp()), OvenException.NO_STAGE);
+        }
+        int stage = 0;
+        for (ProgramStage programStage : program) {
+            ((DeviceHeatModeHandler) handlers[programStage.getHeat()
+                                                          .ordinal()]).appendTo(batch, settings(programStage), stage);
+            stage++;
+        }
+        if (coolAtFinish) {
+            batch.withFan(PlanOp.FAN_ON, OvenException.NO_STAGE);
+        }
+        return batch.build();
+    }
+
+    static HeatingSettings preheatSettings(int initialTemp) {
+        return HeatingSettings.builder()
+                              .withTargetTemp(initialTemp)
+                              .withTimeInMinutes(HEAT_UP_AND_FINISH_SETTING_TIME)
+                              .build();
     }
 
-    private HeatingSettings settings(ProgramStage stage) {
+    static HeatingSettings settings(ProgramStage stage) {
         return HeatingSettings.builder()
                               .withTargetTemp(stage.getTargetTemp())
                               .withTimeInMinutes(stage.getStageTime())
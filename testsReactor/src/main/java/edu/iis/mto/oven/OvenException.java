@@ -2,10 +2,26 @@ package edu.iis.mto.oven;
 
 public class OvenException extends RuntimeException {
 
+    public static final int NO_STAGE = -1;
+
     private static final long serialVersionUID = 1L;
 
+    private final int stageIndex;
+
     public OvenException(HeatingException cause) {
+        this(cause, NO_STAGE);
+    }
+
+    public OvenException(HeatingException cause, int stageIndex) {
         super(cause);
+        this.stageIndex = stageIndex;
+    }
+
+    /**
+     * Index of the program stage that failed, {@link #NO_STAGE} when the failure happened during preheat or cooling.
+     */
+    public int getStageIndex() {
+        return stageIndex;
     }
 
 }
@@ -0,0 +1,84 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listener notified by {@link Oven} about where program time goes. All callbacks run on the thread executing the
+ * program, so implementations must be cheap and thread-safe. The oven asks {@link #isEnabled()} once, when it is
+ * constructed; {@link #NONE} disables instrumentation entirely: the oven then skips every clock read and callback. An
+ * oven reports to one listener, {@link #of(OvenMetrics...)} combines several.
+ */
+public interface OvenMetrics {
+
+    OvenMetrics NONE = new OvenMetrics() {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Listener forwarding every callback to each of the enabled listeners, in the given order; {@link #NONE} when none
+     * of them is enabled.
+     */
+    static OvenMetrics of(OvenMetrics... metrics) {
+        List<OvenMetrics> enabled = new ArrayList<>(metrics.length);
+        for (OvenMetrics each : metrics) {
+            if (requireNonNull(each).isEnabled()) {
+                enabled.add(each);
+            }
+        }
+        if (enabled.isEmpty()) {
+            return NONE;
+        }
+        if (enabled.size() == 1) {
+            return enabled.get(0);
+        }
+        return new CompositeOvenMetrics(enabled.toArray(new OvenMetrics[0]));
+    }
+
+    default void programStarted() {}
+
+    default void programCompleted(long nanos) {}
+
+    default void programFailed(long nanos) {}
+
+    default void preheatStarted(HeatingSettings settings) {}
+
+    default void preheatCompleted(long nanos) {}
+
+    default void preheatFailed() {}
+
+    default void stageStarted(int stage, HeatType heat, HeatingSettings settings) {}
+
+    default void stageCompleted(HeatType heat, long nanos) {}
+
+    /**
+     * Stage completion with the stage position and settings; by default forwards to
+     * {@link #stageCompleted(HeatType, long)}.
+     */
+    default void stageCompleted(int stage, HeatType heat, HeatingSettings settings, long nanos) {
+        stageCompleted(heat, nanos);
+    }
+
+    default void stageFailed(HeatType heat) {}
+
+    /**
+     * Stage failure with the stage position and settings; by default forwards to {@link #stageFailed(HeatType)}.
+     */
+    default void stageFailed(int stage, HeatType heat, HeatingSettings settings) {
+        stageFailed(heat);
+    }
+
+    default void coolingStarted() {}
+
+    default void fanSwitched(boolean on) {}
+}
@@ -0,0 +1,78 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Chain of programs run back to back on one warm {@link Oven}. A program's preheat is skipped when the previous
+ * program ended at exactly its initial temperature, and cooling requested by any program is deferred until the session
+ * is closed. After a failed program the cavity temperature is treated as unknown, so the next program preheats again.
+ */
+public class OvenSession implements AutoCloseable {
+
+    private static final int UNKNOWN_TEMP = Integer.MIN_VALUE;
+
+    private final Oven oven;
+    private int lastTemp = UNKNOWN_TEMP;
+    private boolean coolingPending;
+    private boolean closed;
+    private int programsRun;
+    private int preheatsSkipped;
+    private int coolingsDeferred;
+
+    OvenSession(Oven oven) {
+        this.oven = oven;
+    }
+
+    public void run(BakingProgram program) {
+        requireNonNull(program);
+        if (closed) {
+            throw new IllegalStateException("session is closed");
+        }
+        int initialTemp = program.getInitialTemp();
+        boolean preheat = initialTemp > 0 && initialTemp != lastTemp;
+        if (initialTemp > 0 && !preheat) {
+            preheatsSkipped++;
+        }
+        int startTemp = initialTemp > 0 ? initialTemp : lastTemp;
+        lastTemp = UNKNOWN_TEMP;
+        oven.run(program, preheat, false);
+        lastTemp = finalTemp(program, startTemp);
+        programsRun++;
+        if (program.isCoolAtFinish()) {
+            coolingPending = true;
+            coolingsDeferred++;
+        }
+    }
+
+    /**
+     * Runs the cooling deferred by the chained programs, if any requested it.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        oven.cool(coolingPending);
+    }
+
+    public int getProgramsRun() {
+        return programsRun;
+    }
+
+    public int getPreheatsSkipped() {
+        return preheatsSkipped;
+    }
+
+    public int getCoolingsDeferred() {
+        return coolingsDeferred;
+    }
+
+    private static int finalTemp(BakingProgram program, int startTemp) {
+        int temp = startTemp;
+        for (ProgramStage stage : program) {
+            temp = stage.getTargetTemp();
+        }
+        return temp;
+    }
+}
@@ -0,0 +1,49 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Adapts a plain {@link HeatingModule} to {@link BatchHeatingModule} by dispatching every command separately.
+ */
+public class PerCallBatchHeatingModule implements BatchHeatingModule {
+
+    private final HeatingModule heatingModule;
+
+    private PerCallBatchHeatingModule(HeatingModule heatingModule) {
+        this.heatingModule = heatingModule;
+    }
+
+    public static BatchHeatingModule adapt(HeatingModule heatingModule) {
+        if (requireNonNull(heatingModule) instanceof BatchHeatingModule) {
+            return (BatchHeatingModule) heatingModule;
+        }
+        return new PerCallBatchHeatingModule(heatingModule);
+    }
+
+    @Override
+    public void execute(HeatingBatch batch, Fan fan) throws BatchHeatingException {
+        for (int command = 0; command < batch.size(); command++) {
+            try {
+                batch.getOp(command)
+                     .execute(heatingModule, fan, batch.getSettings(command));
+            } catch (HeatingException e) {
+                throw new BatchHeatingException(command, e);
+            }
+        }
+    }
+
+    @Override
+    public void termalCircuit(HeatingSettings settings) throws HeatingException {
+        heatingModule.termalCircuit(settings);
+    }
+
+    @Override
+    public void heater(HeatingSettings settings) throws HeatingException {
+        heatingModule.heater(settings);
+    }
+
+    @Override
+    public void grill(HeatingSettings settings) throws HeatingException {
+        heatingModule.grill(settings);
+    }
+}
@@ -0,0 +1,76 @@
+package edu.iis.mto.oven;
+
+public enum PlanOp {
+    FAN_ON(null) {
+
+        @Override
+        void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) {
+            fan.on();
+        }
+    },
+    FAN_OFF(null) {
+
+        @Override
+        void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) {
+            fan.off();
+        }
+    },
+    FAN_OFF_IF_ON(null) {
+
+        @Override
+        void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) {
+            if (fan.isOn()) {
+                fan.off();
+            }
+        }
+    },
+    TERMAL_CIRCUIT(HeatType.THERMO_CIRCULATION) {
+
+        @Override
+        void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) throws HeatingException {
+            heatingModule.termalCircuit(settings);
+        }
+    },
+    HEATER(HeatType.HEATER) {
+
+        @Override
+        void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) throws HeatingException {
+            heatingModule.heater(settings);
+        }
+    },
+    GRILL(HeatType.GRILL) {
+
+        @Override
+        void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) throws HeatingException {
+            heatingModule.grill(settings);
+        }
+    };
+
+    private final HeatType heat;
+
+    PlanOp(HeatType heat) {
+        this.heat = heat;
+    }
+
+    /**
+     * Heat type the command drives, {@code null} for fan commands.
+     */
+    public HeatType getHeat() {
+        return heat;
+    }
+
+    abstract void execute(HeatingModule heatingModule, Fan fan, HeatingSettings settings) throws HeatingException;
+
+    int execute(CheckedHeatingModule heatingModule, HeatingSettings settings) {
+        switch (this) {
+            case TERMAL_CIRCUIT:
+                return heatingModule.termalCircuit(settings);
+            case HEATER:
+                return heatingModule.heater(settings);
+            case GRILL:
+                return heatingModule.grill(settings);
+            default:
+                throw new IllegalStateException("not a device command: " + this);
+        }
+    }
+}
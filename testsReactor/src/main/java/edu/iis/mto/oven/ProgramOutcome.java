@@ -0,0 +1,76 @@
+package edu.iis.mto.oven;
+
+/**
+ * Result of {@link Oven#runProgramChecked(BakingProgram)}. A failed outcome names where the program stopped: the
+ * stage index ({@link OvenException#NO_STAGE} for preheat), its heat type, the settings the device refused and the
+ * device failure code.
+ */
+public final class ProgramOutcome {
+
+    public enum Status {
+        COMPLETED,
+        PREHEAT_FAILED,
+        STAGE_FAILED
+    }
+
+    public static final ProgramOutcome COMPLETED = new ProgramOutcome(Status.COMPLETED, OvenException.NO_STAGE, null,
+            null, CheckedHeatingModule.OK);
+
+    private final Status status;
+    private final int stageIndex;
+    private final HeatType heat;
+    private final HeatingSettings settings;
+    private final int deviceCode;
+
+    private ProgramOutcome(Status status, int stageIndex, HeatType heat, HeatingSettings settings, int deviceCode) {
+        this.status = status;
+        this.stageIndex = stageIndex;
+        this.heat = heat;
+        this.settings = settings;
+        this.deviceCode = deviceCode;
+    }
+
+    static ProgramOutcome preheatFailed(HeatingSettings settings, int deviceCode) {
+        return new ProgramOutcome(Status.PREHEAT_FAILED, OvenException.NO_STAGE, HeatType.HEATER, settings, deviceCode);
+    }
+
+    static ProgramOutcome stageFailed(int stageIndex, HeatType heat, HeatingSettings settings, int deviceCode) {
+        return new ProgramOutcome(Status.STAGE_FAILED, stageIndex, heat, settings, deviceCode);
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getStageIndex() {
+        return stageIndex;
+    }
+
+    /**
+     * Heat type of the failed command, {@code null} for a completed program.
+     */
+    public HeatType getHeat() {
+        return heat;
+    }
+
+    /**
+     * Settings of the failed command, {@code null} for a completed program.
+     */
+    public HeatingSettings getSettings() {
+        return settings;
+    }
+
+    public int getDeviceCode() {
+        return deviceCode;
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramOutcome [status=" + status + ", stageIndex=" + stageIndex + ", heat=" + heat + ", settings="
+               + settings + ", deviceCode=" + deviceCode + "]";
+    }
+}
@@ -0,0 +1,25 @@
+package edu.iis.mto.oven;
+
+public class ProgramResult {
+
+    private final int stagesRun;
+    private final long elapsedNanos;
+
+    ProgramResult(int stagesRun, long elapsedNanos) {
+        this.stagesRun = stagesRun;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getStagesRun() {
+        return stagesRun;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramResult [stagesRun=" + stagesRun + ", elapsedNanos=" + elapsedNanos + "]";
+    }
+}
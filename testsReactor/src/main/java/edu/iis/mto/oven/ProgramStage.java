@@ -2,6 +2,8 @@ package edu.iis.mto.oven;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Objects;
+
 public class ProgramStage {
 
     private final int targetTemp;
@@ -26,6 +28,26 @@ public class ProgramStage {
         return heat;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetTemp, stageTime, heat);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ProgramStage other = (ProgramStage) obj;
+        return targetTemp == other.targetTemp && stageTime == other.stageTime && heat == other.heat;
+    }
+
     @Override
     public String toString() {
         return "ProgramStage [targetTemp=" + targetTemp + ", stageTime=" + stageTime + ", heat=" + heat + "]";
@@ -0,0 +1,15 @@
+package edu.iis.mto.oven;
+
+/**
+ * Consulted by {@link Oven#runProgram(BakingProgram, int, StageGate)} at every stage boundary.
+ */
+@FunctionalInterface
+public interface StageGate {
+
+    StageGate OPEN = stage -> true;
+
+    /**
+     * Whether the oven may go on with the given stage; returning false stops the program before it.
+     */
+    boolean mayStart(int stage);
+}
@@ -0,0 +1,98 @@
+package edu.iis.mto.oven;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Turns a {@link BakingProgram} into an {@link ExecutionPlan} with the same heating behavior but fewer device calls:
+ * adjacent timed stages with the same heat type and target temperature are merged, the fan stays on across consecutive
+ * thermo circulation stages and its state is only queried when it is not already known. Stages of
+ * {@link Oven#HEAT_UP_AND_FINISH_SETTING_TIME} heat to their target and finish, so they are kept as they are and
+ * nothing is merged across them.
+ */
+public class StagePlanOptimizer {
+
+    private static final int THERMO_STAGE_CALLS = 3;
+    private static final int HEATING_STAGE_CALLS = 2;
+
+    private enum FanState {
+        UNKNOWN,
+        ON,
+        OFF
+    }
+
+    public ExecutionPlan optimize(BakingProgram program) {
+        requireNonNull(program);
+        HeatingBatch.Builder commands = HeatingBatch.builder();
+        int originalDeviceCalls = 0;
+
+        if (program.getInitialTemp() > 0) {
+            commands.withCommand(PlanOp.HEATER, Oven.preheatSettings(program.getInitialTemp()), OvenException.NO_STAGE);
+            originalDeviceCalls++;
+        }
+
+        FanState fan = FanState.UNKNOWN;
+        ProgramStage pending = null;
+        int pendingIndex = OvenException.NO_STAGE;
+        int index = 0;
+        for (ProgramStage stage : program) {
+            originalDeviceCalls += stage.getHeat() == HeatType.THERMO_CIRCULATION ? THERMO_STAGE_CALLS
+                    : HEATING_STAGE_CALLS;
+            if (pending == null) {
+                pending = stage;
+                pendingIndex = index;
+            } else if (mergeable(pending, stage)) {
+                pending = merge(pending, stage);
+            } else {
+                fan = addStage(commands, pending, pendingIndex, fan);
+                pending = stage;
+                pendingIndex = index;
+            }
+            index++;
+        }
+        if (pending != null) {
+            fan = addStage(commands, pending, pendingIndex, fan);
+        }
+
+        if (program.isCoolAtFinish()) {
+            originalDeviceCalls++;
+            if (fan != FanState.ON) {
+                commands.withFan(PlanOp.FAN_ON, OvenException.NO_STAGE);
+            }
+        } else if (fan == FanState.ON) {
+            commands.withFan(PlanOp.FAN_OFF, OvenException.NO_STAGE);
+        }
+        return new ExecutionPlan(commands.build(), originalDeviceCalls);
+    }
+
+    private FanState addStage(HeatingBatch.Builder commands, ProgramStage stage, int stageIndex, FanState fan) {
+        if (stage.getHeat() == HeatType.THERMO_CIRCULATION) {
+            if (fan != FanState.ON) {
+                commands.withFan(PlanOp.FAN_ON, stageIndex);
+            }
+            commands.withCommand(PlanOp.TERMAL_CIRCUIT, Oven.settings(stage), stageIndex);
+            return FanState.ON;
+        }
+        if (fan == FanState.ON) {
+            commands.withFan(PlanOp.FAN_OFF, stageIndex);
+        } else if (fan == FanState.UNKNOWN) {
+            commands.withFan(PlanOp.FAN_OFF_IF_ON, stageIndex);
+        }
+        commands.withCommand(stage.getHeat() == HeatType.GRILL ? PlanOp.GRILL : PlanOp.HEATER, Oven.settings(stage),
+                stageIndex);
+        return FanState.OFF;
+    }
+
+    private static boolean mergeable(ProgramStage first, ProgramStage second) {
+        return first.getHeat() == second.getHeat() && first.getTargetTemp() == second.getTargetTemp()
+               && first.getStageTime() != Oven.HEAT_UP_AND_FINISH_SETTING_TIME
+               && second.getStageTime() != Oven.HEAT_UP_AND_FINISH_SETTING_TIME;
+    }
+
+    private static ProgramStage merge(ProgramStage first, ProgramStage second) {
+        return ProgramStage.builder()
+                           .withHeat(first.getHeat())
+                           .withTargetTemp(first.getTargetTemp())
+                           .withStageTime(Math.addExact(first.getStageTime(), second.getStageTime()))
+                           .build();
+    }
+}
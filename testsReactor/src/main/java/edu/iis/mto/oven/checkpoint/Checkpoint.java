@@ -0,0 +1,89 @@
+package edu.iis.mto.oven.checkpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+import edu.iis.mto.oven.registry.ContentHash;
+
+/**
+ * Progress of one program run: which program it was, whether preheat is done, the first stage not yet completed and
+ * how many minutes of that stage are still to go.
+ */
+public final class Checkpoint {
+
+    private final ContentHash program;
+    private final boolean preheated;
+    private final int nextStage;
+    private final int remainingMinutes;
+    private final int failures;
+
+    public Checkpoint(ContentHash program, boolean preheated, int nextStage, int remainingMinutes, int failures) {
+        this.program = requireNonNull(program);
+        if (nextStage < 0 || remainingMinutes < 0 || failures < 0) {
+            throw new IllegalArgumentException("negative checkpoint field: nextStage=" + nextStage
+                                               + ", remainingMinutes=" + remainingMinutes + ", failures=" + failures);
+        }
+        this.preheated = preheated;
+        this.nextStage = nextStage;
+        this.remainingMinutes = remainingMinutes;
+        this.failures = failures;
+    }
+
+    public ContentHash getProgram() {
+        return program;
+    }
+
+    public boolean isPreheated() {
+        return preheated;
+    }
+
+    public int getNextStage() {
+        return nextStage;
+    }
+
+    /**
+     * Index of the last completed stage, -1 when none has completed yet.
+     */
+    public int getLastCompletedStage() {
+        return nextStage - 1;
+    }
+
+    public int getRemainingMinutes() {
+        return remainingMinutes;
+    }
+
+    /**
+     * Device failures seen so far, retried ones included.
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(program, preheated, nextStage, remainingMinutes, failures);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        Checkpoint other = (Checkpoint) obj;
+        return program.equals(other.program) && preheated == other.preheated && nextStage == other.nextStage
+               && remainingMinutes == other.remainingMinutes && failures == other.failures;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint [program=" + program + ", preheated=" + preheated + ", nextStage=" + nextStage
+               + ", remainingMinutes=" + remainingMinutes + ", failures=" + failures + "]";
+    }
+}
@@ -0,0 +1,15 @@
+package edu.iis.mto.oven.checkpoint;
+
+import java.util.Optional;
+
+/**
+ * Where {@link CheckpointedOven} keeps checkpoints, keyed by the caller's run id.
+ */
+public interface CheckpointStore {
+
+    void save(String runId, Checkpoint checkpoint);
+
+    Optional<Checkpoint> load(String runId);
+
+    void clear(String runId);
+}
@@ -0,0 +1,243 @@
+package edu.iis.mto.oven.checkpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.ProgramStage;
+import edu.iis.mto.oven.registry.ContentHash;
+
+/**
+ * Runs programs so that a device failure costs only the failed stage. Progress is written to a
+ * {@link CheckpointStore} at every stage boundary. A failed stage is retried according to the {@link RetryPolicy} of
+ * its heat type, continuing with the minutes the stage still had to go and without preheating again. When the retries
+ * run out the checkpoint stays in the store and the failure is thrown; {@link #resume(String, BakingProgram)} later
+ * picks the run up from the failed stage. Elapsed stage time is measured from the stage boundary with the configured
+ * clock.
+ */
+public class CheckpointedOven {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final Oven oven;
+    private final CheckpointStore store;
+    private final RetryPolicy retryPolicy;
+    private final LongSupplier clock;
+
+    private CheckpointedOven(Builder builder) {
+        this.oven = new Oven(requireNonNull(builder.heatingModule, "heatingModule"), requireNonNull(builder.fan, "fan"));
+        this.store = builder.store;
+        this.retryPolicy = builder.retryPolicy;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Runs the program from the start under the given run id, replacing any checkpoint the id had.
+     */
+    public void run(String runId, BakingProgram program) {
+        List<ProgramStage> stages = stages(program);
+        Run run = new Run(requireNonNull(runId), program, ContentHash.of(program), stages);
+        run.moveTo(0);
+        execute(run);
+    }
+
+    /**
+     * Continues a run from its checkpoint; the program must be the one the checkpoint was taken for.
+     */
+    public void resume(String runId, BakingProgram program) {
+        Checkpoint checkpoint = store.load(runId)
+                                     .orElseThrow(() -> new IllegalStateException("no checkpoint for run " + runId));
+        ContentHash hash = ContentHash.of(program);
+        if (!checkpoint.getProgram()
+                       .equals(hash)) {
+            throw new IllegalStateException("checkpoint of run " + runId + " was taken for another program");
+        }
+        Run run = new Run(runId, program, hash, stages(program));
+        run.preheated = checkpoint.isPreheated();
+        run.nextStage = checkpoint.getNextStage();
+        run.remainingMinutes = checkpoint.getRemainingMinutes();
+        run.failures = checkpoint.getFailures();
+        execute(run);
+    }
+
+    private void execute(Run run) {
+        int failedStage = Integer.MIN_VALUE;
+        int attempt = 0;
+        while (true) {
+            int offset = run.nextStage;
+            try {
+                oven.runProgram(run.slice(), 0, stage -> {
+                    if (stage > 0) {
+                        run.moveTo(offset + stage);
+                        run.preheated = true;
+                    }
+                    run.stageStarted = clock.getAsLong();
+                    store.save(run.runId, run.checkpoint());
+                    return true;
+                });
+                store.clear(run.runId);
+                return;
+            } catch (OvenException e) {
+                int stage = e.getStageIndex() == OvenException.NO_STAGE ? OvenException.NO_STAGE
+                        : offset + e.getStageIndex();
+                HeatType heat = HeatType.HEATER;
+                if (stage != OvenException.NO_STAGE) {
+                    run.failedAt(stage, clock.getAsLong());
+                    heat = run.stages.get(stage)
+                                     .getHeat();
+                }
+                run.failures++;
+                store.save(run.runId, run.checkpoint());
+                attempt = stage == failedStage ? attempt + 1 : 1;
+                failedStage = stage;
+                OvenException failure = new OvenException((HeatingException) e.getCause(), stage);
+                if (attempt > retryPolicy.getRetries(heat) || !backOff(retryPolicy.backoff(attempt))) {
+                    throw failure;
+                }
+            }
+        }
+    }
+
+    private static boolean backOff(Duration backoff) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            return false;
+        }
+    }
+
+    private static List<ProgramStage> stages(BakingProgram program) {
+        List<ProgramStage> stages = new ArrayList<>();
+        for (ProgramStage stage : program) {
+            stages.add(stage);
+        }
+        return stages;
+    }
+
+    private static final class Run {
+
+        private final String runId;
+        private final BakingProgram program;
+        private final ContentHash hash;
+        private final List<ProgramStage> stages;
+        private boolean preheated;
+        private int nextStage;
+        private int remainingMinutes;
+        private int failures;
+        private long stageStarted;
+
+        private Run(String runId, BakingProgram program, ContentHash hash, List<ProgramStage> stages) {
+            this.runId = runId;
+            this.program = program;
+            this.hash = hash;
+            this.stages = stages;
+        }
+
+        private void moveTo(int stage) {
+            nextStage = stage;
+            remainingMinutes = stage < stages.size() ? stages.get(stage)
+                                                             .getStageTime()
+                    : 0;
+        }
+
+        private void failedAt(int stage, long now) {
+            preheated = true;
+            int stageTime = stages.get(stage)
+                                  .getStageTime();
+            int scheduled = stage == nextStage ? remainingMinutes : stageTime;
+            nextStage = stage;
+            if (scheduled > 0) {
+                long elapsedMinutes = (now - stageStarted) / NANOS_PER_MINUTE;
+                remainingMinutes = (int) Math.max(1, scheduled - elapsedMinutes);
+            } else {
+                remainingMinutes = 0;
+            }
+        }
+
+        private Checkpoint checkpoint() {
+            return new Checkpoint(hash, preheated, nextStage, remainingMinutes, failures);
+        }
+
+        /**
+         * What is left of the program: preheat unless already done, then the stages from the next one on, the first
+         * shortened to its remaining minutes.
+         */
+        private BakingProgram slice() {
+            List<ProgramStage> rest = new ArrayList<>(stages.subList(nextStage, stages.size()));
+            if (!rest.isEmpty()) {
+                ProgramStage first = rest.get(0);
+                rest.set(0, ProgramStage.builder()
+                                        .withHeat(first.getHeat())
+                                        .withTargetTemp(first.getTargetTemp())
+                                        .withStageTime(remainingMinutes)
+                                        .build());
+            }
+            return BakingProgram.builder()
+                                .withInitialTemp(preheated ? 0 : program.getInitialTemp())
+                                .withStages(rest)
+                                .withCoolAtFinish(program.isCoolAtFinish())
+                                .build();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private HeatingModule heatingModule;
+        private Fan fan;
+        private CheckpointStore store = new InMemoryCheckpointStore();
+        private RetryPolicy retryPolicy = RetryPolicy.NONE;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {}
+
+        public Builder withHeatingModule(HeatingModule heatingModule) {
+            this.heatingModule = requireNonNull(heatingModule);
+            return this;
+        }
+
+        public Builder withFan(Fan fan) {
+            this.fan = requireNonNull(fan);
+            return this;
+        }
+
+        public Builder withStore(CheckpointStore store) {
+            this.store = requireNonNull(store);
+            return this;
+        }
+
+        public Builder withRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = requireNonNull(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Nanosecond clock used to measure how much of a failed stage already ran.
+         */
+        public Builder withClock(LongSupplier clock) {
+            this.clock = requireNonNull(clock);
+            return this;
+        }
+
+        public CheckpointedOven build() {
+            return new CheckpointedOven(this);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package edu.iis.mto.oven.checkpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import edu.iis.mto.oven.registry.ContentHash;
+
+/**
+ * Keeps every checkpoint in its own small file under a directory. A checkpoint is written to a temporary file and
+ * atomically moved over the previous one, so a crash leaves either the old or the new checkpoint, never a torn one.
+ * Run ids become file names in hex, so any string is a valid id.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private static final int MAGIC = 0x4F56434B;
+    private static final short VERSION = 1;
+    private static final String SUFFIX = ".checkpoint";
+
+    private final Path directory;
+
+    public FileCheckpointStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(requireNonNull(directory));
+    }
+
+    @Override
+    public void save(String runId, Checkpoint checkpoint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeUTF(checkpoint.getProgram()
+                                   .toString());
+            out.writeBoolean(checkpoint.isPreheated());
+            out.writeInt(checkpoint.getNextStage());
+            out.writeInt(checkpoint.getRemainingMinutes());
+            out.writeInt(checkpoint.getFailures());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Path file = file(runId);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, bytes.toByteArray());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot save checkpoint of run " + runId, e);
+        }
+    }
+
+    @Override
+    public Optional<Checkpoint> load(String runId) {
+        try (InputStream stream = Files.newInputStream(file(runId)); DataInputStream in = new DataInputStream(stream)) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IllegalStateException("not a checkpoint file of run " + runId);
+            }
+            return Optional.of(new Checkpoint(ContentHash.parse(in.readUTF()), in.readBoolean(), in.readInt(),
+                    in.readInt(), in.readInt()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot load checkpoint of run " + runId, e);
+        }
+    }
+
+    @Override
+    public void clear(String runId) {
+        try {
+            Files.deleteIfExists(file(runId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot clear checkpoint of run " + runId, e);
+        }
+    }
+
+    private Path file(String runId) {
+        StringBuilder name = new StringBuilder();
+        for (byte b : runId.getBytes(StandardCharsets.UTF_8)) {
+            name.append(Character.forDigit(b >> 4 & 0xF, 16))
+                .append(Character.forDigit(b & 0xF, 16));
+        }
+        return directory.resolve(name.append(SUFFIX)
+                                     .toString());
+    }
+}
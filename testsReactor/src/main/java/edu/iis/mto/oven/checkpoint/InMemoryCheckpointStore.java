@@ -0,0 +1,27 @@
+package edu.iis.mto.oven.checkpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class InMemoryCheckpointStore implements CheckpointStore {
+
+    private final ConcurrentMap<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String runId, Checkpoint checkpoint) {
+        checkpoints.put(requireNonNull(runId), requireNonNull(checkpoint));
+    }
+
+    @Override
+    public Optional<Checkpoint> load(String runId) {
+        return Optional.ofNullable(checkpoints.get(runId));
+    }
+
+    @Override
+    public void clear(String runId) {
+        checkpoints.remove(runId);
+    }
+}
@@ -0,0 +1,88 @@
+package edu.iis.mto.oven.checkpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * How often a failed stage is retried before the run gives up, per {@link HeatType}, and how long to wait between
+ * attempts: the first retry waits the initial backoff, every further one waits {@code multiplier} times longer, up to
+ * the maximum backoff. Preheat failures follow the {@link HeatType#HEATER} settings.
+ */
+public class RetryPolicy {
+
+    public static final RetryPolicy NONE = builder().build();
+
+    private final int[] retries;
+    private final long initialBackoffNanos;
+    private final double multiplier;
+    private final long maxBackoffNanos;
+
+    private RetryPolicy(Builder builder) {
+        this.retries = builder.retries.clone();
+        this.initialBackoffNanos = builder.initialBackoff.toNanos();
+        this.multiplier = builder.multiplier;
+        this.maxBackoffNanos = builder.maxBackoff.toNanos();
+    }
+
+    public int getRetries(HeatType heat) {
+        return retries[heat.ordinal()];
+    }
+
+    /**
+     * Wait before the given retry of a stage, counting from 1.
+     */
+    public Duration backoff(int retry) {
+        if (retry < 1) {
+            throw new IllegalArgumentException("retries count from 1: " + retry);
+        }
+        double nanos = initialBackoffNanos * Math.pow(multiplier, retry - 1);
+        return Duration.ofNanos((long) Math.min(nanos, maxBackoffNanos));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final int[] retries = new int[HeatType.values().length];
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private double multiplier = 2;
+        private Duration maxBackoff = Duration.ofSeconds(10);
+
+        private Builder() {}
+
+        public Builder withRetries(HeatType heat, int retries) {
+            if (retries < 0) {
+                throw new IllegalArgumentException("negative retries: " + retries);
+            }
+            this.retries[requireNonNull(heat).ordinal()] = retries;
+            return this;
+        }
+
+        public Builder withRetries(int retries) {
+            for (HeatType heat : HeatType.values()) {
+                withRetries(heat, retries);
+            }
+            return this;
+        }
+
+        public Builder withBackoff(Duration initialBackoff, double multiplier, Duration maxBackoff) {
+            if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0 || !(multiplier >= 1)) {
+                throw new IllegalArgumentException("invalid backoff " + initialBackoff + " x" + multiplier + " up to "
+                                                   + maxBackoff);
+            }
+            this.initialBackoff = initialBackoff;
+            this.multiplier = multiplier;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
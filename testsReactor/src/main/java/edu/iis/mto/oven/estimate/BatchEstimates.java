@@ -0,0 +1,80 @@
+package edu.iis.mto.oven.estimate;
+
+import java.util.Objects;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * Estimates for every program of a {@link ProgramBatch}, kept in columns indexed like the batch. Stage minutes per
+ * heat type exclude preheat and cooling, which are reported separately.
+ */
+public final class BatchEstimates {
+
+    static final int HEAT_TYPES = HeatType.values().length;
+
+    final double[] totalMinutes;
+    final double[] preheatMinutes;
+    final double[] coolingMinutes;
+    final double[] heatMinutes;
+    final double[] energyKilowattHours;
+
+    BatchEstimates(int size) {
+        this.totalMinutes = new double[size];
+        this.preheatMinutes = new double[size];
+        this.coolingMinutes = new double[size];
+        this.heatMinutes = new double[size * HEAT_TYPES];
+        this.energyKilowattHours = new double[size];
+    }
+
+    public int size() {
+        return totalMinutes.length;
+    }
+
+    public ProgramEstimate get(int program) {
+        return new ProgramEstimate(this, Objects.checkIndex(program, size()));
+    }
+
+    public double getTotalMinutes(int program) {
+        return totalMinutes[program];
+    }
+
+    public double getPreheatMinutes(int program) {
+        return preheatMinutes[program];
+    }
+
+    public double getCoolingMinutes(int program) {
+        return coolingMinutes[program];
+    }
+
+    public double getMinutes(int program, HeatType heat) {
+        return heatMinutes[Objects.checkIndex(program, size()) * HEAT_TYPES + heat.ordinal()];
+    }
+
+    public double getEnergyKilowattHours(int program) {
+        return energyKilowattHours[program];
+    }
+
+    public double sumTotalMinutes() {
+        return sum(totalMinutes);
+    }
+
+    public double sumMinutes(HeatType heat) {
+        double sum = 0;
+        for (int index = heat.ordinal(); index < heatMinutes.length; index += HEAT_TYPES) {
+            sum += heatMinutes[index];
+        }
+        return sum;
+    }
+
+    public double sumEnergyKilowattHours() {
+        return sum(energyKilowattHours);
+    }
+
+    private static double sum(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
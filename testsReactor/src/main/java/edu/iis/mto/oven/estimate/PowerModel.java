@@ -0,0 +1,96 @@
+package edu.iis.mto.oven.estimate;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.sim.ThermalModel;
+
+/**
+ * Electrical draw of an oven per heating mode and for the fan, together with the {@link ThermalModel} that decides how
+ * long heating up and cooling down take. Cooling at finish runs the fan until the cavity drops to the cool-down
+ * temperature.
+ */
+public class PowerModel {
+
+    private final ThermalModel thermalModel;
+    private final double[] heatingKilowatts;
+    private final double fanKilowatts;
+    private final double coolDownTemp;
+
+    private PowerModel(Builder builder) {
+        this.thermalModel = builder.thermalModel;
+        this.heatingKilowatts = builder.heatingKilowatts.clone();
+        this.fanKilowatts = builder.fanKilowatts;
+        if (!(builder.coolDownTemp > thermalModel.getAmbientTemp())) {
+            throw new IllegalArgumentException("cool-down temperature " + builder.coolDownTemp
+                                               + " must be above ambient " + thermalModel.getAmbientTemp());
+        }
+        this.coolDownTemp = builder.coolDownTemp;
+    }
+
+    public ThermalModel getThermalModel() {
+        return thermalModel;
+    }
+
+    public double getHeatingKilowatts(HeatType heat) {
+        return heatingKilowatts[heat.ordinal()];
+    }
+
+    public double getFanKilowatts() {
+        return fanKilowatts;
+    }
+
+    public double getCoolDownTemp() {
+        return coolDownTemp;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private ThermalModel thermalModel = ThermalModel.builder()
+                                                        .build();
+        private final double[] heatingKilowatts = new double[HeatType.values().length];
+        private double fanKilowatts = 0.05;
+        private double coolDownTemp = 50;
+
+        private Builder() {
+            heatingKilowatts[HeatType.THERMO_CIRCULATION.ordinal()] = 2.5;
+            heatingKilowatts[HeatType.HEATER.ordinal()] = 2.0;
+            heatingKilowatts[HeatType.GRILL.ordinal()] = 3.0;
+        }
+
+        public Builder withThermalModel(ThermalModel thermalModel) {
+            this.thermalModel = requireNonNull(thermalModel);
+            return this;
+        }
+
+        public Builder withHeatingKilowatts(HeatType heat, double kilowatts) {
+            heatingKilowatts[requireNonNull(heat).ordinal()] = notNegative(kilowatts);
+            return this;
+        }
+
+        public Builder withFanKilowatts(double kilowatts) {
+            this.fanKilowatts = notNegative(kilowatts);
+            return this;
+        }
+
+        public Builder withCoolDownTemp(double coolDownTemp) {
+            this.coolDownTemp = coolDownTemp;
+            return this;
+        }
+
+        public PowerModel build() {
+            return new PowerModel(this);
+        }
+
+        private static double notNegative(double kilowatts) {
+            if (!(kilowatts >= 0)) {
+                throw new IllegalArgumentException("power must not be negative: " + kilowatts);
+            }
+            return kilowatts;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package edu.iis.mto.oven.estimate;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Columnar, immutable batch of programs. Program {@code i} owns stages {@code stageStart(i)} up to but excluding
+ * {@code stageStart(i + 1)} of the stage columns, so a whole catalog is a handful of primitive arrays that estimation
+ * can scan without touching a single {@link ProgramStage} object.
+ */
+public final class ProgramBatch {
+
+    private final int[] initialTemps;
+    private final boolean[] coolAtFinish;
+    private final int[] stageStarts;
+    private final int[] targetTemps;
+    private final int[] stageTimes;
+    private final byte[] heats;
+
+    private ProgramBatch(Builder builder) {
+        int size = builder.size;
+        this.initialTemps = Arrays.copyOf(builder.initialTemps, size);
+        this.coolAtFinish = Arrays.copyOf(builder.coolAtFinish, size);
+        this.stageStarts = Arrays.copyOf(builder.stageStarts, size + 1);
+        int stages = builder.stages;
+        this.targetTemps = Arrays.copyOf(builder.targetTemps, stages);
+        this.stageTimes = Arrays.copyOf(builder.stageTimes, stages);
+        this.heats = Arrays.copyOf(builder.heats, stages);
+    }
+
+    public static ProgramBatch of(Collection<BakingProgram> programs) {
+        Builder builder = builder();
+        for (BakingProgram program : programs) {
+            builder.add(program);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return initialTemps.length;
+    }
+
+    public int stageCount() {
+        return targetTemps.length;
+    }
+
+    int initialTemp(int program) {
+        return initialTemps[program];
+    }
+
+    boolean coolAtFinish(int program) {
+        return coolAtFinish[program];
+    }
+
+    int stageStart(int program) {
+        return stageStarts[program];
+    }
+
+    int targetTemp(int stage) {
+        return targetTemps[stage];
+    }
+
+    int stageTime(int stage) {
+        return stageTimes[stage];
+    }
+
+    int heat(int stage) {
+        return heats[stage];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private static final int INITIAL_PROGRAMS = 16;
+        private static final int INITIAL_STAGES = 64;
+
+        private int[] initialTemps = new int[INITIAL_PROGRAMS];
+        private boolean[] coolAtFinish = new boolean[INITIAL_PROGRAMS];
+        private int[] stageStarts = new int[INITIAL_PROGRAMS + 1];
+        private int[] targetTemps = new int[INITIAL_STAGES];
+        private int[] stageTimes = new int[INITIAL_STAGES];
+        private byte[] heats = new byte[INITIAL_STAGES];
+        private int size;
+        private int stages;
+
+        private Builder() {}
+
+        public Builder add(BakingProgram program) {
+            requireNonNull(program);
+            if (size == initialTemps.length) {
+                int capacity = size * 2;
+                initialTemps = Arrays.copyOf(initialTemps, capacity);
+                coolAtFinish = Arrays.copyOf(coolAtFinish, capacity);
+                stageStarts = Arrays.copyOf(stageStarts, capacity + 1);
+            }
+            initialTemps[size] = program.getInitialTemp();
+            coolAtFinish[size] = program.isCoolAtFinish();
+            for (ProgramStage stage : program) {
+                addStage(stage);
+            }
+            size++;
+            stageStarts[size] = stages;
+            return this;
+        }
+
+        public ProgramBatch build() {
+            return new ProgramBatch(this);
+        }
+
+        private void addStage(ProgramStage stage) {
+            if (stages == targetTemps.length) {
+                int capacity = stages * 2;
+                targetTemps = Arrays.copyOf(targetTemps, capacity);
+                stageTimes = Arrays.copyOf(stageTimes, capacity);
+                heats = Arrays.copyOf(heats, capacity);
+            }
+            targetTemps[stages] = stage.getTargetTemp();
+            stageTimes[stages] = stage.getStageTime();
+            heats[stages] = (byte) stage.getHeat()
+                                        .ordinal();
+            stages++;
+        }
+    }
+}
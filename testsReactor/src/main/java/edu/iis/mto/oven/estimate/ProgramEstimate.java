@@ -0,0 +1,43 @@
+package edu.iis.mto.oven.estimate;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * Estimated run of one program; a view over one row of {@link BatchEstimates}.
+ */
+public class ProgramEstimate {
+
+    private final BatchEstimates estimates;
+    private final int program;
+
+    ProgramEstimate(BatchEstimates estimates, int program) {
+        this.estimates = estimates;
+        this.program = program;
+    }
+
+    public double getTotalMinutes() {
+        return estimates.getTotalMinutes(program);
+    }
+
+    public double getPreheatMinutes() {
+        return estimates.getPreheatMinutes(program);
+    }
+
+    public double getCoolingMinutes() {
+        return estimates.getCoolingMinutes(program);
+    }
+
+    public double getMinutes(HeatType heat) {
+        return estimates.getMinutes(program, heat);
+    }
+
+    public double getEnergyKilowattHours() {
+        return estimates.getEnergyKilowattHours(program);
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramEstimate [totalMinutes=" + getTotalMinutes() + ", preheatMinutes=" + getPreheatMinutes()
+               + ", coolingMinutes=" + getCoolingMinutes() + ", energyKilowattHours=" + getEnergyKilowattHours() + "]";
+    }
+}
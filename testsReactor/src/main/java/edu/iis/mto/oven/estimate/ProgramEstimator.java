@@ -0,0 +1,192 @@
+package edu.iis.mto.oven.estimate;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.sim.ThermalModel;
+
+/**
+ * Estimates run time and energy of programs under a {@link PowerModel}. Timing follows the simulator: preheat ramps
+ * from ambient to the initial temperature with the heater, a stage takes its stage time (or its ramp time when the
+ * stage time is zero), and cooling at finish runs the fan until the cavity reaches the cool-down temperature. Each
+ * heating mode draws its rated power for the whole stage; the fan adds its draw during thermo circulation and cooling.
+ * <p>
+ * Batches are split into ranges of programs evaluated in parallel on a {@link ForkJoinPool}.
+ */
+public class ProgramEstimator {
+
+    static final int DEFAULT_SPLIT_THRESHOLD = 2048;
+
+    private static final int HEATER = HeatType.HEATER.ordinal();
+    private static final int THERMO = HeatType.THERMO_CIRCULATION.ordinal();
+    private static final double MINUTES_PER_HOUR = 60;
+
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+    private final double ambientTemp;
+    private final double[] heatUpMinutesPerDegree;
+    private final double coolDownMinutesPerDegree;
+    private final double coolingCoefficient;
+    private final double coolDownTemp;
+    private final double[] heatingKilowatts;
+    private final double fanKilowatts;
+
+    private ProgramEstimator(Builder builder) {
+        if (builder.splitThreshold <= 0) {
+            throw new IllegalArgumentException("split threshold must be positive: " + builder.splitThreshold);
+        }
+        this.pool = builder.pool;
+        this.splitThreshold = builder.splitThreshold;
+        PowerModel power = builder.powerModel;
+        ThermalModel thermal = power.getThermalModel();
+        HeatType[] heats = HeatType.values();
+        this.ambientTemp = thermal.getAmbientTemp();
+        this.heatUpMinutesPerDegree = new double[heats.length];
+        this.heatingKilowatts = new double[heats.length];
+        for (HeatType heat : heats) {
+            double rate = thermal.getHeatingRate(heat);
+            if (heat == HeatType.THERMO_CIRCULATION) {
+                rate *= thermal.getFanBoost();
+            }
+            heatUpMinutesPerDegree[heat.ordinal()] = 1 / rate;
+            heatingKilowatts[heat.ordinal()] = power.getHeatingKilowatts(heat);
+        }
+        this.coolDownMinutesPerDegree = 1 / thermal.getCoolingRate();
+        this.coolingCoefficient = thermal.getIdleCoolingCoefficient() * thermal.getFanBoost();
+        this.coolDownTemp = power.getCoolDownTemp();
+        this.fanKilowatts = power.getFanKilowatts();
+    }
+
+    public ProgramEstimate estimate(BakingProgram program) {
+        return estimate(ProgramBatch.of(List.of(program))).get(0);
+    }
+
+    public BatchEstimates estimate(ProgramBatch batch) {
+        BatchEstimates estimates = new BatchEstimates(batch.size());
+        if (batch.size() <= splitThreshold) {
+            estimateRange(batch, estimates, 0, batch.size());
+        } else {
+            pool.invoke(new EstimateRange(batch, estimates, 0, batch.size()));
+        }
+        return estimates;
+    }
+
+    private void estimateRange(ProgramBatch batch, BatchEstimates estimates, int from, int to) {
+        for (int program = from; program < to; program++) {
+            estimateProgram(batch, estimates, program);
+        }
+    }
+
+    private void estimateProgram(ProgramBatch batch, BatchEstimates estimates, int program) {
+        double temp = ambientTemp;
+        double kilowattMinutes = 0;
+        double preheat = 0;
+        int initialTemp = batch.initialTemp(program);
+        if (initialTemp > 0) {
+            preheat = rampMinutes(temp, initialTemp, HEATER);
+            temp = initialTemp;
+            kilowattMinutes += preheat * heatingKilowatts[HEATER];
+        }
+        double stagesTotal = 0;
+        int heatRow = program * BatchEstimates.HEAT_TYPES;
+        for (int stage = batch.stageStart(program), end = batch.stageStart(program + 1); stage < end; stage++) {
+            int heat = batch.heat(stage);
+            int target = batch.targetTemp(stage);
+            int stageTime = batch.stageTime(stage);
+            double ramp = rampMinutes(temp, target, heat);
+            double minutes;
+            if (stageTime <= 0 || ramp <= stageTime) {
+                minutes = stageTime <= 0 ? ramp : stageTime;
+                temp = target;
+            } else {
+                minutes = stageTime;
+                temp += (target - temp) * stageTime / ramp;
+            }
+            estimates.heatMinutes[heatRow + heat] += minutes;
+            stagesTotal += minutes;
+            kilowattMinutes += minutes * (heatingKilowatts[heat] + (heat == THERMO ? fanKilowatts : 0));
+        }
+        double cooling = 0;
+        if (batch.coolAtFinish(program) && temp > coolDownTemp) {
+            cooling = Math.log((temp - ambientTemp) / (coolDownTemp - ambientTemp)) / coolingCoefficient;
+            kilowattMinutes += cooling * fanKilowatts;
+        }
+        estimates.preheatMinutes[program] = preheat;
+        estimates.coolingMinutes[program] = cooling;
+        estimates.totalMinutes[program] = preheat + stagesTotal + cooling;
+        estimates.energyKilowattHours[program] = kilowattMinutes / MINUTES_PER_HOUR;
+    }
+
+    private double rampMinutes(double from, double to, int heat) {
+        double delta = to - from;
+        return delta >= 0 ? delta * heatUpMinutesPerDegree[heat] : -delta * coolDownMinutesPerDegree;
+    }
+
+    private final class EstimateRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ProgramBatch batch;
+        private final BatchEstimates estimates;
+        private final int from;
+        private final int to;
+
+        private EstimateRange(ProgramBatch batch, BatchEstimates estimates, int from, int to) {
+            this.batch = batch;
+            this.estimates = estimates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= splitThreshold) {
+                estimateRange(batch, estimates, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EstimateRange(batch, estimates, from, middle), new EstimateRange(batch, estimates, middle, to));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private PowerModel powerModel = PowerModel.builder()
+                                                  .build();
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private int splitThreshold = DEFAULT_SPLIT_THRESHOLD;
+
+        private Builder() {}
+
+        public Builder withPowerModel(PowerModel powerModel) {
+            this.powerModel = requireNonNull(powerModel);
+            return this;
+        }
+
+        public Builder withPool(ForkJoinPool pool) {
+            this.pool = requireNonNull(pool);
+            return this;
+        }
+
+        /**
+         * Largest range of programs evaluated by one task without splitting further.
+         */
+        public Builder withSplitThreshold(int splitThreshold) {
+            this.splitThreshold = splitThreshold;
+            return this;
+        }
+
+        public ProgramEstimator build() {
+            return new ProgramEstimator(this);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package edu.iis.mto.oven.events;
+
+public class EventBufferOverflowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EventBufferOverflowException(int capacity) {
+        super("subscriber fell more than " + capacity + " events behind");
+    }
+
+}
@@ -0,0 +1,160 @@
+package edu.iis.mto.oven.events;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded per-subscriber buffer. The oven thread only ever appends under the subscription's lock; signals to the
+ * subscriber are serialized by a work-in-progress counter and run on the publisher's executor.
+ */
+final class EventSubscription implements Flow.Subscription, Runnable {
+
+    private final OvenEventPublisher publisher;
+    private final Flow.Subscriber<? super OvenEvent> subscriber;
+    private final Executor executor;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final ArrayDeque<OvenEvent> buffer;
+    private final AtomicInteger wip = new AtomicInteger();
+    private long demand;
+    private long dropped;
+    private boolean completing;
+    private Throwable error;
+    private boolean subscribed;
+    private boolean terminated;
+    private volatile boolean cancelled;
+
+    EventSubscription(OvenEventPublisher publisher, Flow.Subscriber<? super OvenEvent> subscriber, Executor executor,
+            OverflowPolicy policy, int capacity) {
+        this.publisher = publisher;
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.policy = policy;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(policy == OverflowPolicy.CONFLATE ? 1 : capacity);
+    }
+
+    void offer(OvenEvent event) {
+        synchronized (this) {
+            if (cancelled || completing || error != null) {
+                return;
+            }
+            if (policy == OverflowPolicy.CONFLATE) {
+                dropped += buffer.size();
+                buffer.clear();
+            } else if (buffer.size() == capacity) {
+                if (policy == OverflowPolicy.BUFFER) {
+                    error = new EventBufferOverflowException(capacity);
+                    buffer.clear();
+                } else {
+                    buffer.pollFirst();
+                    dropped++;
+                }
+            }
+            if (error == null) {
+                buffer.addLast(event);
+            }
+        }
+        signal();
+    }
+
+    void complete() {
+        synchronized (this) {
+            completing = true;
+        }
+        signal();
+    }
+
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    @Override
+    public void request(long n) {
+        synchronized (this) {
+            if (n <= 0) {
+                if (error == null) {
+                    error = new IllegalArgumentException("non-positive request: " + n);
+                    buffer.clear();
+                }
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+        }
+        signal();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        publisher.remove(this);
+        synchronized (this) {
+            buffer.clear();
+        }
+    }
+
+    void signal() {
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancel();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        do {
+            drain();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drain() {
+        if (!subscribed) {
+            subscribed = true;
+            subscriber.onSubscribe(this);
+        }
+        while (!terminated && !cancelled) {
+            OvenEvent next = null;
+            Throwable failure = null;
+            boolean done = false;
+            synchronized (this) {
+                if (error != null) {
+                    failure = error;
+                } else if (demand > 0 && !buffer.isEmpty()) {
+                    next = buffer.pollFirst();
+                    demand--;
+                } else if (completing && buffer.isEmpty()) {
+                    done = true;
+                } else {
+                    return;
+                }
+            }
+            if (next != null) {
+                deliver(next);
+            } else {
+                terminated = true;
+                publisher.remove(this);
+                if (done) {
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onError(failure);
+                }
+            }
+        }
+    }
+
+    private void deliver(OvenEvent event) {
+        try {
+            subscriber.onNext(event);
+        } catch (RuntimeException e) {
+            cancel();
+        }
+    }
+}
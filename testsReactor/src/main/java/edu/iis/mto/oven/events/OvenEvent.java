@@ -0,0 +1,78 @@
+package edu.iis.mto.oven.events;
+
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.OvenException;
+
+/**
+ * One step of a program's life cycle. Sequence numbers are assigned by the publisher without gaps, so a subscriber can
+ * tell how many events its overflow policy dropped. Stage index, heat and settings are only set where they apply;
+ * nanos is the measured duration of finished and completed steps.
+ */
+public final class OvenEvent {
+
+    public enum Type {
+        PROGRAM_STARTED,
+        PREHEAT_STARTED,
+        PREHEAT_FINISHED,
+        PREHEAT_FAILED,
+        STAGE_STARTED,
+        STAGE_FINISHED,
+        STAGE_FAILED,
+        FAN_ON,
+        FAN_OFF,
+        COOLING_STARTED,
+        PROGRAM_COMPLETED,
+        PROGRAM_FAILED
+    }
+
+    private final Type type;
+    private final long sequence;
+    private final int stageIndex;
+    private final HeatType heat;
+    private final HeatingSettings settings;
+    private final long nanos;
+
+    OvenEvent(Type type, long sequence, int stageIndex, HeatType heat, HeatingSettings settings, long nanos) {
+        this.type = type;
+        this.sequence = sequence;
+        this.stageIndex = stageIndex;
+        this.heat = heat;
+        this.settings = settings;
+        this.nanos = nanos;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Index of the stage, {@link OvenException#NO_STAGE} for events outside of stages.
+     */
+    public int getStageIndex() {
+        return stageIndex;
+    }
+
+    public HeatType getHeat() {
+        return heat;
+    }
+
+    public HeatingSettings getSettings() {
+        return settings;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "OvenEvent [type=" + type + ", sequence=" + sequence + ", stageIndex=" + stageIndex + ", heat=" + heat
+               + ", settings=" + settings + ", nanos=" + nanos + "]";
+    }
+
+}
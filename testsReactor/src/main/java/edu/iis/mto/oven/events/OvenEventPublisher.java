@@ -0,0 +1,193 @@
+package edu.iis.mto.oven.events;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenMetrics;
+
+/**
+ * Publishes the life cycle of programs run by an {@link Oven} it is passed to as {@link OvenMetrics}. Every subscriber
+ * gets its own bounded buffer; the oven thread only appends to it and never waits for a subscriber, which receives
+ * its signals on the executor in request order. When the buffer is full the {@link OverflowPolicy} decides what to
+ * give up.
+ * <p>
+ * The publisher is always enabled, so an oven reporting to it reads the clock and makes the callbacks for every
+ * stage and fan switch even while nobody is subscribed; only building and buffering the events is skipped then. Pass
+ * it only to ovens whose events are wanted, and combine it with other metrics through {@link OvenMetrics#of}.
+ */
+public class OvenEventPublisher implements Flow.Publisher<OvenEvent>, OvenMetrics, AutoCloseable {
+
+    private final Executor executor;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final CopyOnWriteArrayList<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean closed;
+
+    private OvenEventPublisher(Builder builder) {
+        this.executor = builder.executor;
+        this.policy = builder.policy;
+        this.capacity = builder.capacity;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super OvenEvent> subscriber) {
+        EventSubscription subscription = new EventSubscription(this, requireNonNull(subscriber), executor, policy,
+                capacity);
+        subscriptions.add(subscription);
+        if (closed) {
+            subscriptions.remove(subscription);
+            subscription.complete();
+        } else {
+            subscription.signal();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Events dropped or conflated away for all current subscribers.
+     */
+    public long getDroppedEvents() {
+        long dropped = 0;
+        for (EventSubscription subscription : subscriptions) {
+            dropped += subscription.getDropped();
+        }
+        return dropped;
+    }
+
+    /**
+     * Completes every subscriber once it has consumed what is already buffered; later events are ignored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (EventSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void programStarted() {
+        publish(OvenEvent.Type.PROGRAM_STARTED, OvenException.NO_STAGE, null, null, 0);
+    }
+
+    @Override
+    public void programCompleted(long nanos) {
+        publish(OvenEvent.Type.PROGRAM_COMPLETED, OvenException.NO_STAGE, null, null, nanos);
+    }
+
+    @Override
+    public void programFailed(long nanos) {
+        publish(OvenEvent.Type.PROGRAM_FAILED, OvenException.NO_STAGE, null, null, nanos);
+    }
+
+    @Override
+    public void preheatStarted(HeatingSettings settings) {
+        publish(OvenEvent.Type.PREHEAT_STARTED, OvenException.NO_STAGE, HeatType.HEATER, settings, 0);
+    }
+
+    @Override
+    public void preheatCompleted(long nanos) {
+        publish(OvenEvent.Type.PREHEAT_FINISHED, OvenException.NO_STAGE, HeatType.HEATER, null, nanos);
+    }
+
+    @Override
+    public void preheatFailed() {
+        publish(OvenEvent.Type.PREHEAT_FAILED, OvenException.NO_STAGE, HeatType.HEATER, null, 0);
+    }
+
+    @Override
+    public void stageStarted(int stage, HeatType heat, HeatingSettings settings) {
+        publish(OvenEvent.Type.STAGE_STARTED, stage, heat, settings, 0);
+    }
+
+    @Override
+    public void stageCompleted(int stage, HeatType heat, HeatingSettings settings, long nanos) {
+        publish(OvenEvent.Type.STAGE_FINISHED, stage, heat, settings, nanos);
+    }
+
+    @Override
+    public void stageFailed(HeatType heat) {
+        publish(OvenEvent.Type.STAGE_FAILED, OvenException.NO_STAGE, heat, null, 0);
+    }
+
+    @Override
+    public void stageFailed(int stage, HeatType heat, HeatingSettings settings) {
+        publish(OvenEvent.Type.STAGE_FAILED, stage, heat, settings, 0);
+    }
+
+    @Override
+    public void fanSwitched(boolean on) {
+        publish(on ? OvenEvent.Type.FAN_ON : OvenEvent.Type.FAN_OFF, OvenException.NO_STAGE, null, null, 0);
+    }
+
+    @Override
+    public void coolingStarted() {
+        publish(OvenEvent.Type.COOLING_STARTED, OvenException.NO_STAGE, null, null, 0);
+    }
+
+    void remove(EventSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    private void publish(OvenEvent.Type type, int stage, HeatType heat, HeatingSettings settings, long nanos) {
+        if (closed || subscriptions.isEmpty()) {
+            return;
+        }
+        OvenEvent event = new OvenEvent(type, sequence.getAndIncrement(), stage, heat, settings, nanos);
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+        private OverflowPolicy policy = OverflowPolicy.DROP_OLDEST;
+        private int capacity = 256;
+
+        private Builder() {}
+
+        /**
+         * Executor delivering signals to subscribers, the common pool by default. A direct executor makes delivery
+         * synchronous, which lets a slow subscriber slow down the oven.
+         */
+        public Builder withExecutor(Executor executor) {
+            this.executor = requireNonNull(executor);
+            return this;
+        }
+
+        public Builder withOverflowPolicy(OverflowPolicy policy) {
+            this.policy = requireNonNull(policy);
+            return this;
+        }
+
+        public Builder withBufferCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        public OvenEventPublisher build() {
+            return new OvenEventPublisher(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package edu.iis.mto.oven.events;
+
+/**
+ * What a subscription does with a new event while its buffer is full. None of the policies ever blocks the oven.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Evicts the oldest buffered event to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Keeps only the newest event pending, so a slow subscriber always catches up with the latest oven state.
+     */
+    CONFLATE,
+
+    /**
+     * Buffers up to the capacity and terminates the subscription with {@link EventBufferOverflowException} once an
+     * event does not fit.
+     */
+    BUFFER
+}
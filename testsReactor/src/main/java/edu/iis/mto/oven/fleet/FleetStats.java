@@ -0,0 +1,59 @@
+package edu.iis.mto.oven.fleet;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+public class FleetStats {
+
+    private final long completedPrograms;
+    private final long failedPrograms;
+    private final long elapsedNanos;
+    private final int[] queueDepths;
+
+    FleetStats(long completedPrograms, long failedPrograms, long elapsedNanos, int[] queueDepths) {
+        this.completedPrograms = completedPrograms;
+        this.failedPrograms = failedPrograms;
+        this.elapsedNanos = elapsedNanos;
+        this.queueDepths = queueDepths;
+    }
+
+    public long getCompletedPrograms() {
+        return completedPrograms;
+    }
+
+    public long getFailedPrograms() {
+        return failedPrograms;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getProgramsPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return (completedPrograms + failedPrograms) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public int getQueueDepth(int ovenId) {
+        return queueDepths[ovenId];
+    }
+
+    public int getTotalQueueDepth() {
+        return Arrays.stream(queueDepths)
+                     .sum();
+    }
+
+    public int getMaxQueueDepth() {
+        return Arrays.stream(queueDepths)
+                     .max()
+                     .orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return "FleetStats [completedPrograms=" + completedPrograms + ", failedPrograms=" + failedPrograms
+               + ", programsPerSecond=" + getProgramsPerSecond() + ", queueDepths=" + Arrays.toString(queueDepths) + "]";
+    }
+}
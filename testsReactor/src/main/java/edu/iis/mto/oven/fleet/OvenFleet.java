@@ -0,0 +1,148 @@
+package edu.iis.mto.oven.fleet;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+
+/**
+ * Drives a bank of ovens from one process. Every oven owns a bounded FIFO queue drained by a single worker thread, so
+ * programs submitted to the same oven run one at a time in submission order, exactly like sequential
+ * {@link Oven#runProgram(BakingProgram)} calls. Worker threads come from a pluggable {@link ThreadFactory}; on a JDK
+ * with virtual threads pass {@code Thread.ofVirtual().factory()}.
+ */
+public class OvenFleet implements AutoCloseable {
+
+    static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final List<OvenWorker> workers;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final long startNanos;
+    private volatile boolean closed;
+
+    private OvenFleet(Builder builder) {
+        if (builder.ovens.isEmpty()) {
+            throw new IllegalArgumentException("fleet needs at least one oven");
+        }
+        if (builder.queueCapacity <= 0) {
+            throw new IllegalArgumentException("queue capacity must be positive: " + builder.queueCapacity);
+        }
+        List<OvenWorker> created = new ArrayList<>(builder.ovens.size());
+        for (int id = 0; id < builder.ovens.size(); id++) {
+            created.add(new OvenWorker(id, builder.ovens.get(id), builder.queueCapacity, completed, failed));
+        }
+        this.workers = Collections.unmodifiableList(created);
+        this.startNanos = System.nanoTime();
+        for (OvenWorker worker : workers) {
+            worker.start(builder.threadFactory);
+        }
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    /**
+     * Queues the program on the given oven, waiting for space when the oven queue is full.
+     */
+    public CompletableFuture<Void> submit(int ovenId, BakingProgram program) throws InterruptedException {
+        checkOpen();
+        return worker(ovenId).submit(requireNonNull(program));
+    }
+
+    /**
+     * Queues the program on the given oven, or returns empty when the oven queue is full.
+     */
+    public Optional<CompletableFuture<Void>> trySubmit(int ovenId, BakingProgram program) {
+        checkOpen();
+        return worker(ovenId).trySubmit(requireNonNull(program));
+    }
+
+    public FleetStats stats() {
+        int[] queueDepths = new int[workers.size()];
+        for (int id = 0; id < queueDepths.length; id++) {
+            queueDepths[id] = workers.get(id)
+                                     .queueDepth();
+        }
+        return new FleetStats(completed.sum(), failed.sum(), System.nanoTime() - startNanos, queueDepths);
+    }
+
+    /**
+     * Stops accepting programs, lets every oven finish what is already queued and waits for the workers to exit.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            for (OvenWorker worker : workers) {
+                worker.stop();
+            }
+            for (OvenWorker worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("fleet is closed");
+        }
+    }
+
+    private OvenWorker worker(int ovenId) {
+        if (ovenId < 0 || ovenId >= workers.size()) {
+            throw new IllegalArgumentException("no oven with id " + ovenId);
+        }
+        return workers.get(ovenId);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final List<Oven> ovens = new ArrayList<>();
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder() {}
+
+        public Builder withOven(HeatingModule heatingModule, Fan fan) {
+            ovens.add(new Oven(requireNonNull(heatingModule), requireNonNull(fan)));
+            return this;
+        }
+
+        public Builder withQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder withThreadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = requireNonNull(threadFactory);
+            return this;
+        }
+
+        public OvenFleet build() {
+            return new OvenFleet(this);
+        }
+    }
+}
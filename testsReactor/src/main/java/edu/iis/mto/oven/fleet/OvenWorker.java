@@ -0,0 +1,127 @@
+package edu.iis.mto.oven.fleet;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Oven;
+
+class OvenWorker implements Runnable {
+
+    private static final Submission POISON = new Submission(null);
+
+    private final int id;
+    private final Oven oven;
+    private final BlockingQueue<Submission> queue;
+    private final LongAdder completed;
+    private final LongAdder failed;
+    private volatile boolean stopped;
+    private Thread thread;
+
+    OvenWorker(int id, Oven oven, int queueCapacity, LongAdder completed, LongAdder failed) {
+        this.id = id;
+        this.oven = oven;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.completed = completed;
+        this.failed = failed;
+    }
+
+    void start(ThreadFactory threadFactory) {
+        thread = threadFactory.newThread(this);
+        thread.setName("oven-" + id);
+        thread.start();
+    }
+
+    CompletableFuture<Void> submit(BakingProgram program) throws InterruptedException {
+        Submission submission = new Submission(program);
+        queue.put(submission);
+        return accepted(submission);
+    }
+
+    Optional<CompletableFuture<Void>> trySubmit(BakingProgram program) {
+        Submission submission = new Submission(program);
+        if (!queue.offer(submission)) {
+            return Optional.empty();
+        }
+        return Optional.of(accepted(submission));
+    }
+
+    /**
+     * A submission enqueued while the worker stops may land behind the poison and never be taken. Whoever removes it
+     * from the queue owns it: either the worker runs or rejects it, or the submitter takes it back here.
+     */
+    private CompletableFuture<Void> accepted(Submission submission) {
+        if (stopped && queue.remove(submission)) {
+            throw new IllegalStateException("fleet is closed");
+        }
+        return submission.result;
+    }
+
+    int queueDepth() {
+        int depth = queue.size();
+        return queue.contains(POISON) ? depth - 1 : depth;
+    }
+
+    void stop() throws InterruptedException {
+        stopped = true;
+        queue.put(POISON);
+    }
+
+    void join() throws InterruptedException {
+        thread.join();
+    }
+
+    @Override
+    public void run() {
+        try {
+            Submission submission;
+            while ((submission = queue.take()) != POISON) {
+                execute(submission);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        } finally {
+            stopped = true;
+            rejectRemaining();
+        }
+    }
+
+    private void execute(Submission submission) {
+        try {
+            oven.runProgram(submission.program);
+            completed.increment();
+            submission.result.complete(null);
+        } catch (Throwable e) {
+            failed.increment();
+            submission.result.completeExceptionally(e);
+            if (e instanceof VirtualMachineError) {
+                throw (VirtualMachineError) e;
+            }
+        }
+    }
+
+    private void rejectRemaining() {
+        Submission submission;
+        while ((submission = queue.poll()) != null) {
+            if (submission != POISON) {
+                submission.result.completeExceptionally(new RejectedExecutionException("oven " + id + " stopped"));
+            }
+        }
+    }
+
+    private static final class Submission {
+
+        private final BakingProgram program;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Submission(BakingProgram program) {
+            this.program = program;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package edu.iis.mto.oven.ingest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses a single-line JSON object whose values are strings, numbers, booleans or null. Values are returned as their
+ * textual form and a {@code null} value leaves its key out, as if the field were absent; nested objects and arrays are
+ * rejected.
+ */
+class FlatJsonParser {
+
+    private final String text;
+    private int position;
+
+    FlatJsonParser(String text) {
+        this.text = text;
+    }
+
+    Map<String, String> parse() {
+        Map<String, String> values = new HashMap<>();
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+        } else {
+            do {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                String value = value();
+                if (value == null) {
+                    values.remove(key);
+                } else {
+                    values.put(key, value);
+                }
+                skipWhitespace();
+            } while (consume(','));
+            expect('}');
+        }
+        skipWhitespace();
+        if (position != text.length()) {
+            throw error("trailing characters");
+        }
+        return values;
+    }
+
+    /**
+     * Returns the value at the current position, or {@code null} for the JSON {@code null} literal.
+     */
+    private String value() {
+        char next = peek();
+        if (next == '"') {
+            return string();
+        }
+        if (next == '{' || next == '[') {
+            throw error("nested values are not supported");
+        }
+        int start = position;
+        while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        if (start == position) {
+            throw error("missing value");
+        }
+        String literal = text.substring(start, position);
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position >= text.length()) {
+                throw error("unterminated string");
+            }
+            char next = text.charAt(position++);
+            if (next == '"') {
+                return value.toString();
+            }
+            if (next == '\\') {
+                value.append(escape());
+            } else {
+                value.append(next);
+            }
+        }
+    }
+
+    private char escape() {
+        if (position >= text.length()) {
+            throw error("unterminated escape");
+        }
+        char escaped = text.charAt(position++);
+        switch (escaped) {
+            case '"':
+            case '\\':
+            case '/':
+                return escaped;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return unicodeEscape();
+            default:
+                position--;
+                throw error("invalid escape '\\" + escaped + "'");
+        }
+    }
+
+    private char unicodeEscape() {
+        if (position + 4 > text.length()) {
+            throw error("unterminated unicode escape");
+        }
+        int code = 0;
+        for (int end = position + 4; position < end; position++) {
+            int digit = Character.digit(text.charAt(position), 16);
+            if (digit < 0) {
+                throw error("invalid unicode escape");
+            }
+            code = code << 4 | digit;
+        }
+        return (char) code;
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("unexpected end of line");
+        }
+        return text.charAt(position);
+    }
+
+    private boolean consume(char expected) {
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at column " + (position + 1));
+    }
+}
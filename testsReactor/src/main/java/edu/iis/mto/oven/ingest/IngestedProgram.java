@@ -0,0 +1,33 @@
+package edu.iis.mto.oven.ingest;
+
+import edu.iis.mto.oven.BakingProgram;
+
+public class IngestedProgram {
+
+    private final String programId;
+    private final BakingProgram program;
+    private final long firstLine;
+
+    IngestedProgram(String programId, BakingProgram program, long firstLine) {
+        this.programId = programId;
+        this.program = program;
+        this.firstLine = firstLine;
+    }
+
+    public String getProgramId() {
+        return programId;
+    }
+
+    public BakingProgram getProgram() {
+        return program;
+    }
+
+    public long getFirstLine() {
+        return firstLine;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestedProgram [programId=" + programId + ", firstLine=" + firstLine + "]";
+    }
+}
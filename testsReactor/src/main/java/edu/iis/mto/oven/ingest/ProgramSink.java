@@ -0,0 +1,9 @@
+package edu.iis.mto.oven.ingest;
+
+/**
+ * Receives programs as {@link RecipeReader} completes them, e.g. {@code queue::put} or a fleet submission.
+ */
+public interface ProgramSink {
+
+    void accept(IngestedProgram program) throws InterruptedException;
+}
@@ -0,0 +1,108 @@
+package edu.iis.mto.oven.ingest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * Line formats accepted by {@link RecipeReader}. Every line describes one stage together with the program it belongs
+ * to; consecutive lines with the same program id form one program.
+ */
+public enum RecipeFormat {
+
+    /**
+     * {@code programId,initialTemp,coolAtFinish,heat,targetTemp,stageTime}, an optional header line starting with
+     * {@code programId} is skipped.
+     */
+    CSV {
+
+        @Override
+        StageRecord parse(String line) {
+            String[] fields = line.split(",", -1);
+            if (fields.length != FIELDS.length) {
+                throw new IllegalArgumentException("expected " + FIELDS.length + " fields but got " + fields.length);
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < FIELDS.length; i++) {
+                values.put(FIELDS[i], fields[i].trim());
+            }
+            return toRecord(values);
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return line.startsWith(PROGRAM_ID);
+        }
+    },
+
+    /**
+     * One flat JSON object per line with the same keys as the CSV columns.
+     */
+    JSON_LINES {
+
+        @Override
+        StageRecord parse(String line) {
+            return toRecord(new FlatJsonParser(line).parse());
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+    };
+
+    private static final String PROGRAM_ID = "programId";
+    private static final String[] FIELDS = {PROGRAM_ID, "initialTemp", "coolAtFinish", "heat", "targetTemp",
+            "stageTime"};
+
+    abstract StageRecord parse(String line);
+
+    abstract boolean isHeader(String line);
+
+    private static StageRecord toRecord(Map<String, String> values) {
+        String programId = required(values, PROGRAM_ID);
+        if (programId.isEmpty()) {
+            throw new IllegalArgumentException("empty programId");
+        }
+        return new StageRecord(programId, integer(values, "initialTemp"), bool(values, "coolAtFinish"),
+                heat(values), integer(values, "targetTemp"), integer(values, "stageTime"));
+    }
+
+    private static String required(Map<String, String> values, String field) {
+        String value = values.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        return value;
+    }
+
+    private static int integer(Map<String, String> values, String field) {
+        String value = required(values, field);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not an integer: " + value);
+        }
+    }
+
+    private static boolean bool(Map<String, String> values, String field) {
+        String value = required(values, field);
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException(field + " is not a boolean: " + value);
+    }
+
+    private static HeatType heat(Map<String, String> values) {
+        String value = required(values, "heat");
+        try {
+            return HeatType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown heat type " + value);
+        }
+    }
+}
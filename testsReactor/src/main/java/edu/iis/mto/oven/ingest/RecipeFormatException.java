@@ -0,0 +1,18 @@
+package edu.iis.mto.oven.ingest;
+
+public class RecipeFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long lineNumber;
+
+    public RecipeFormatException(long lineNumber, String message) {
+        super("line " + lineNumber + ": " + message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+}
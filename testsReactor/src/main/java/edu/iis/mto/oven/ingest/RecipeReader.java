@@ -0,0 +1,180 @@
+package edu.iis.mto.oven.ingest;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Streams {@link BakingProgram}s out of a line-oriented recipe dump. Only the stages of the program currently being
+ * read are kept in memory, so the size of the dump does not matter.
+ */
+public class RecipeReader implements Closeable {
+
+    static final int DEFAULT_MIN_TEMP = 0;
+    static final int DEFAULT_MAX_TEMP = 500;
+
+    private final BufferedReader source;
+    private final RecipeFormat format;
+    private final int minTemp;
+    private final int maxTemp;
+    private final List<ProgramStage> stages = new ArrayList<>();
+    private long lineNumber;
+    private boolean recordSeen;
+    private StageRecord pending;
+    private long pendingLine;
+
+    private RecipeReader(Builder builder) {
+        this.source = builder.source instanceof BufferedReader ? (BufferedReader) builder.source
+                : new BufferedReader(builder.source);
+        this.format = builder.format;
+        this.minTemp = builder.minTemp;
+        this.maxTemp = builder.maxTemp;
+    }
+
+    /**
+     * Reads the next complete program, or returns {@code null} at the end of input.
+     */
+    public IngestedProgram next() throws IOException {
+        StageRecord first = pending != null ? pending : readRecord();
+        if (first == null) {
+            return null;
+        }
+        long firstLine = pending != null ? pendingLine : lineNumber;
+        pending = null;
+        stages.clear();
+        stages.add(stage(first));
+
+        StageRecord record;
+        while ((record = readRecord()) != null) {
+            if (!record.programId.equals(first.programId)) {
+                pending = record;
+                pendingLine = lineNumber;
+                break;
+            }
+            if (!record.sameProgramSettings(first)) {
+                throw new RecipeFormatException(lineNumber,
+                        "program " + first.programId + " changes initialTemp or coolAtFinish between stages");
+            }
+            stages.add(stage(record));
+        }
+        BakingProgram program = BakingProgram.builder()
+                                             .withInitialTemp(first.initialTemp)
+                                             .withStages(List.copyOf(stages))
+                                             .withCoolAtFinish(first.coolAtFinish)
+                                             .build();
+        return new IngestedProgram(first.programId, program, firstLine);
+    }
+
+    /**
+     * Hands every remaining program to the sink as soon as it is complete and returns how many were read.
+     */
+    public long drainTo(ProgramSink sink) throws IOException, InterruptedException {
+        long count = 0;
+        IngestedProgram program;
+        while ((program = next()) != null) {
+            sink.accept(program);
+            count++;
+        }
+        return count;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private StageRecord readRecord() throws IOException {
+        String line;
+        while ((line = source.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || !recordSeen && format.isHeader(trimmed)) {
+                continue;
+            }
+            StageRecord record;
+            try {
+                record = format.parse(trimmed);
+            } catch (IllegalArgumentException e) {
+                throw new RecipeFormatException(lineNumber, e.getMessage());
+            }
+            validate(record);
+            recordSeen = true;
+            return record;
+        }
+        return null;
+    }
+
+    private void validate(StageRecord record) {
+        checkTemp("initialTemp", record.initialTemp);
+        checkTemp("targetTemp", record.targetTemp);
+        if (record.stageTime < 0) {
+            throw new RecipeFormatException(lineNumber, "negative stageTime " + record.stageTime);
+        }
+    }
+
+    private void checkTemp(String field, int temp) {
+        if (temp < minTemp || temp > maxTemp) {
+            throw new RecipeFormatException(lineNumber,
+                    field + " " + temp + " outside allowed range [" + minTemp + ", " + maxTemp + "]");
+        }
+    }
+
+    private static ProgramStage stage(StageRecord record) {
+        return ProgramStage.builder()
+                           .withHeat(record.heat)
+                           .withTargetTemp(record.targetTemp)
+                           .withStageTime(record.stageTime)
+                           .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private Reader source;
+        private RecipeFormat format = RecipeFormat.CSV;
+        private int minTemp = DEFAULT_MIN_TEMP;
+        private int maxTemp = DEFAULT_MAX_TEMP;
+
+        private Builder() {}
+
+        public Builder withSource(Reader source) {
+            this.source = source;
+            return this;
+        }
+
+        public Builder withFormat(RecipeFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        public Builder withTempRange(int minTemp, int maxTemp) {
+            this.minTemp = minTemp;
+            this.maxTemp = maxTemp;
+            return this;
+        }
+
+        public RecipeReader build() {
+            requireNonNull(source);
+            requireNonNull(format);
+            if (minTemp > maxTemp) {
+                throw new IllegalArgumentException("empty temperature range [" + minTemp + ", " + maxTemp + "]");
+            }
+            return new RecipeReader(this);
+        }
+    }
+}
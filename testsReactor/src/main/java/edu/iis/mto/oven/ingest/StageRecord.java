@@ -0,0 +1,26 @@
+package edu.iis.mto.oven.ingest;
+
+import edu.iis.mto.oven.HeatType;
+
+class StageRecord {
+
+    final String programId;
+    final int initialTemp;
+    final boolean coolAtFinish;
+    final HeatType heat;
+    final int targetTemp;
+    final int stageTime;
+
+    StageRecord(String programId, int initialTemp, boolean coolAtFinish, HeatType heat, int targetTemp, int stageTime) {
+        this.programId = programId;
+        this.initialTemp = initialTemp;
+        this.coolAtFinish = coolAtFinish;
+        this.heat = heat;
+        this.targetTemp = targetTemp;
+        this.stageTime = stageTime;
+    }
+
+    boolean sameProgramSettings(StageRecord other) {
+        return initialTemp == other.initialTemp && coolAtFinish == other.coolAtFinish;
+    }
+}
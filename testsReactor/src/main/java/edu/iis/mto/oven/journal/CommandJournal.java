@@ -0,0 +1,249 @@
+package edu.iis.mto.oven.journal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+
+/**
+ * Append-only binary log of every device command, written straight into memory-mapped segment files of fixed-size
+ * records; see {@link JournalFormat} for the layout. Appending does not allocate. A full segment is forced to disk and
+ * the next one is created. Opening an existing directory scans the last segment for the first torn or missing record
+ * and continues from there, wiping whatever was left behind it; a last segment left without a header by a crash during
+ * roll-over is deleted first.
+ * <p>
+ * Commands are captured by wrapping devices with {@link #heatingModule(HeatingModule, int)} and
+ * {@link #fan(Fan, int)}. One journal may serve several ovens and threads; appends are serialized.
+ */
+public class CommandJournal implements AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final LongSupplier clock;
+
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int capacity;
+    private int position;
+    private long nextSequence;
+    private final long recoveredRecords;
+    private boolean closed;
+
+    private CommandJournal(Builder builder) throws IOException {
+        this.directory = requireNonNull(builder.directory, "directory");
+        if (builder.segmentRecords <= 0) {
+            throw new IllegalArgumentException("segment records must be positive: " + builder.segmentRecords);
+        }
+        this.segmentRecords = builder.segmentRecords;
+        this.clock = builder.clock;
+        Files.createDirectories(directory);
+        List<Path> segments = JournalFormat.segments(directory);
+        int last = segments.size() - 1;
+        while (last >= 0 && isBlank(segments.get(last))) {
+            Files.delete(segments.get(last--));
+        }
+        if (last < 0) {
+            this.recoveredRecords = 0;
+            createSegment(0, 1);
+        } else {
+            this.recoveredRecords = recover(segments.get(last), last);
+        }
+    }
+
+    public HeatingModule heatingModule(HeatingModule delegate, int ovenId) {
+        return new JournalingHeatingModule(this, requireNonNull(delegate), checkOvenId(ovenId));
+    }
+
+    public Fan fan(Fan delegate, int ovenId) {
+        return new JournalingFan(this, requireNonNull(delegate), checkOvenId(ovenId));
+    }
+
+    /**
+     * Sequence number the next command will get; sequences start at 1 and never repeat within a directory.
+     */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Intact records found in the last segment when the journal was opened.
+     */
+    public long recoveredRecords() {
+        return recoveredRecords;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Forces the records appended so far to the storage device.
+     */
+    public synchronized void flush() {
+        segment.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            segment.force();
+            closed = true;
+        }
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    void append(int ovenId, JournalCommand command, HeatingSettings settings, long timestamp, boolean failed) {
+        append(ovenId, command, settings.getTargetTemp(), settings.getTimeInMinutes(), timestamp, failed);
+    }
+
+    synchronized void append(int ovenId, JournalCommand command, int targetTemp, int timeInMinutes, long timestamp,
+            boolean failed) {
+        if (closed) {
+            throw new IllegalStateException("journal is closed");
+        }
+        if (position == capacity) {
+            roll();
+        }
+        int offset = JournalFormat.HEADER_BYTES + position * JournalFormat.RECORD_BYTES;
+        long sequence = nextSequence;
+        segment.putLong(offset + JournalFormat.SEQUENCE, sequence)
+               .putLong(offset + JournalFormat.TIMESTAMP, timestamp)
+               .putShort(offset + JournalFormat.OVEN_ID, (short) ovenId)
+               .put(offset + JournalFormat.COMMAND, command.code())
+               .put(offset + JournalFormat.FAILED, (byte) (failed ? 1 : 0))
+               .putInt(offset + JournalFormat.TARGET_TEMP, targetTemp)
+               .putInt(offset + JournalFormat.TIME_IN_MINUTES, timeInMinutes)
+               .putInt(offset + JournalFormat.CHECKSUM, JournalFormat.checksum(sequence, timestamp, ovenId,
+                       command.code(), failed, targetTemp, timeInMinutes));
+        position++;
+        nextSequence++;
+    }
+
+    private void roll() {
+        segment.force();
+        try {
+            createSegment(segmentIndex + 1, nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot roll journal segment in " + directory, e);
+        }
+    }
+
+    private void createSegment(long index, long firstSequence) throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentName(index));
+        segment = map(file, StandardOpenOption.CREATE_NEW, segmentRecords);
+        JournalFormat.writeHeader(segment, firstSequence, segmentRecords);
+        segmentIndex = index;
+        capacity = segmentRecords;
+        position = 0;
+        nextSequence = firstSequence;
+    }
+
+    private long recover(Path file, long index) throws IOException {
+        long size = Files.size(file);
+        int existingRecords = (int) ((size - JournalFormat.HEADER_BYTES) / JournalFormat.RECORD_BYTES);
+        segment = map(file, StandardOpenOption.READ, Math.max(existingRecords, 0));
+        long firstSequence = JournalFormat.firstSequence(segment, file);
+        capacity = JournalFormat.capacity(segment, file);
+        int intact = JournalFormat.intactRecords(segment, firstSequence, capacity);
+        for (int offset = JournalFormat.HEADER_BYTES + intact * JournalFormat.RECORD_BYTES; offset < segment.limit();
+                offset += Long.BYTES) {
+            segment.putLong(offset, 0L);
+        }
+        segment.force();
+        segmentIndex = index;
+        position = intact;
+        nextSequence = firstSequence + intact;
+        return intact;
+    }
+
+    /**
+     * A blank last segment is dropped; when the segment before it is full the next append rolls over and creates it
+     * again, starting at the sequence that segment ended with.
+     */
+    private static boolean isBlank(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JournalFormat.HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+        }
+        return JournalFormat.isBlank(header.flip());
+    }
+
+    private static MappedByteBuffer map(Path file, StandardOpenOption mode, int records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, mode, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    JournalFormat.HEADER_BYTES + (long) records * JournalFormat.RECORD_BYTES);
+        }
+    }
+
+    private static int checkOvenId(int ovenId) {
+        if (ovenId < 0 || ovenId > 0xFFFF) {
+            throw new IllegalArgumentException("oven id must fit in 16 bits: " + ovenId);
+        }
+        return ovenId;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private Path directory;
+        private int segmentRecords = DEFAULT_SEGMENT_RECORDS;
+        private LongSupplier clock = epochNanoClock();
+
+        private Builder() {}
+
+        public Builder withDirectory(Path directory) {
+            this.directory = requireNonNull(directory);
+            return this;
+        }
+
+        /**
+         * Records per segment file; applies to segments created from now on.
+         */
+        public Builder withSegmentRecords(int segmentRecords) {
+            this.segmentRecords = segmentRecords;
+            return this;
+        }
+
+        /**
+         * Source of record timestamps in nanoseconds; defaults to wall-clock time since the epoch.
+         */
+        public Builder withClock(LongSupplier clock) {
+            this.clock = requireNonNull(clock);
+            return this;
+        }
+
+        public CommandJournal build() throws IOException {
+            return new CommandJournal(this);
+        }
+
+        private static LongSupplier epochNanoClock() {
+            long originNanos = System.currentTimeMillis() * 1_000_000L;
+            long originTicks = System.nanoTime();
+            return () -> originNanos + System.nanoTime() - originTicks;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.iis.mto.oven.journal;
+
+/**
+ * Device command kinds recorded in the journal. Codes are part of the file format and must never change.
+ */
+public enum JournalCommand {
+
+    HEATER(1),
+    GRILL(2),
+    TERMAL_CIRCUIT(3),
+    FAN_ON(4),
+    FAN_OFF(5);
+
+    private static final JournalCommand[] BY_CODE = new JournalCommand[6];
+
+    static {
+        for (JournalCommand command : values()) {
+            BY_CODE[command.code] = command;
+        }
+    }
+
+    private final byte code;
+
+    JournalCommand(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static JournalCommand fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    public boolean isFanCommand() {
+        return this == FAN_ON || this == FAN_OFF;
+    }
+}
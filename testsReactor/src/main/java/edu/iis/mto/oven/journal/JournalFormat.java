@@ -0,0 +1,143 @@
+package edu.iis.mto.oven.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Layout of a command journal segment, all values big-endian:
+ *
+ * <pre>
+ * header   magic:int version:short recordBytes:short firstSequence:long capacity:int reserved:12 bytes
+ * records  capacity * (sequence:long timestampNanos:long ovenId:short command:byte failed:byte
+ *                      targetTemp:int timeInMinutes:int checksum:int)
+ * </pre>
+ *
+ * A record counts as written when its sequence follows the previous one and its checksum matches; the first record
+ * failing either check marks the end of the journal. A last segment whose header is shorter than {@code HEADER_BYTES}
+ * or still all zeros was being created when the writer crashed and holds no records.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4F564A4C;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 32;
+
+    static final int SEQUENCE = 0;
+    static final int TIMESTAMP = 8;
+    static final int OVEN_ID = 16;
+    static final int COMMAND = 18;
+    static final int FAILED = 19;
+    static final int TARGET_TEMP = 20;
+    static final int TIME_IN_MINUTES = 24;
+    static final int CHECKSUM = 28;
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private JournalFormat() {}
+
+    static String segmentName(long index) {
+        return String.format("%s%012d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName()
+                                  .toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            })
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    static void writeHeader(ByteBuffer segment, long firstSequence, int capacity) {
+        segment.putInt(0, MAGIC)
+               .putShort(4, VERSION)
+               .putShort(6, (short) RECORD_BYTES)
+               .putLong(8, firstSequence)
+               .putInt(16, capacity);
+    }
+
+    /**
+     * Whether the segment is a header-less leftover of a crashed roll; see the class comment.
+     */
+    static boolean isBlank(ByteBuffer segment) {
+        if (segment.limit() < HEADER_BYTES) {
+            return true;
+        }
+        for (int offset = 0; offset < HEADER_BYTES; offset += Long.BYTES) {
+            if (segment.getLong(offset) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long firstSequence(ByteBuffer segment, Path file) {
+        if (segment.limit() < HEADER_BYTES) {
+            throw new JournalFormatException(file + ": segment truncated");
+        }
+        int magic = segment.getInt(0);
+        if (magic != MAGIC) {
+            throw new JournalFormatException(file + ": not a command journal, magic " + Integer.toHexString(magic));
+        }
+        short version = segment.getShort(4);
+        if (version != VERSION || segment.getShort(6) != RECORD_BYTES) {
+            throw new JournalFormatException(file + ": unsupported journal version " + version);
+        }
+        return segment.getLong(8);
+    }
+
+    static int capacity(ByteBuffer segment, Path file) {
+        int capacity = segment.getInt(16);
+        if (capacity <= 0 || HEADER_BYTES + (long) capacity * RECORD_BYTES > segment.limit()) {
+            throw new JournalFormatException(file + ": segment capacity " + capacity + " out of bounds");
+        }
+        return capacity;
+    }
+
+    /**
+     * Number of consecutive intact records at the start of the segment.
+     */
+    static int intactRecords(ByteBuffer segment, long firstSequence, int capacity) {
+        for (int record = 0; record < capacity; record++) {
+            int position = HEADER_BYTES + record * RECORD_BYTES;
+            long sequence = segment.getLong(position + SEQUENCE);
+            if (sequence != firstSequence + record || segment.getInt(position + CHECKSUM) != checksum(segment, position)) {
+                return record;
+            }
+        }
+        return capacity;
+    }
+
+    static int checksum(ByteBuffer segment, int position) {
+        return checksum(segment.getLong(position + SEQUENCE), segment.getLong(position + TIMESTAMP),
+                segment.getShort(position + OVEN_ID) & 0xFFFF, segment.get(position + COMMAND),
+                segment.get(position + FAILED) != 0, segment.getInt(position + TARGET_TEMP),
+                segment.getInt(position + TIME_IN_MINUTES));
+    }
+
+    static int checksum(long sequence, long timestamp, int ovenId, int command, boolean failed, int targetTemp,
+            int timeInMinutes) {
+        long hash = sequence * 0x9E3779B97F4A7C15L;
+        hash = mix(hash ^ timestamp);
+        hash = mix(hash ^ ((long) ovenId << 16 | (long) command << 8 | (failed ? 1 : 0)));
+        hash = mix(hash ^ ((long) targetTemp << 32 | timeInMinutes & 0xFFFFFFFFL));
+        int checksum = (int) (hash ^ hash >>> 32);
+        return checksum == 0 ? 1 : checksum;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ value >>> 33) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ value >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return value ^ value >>> 33;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.iis.mto.oven.journal;
+
+public class JournalFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JournalFormatException(String message) {
+        super(message);
+    }
+
+}
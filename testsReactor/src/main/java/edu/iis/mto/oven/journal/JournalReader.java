@@ -0,0 +1,81 @@
+package edu.iis.mto.oven.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sequential reader of a journal directory. Segments are mapped one at a time; reading stops at the first torn or
+ * missing record, which is where a crashed writer left off.
+ */
+public class JournalReader {
+
+    private final List<Path> segments;
+    private int nextSegment;
+    private ByteBuffer segment;
+    private int intact;
+    private int position;
+    private long expectedSequence = -1;
+
+    private JournalReader(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    public static JournalReader open(Path directory) throws IOException {
+        return new JournalReader(JournalFormat.segments(directory));
+    }
+
+    /**
+     * Fills the holder with the next record, or returns false at the end of the journal.
+     */
+    public boolean next(JournalRecord record) {
+        while (segment == null || position == intact) {
+            if (segment != null && intact < JournalFormat.capacity(segment, segments.get(nextSegment - 1))) {
+                return false;
+            }
+            if (nextSegment == segments.size() || !openSegment(segments.get(nextSegment++))) {
+                return false;
+            }
+        }
+        int offset = JournalFormat.HEADER_BYTES + position++ * JournalFormat.RECORD_BYTES;
+        int code = segment.get(offset + JournalFormat.COMMAND);
+        JournalCommand command = JournalCommand.fromCode(code);
+        if (command == null) {
+            throw new JournalFormatException("record " + segment.getLong(offset) + " has unknown command " + code);
+        }
+        record.set(segment.getLong(offset + JournalFormat.SEQUENCE), segment.getLong(offset + JournalFormat.TIMESTAMP),
+                segment.getShort(offset + JournalFormat.OVEN_ID) & 0xFFFF, command,
+                segment.get(offset + JournalFormat.FAILED) != 0, segment.getInt(offset + JournalFormat.TARGET_TEMP),
+                segment.getInt(offset + JournalFormat.TIME_IN_MINUTES));
+        expectedSequence = record.getSequence() + 1;
+        return true;
+    }
+
+    /**
+     * Maps the segment, or returns false when it is a blank last segment and the journal ends before it.
+     */
+    private boolean openSegment(Path file) {
+        ByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (nextSegment == segments.size() && JournalFormat.isBlank(mapped)) {
+            return false;
+        }
+        segment = mapped;
+        long firstSequence = JournalFormat.firstSequence(segment, file);
+        if (expectedSequence != -1 && firstSequence != expectedSequence) {
+            throw new JournalFormatException(file + ": starts at sequence " + firstSequence + ", expected "
+                                             + expectedSequence);
+        }
+        intact = JournalFormat.intactRecords(segment, firstSequence, JournalFormat.capacity(segment, file));
+        position = 0;
+        return true;
+    }
+}
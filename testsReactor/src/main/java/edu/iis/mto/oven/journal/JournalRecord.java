@@ -0,0 +1,73 @@
+package edu.iis.mto.oven.journal;
+
+import edu.iis.mto.oven.HeatingSettings;
+
+/**
+ * Reusable holder for one journal record, filled in place by {@link JournalReader#next(JournalRecord)}.
+ */
+public final class JournalRecord {
+
+    private long sequence;
+    private long timestampNanos;
+    private int ovenId;
+    private JournalCommand command;
+    private boolean failed;
+    private int targetTemp;
+    private int timeInMinutes;
+
+    void set(long sequence, long timestampNanos, int ovenId, JournalCommand command, boolean failed, int targetTemp,
+            int timeInMinutes) {
+        this.sequence = sequence;
+        this.timestampNanos = timestampNanos;
+        this.ovenId = ovenId;
+        this.command = command;
+        this.failed = failed;
+        this.targetTemp = targetTemp;
+        this.timeInMinutes = timeInMinutes;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public int getOvenId() {
+        return ovenId;
+    }
+
+    public JournalCommand getCommand() {
+        return command;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public int getTargetTemp() {
+        return targetTemp;
+    }
+
+    public int getTimeInMinutes() {
+        return timeInMinutes;
+    }
+
+    /**
+     * Settings passed to a heating command; meaningless for fan commands.
+     */
+    public HeatingSettings toSettings() {
+        return HeatingSettings.builder()
+                              .withTargetTemp(targetTemp)
+                              .withTimeInMinutes(timeInMinutes)
+                              .build();
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord [sequence=" + sequence + ", timestampNanos=" + timestampNanos + ", ovenId=" + ovenId
+               + ", command=" + command + ", failed=" + failed + ", targetTemp=" + targetTemp + ", timeInMinutes="
+               + timeInMinutes + "]";
+    }
+}
@@ -0,0 +1,45 @@
+package edu.iis.mto.oven.journal;
+
+import edu.iis.mto.oven.Fan;
+
+class JournalingFan implements Fan {
+
+    private final CommandJournal journal;
+    private final Fan delegate;
+    private final int ovenId;
+
+    JournalingFan(CommandJournal journal, Fan delegate, int ovenId) {
+        this.journal = journal;
+        this.delegate = delegate;
+        this.ovenId = ovenId;
+    }
+
+    @Override
+    public void on() {
+        long timestamp = journal.now();
+        boolean failed = true;
+        try {
+            delegate.on();
+            failed = false;
+        } finally {
+            journal.append(ovenId, JournalCommand.FAN_ON, 0, 0, timestamp, failed);
+        }
+    }
+
+    @Override
+    public void off() {
+        long timestamp = journal.now();
+        boolean failed = true;
+        try {
+            delegate.off();
+            failed = false;
+        } finally {
+            journal.append(ovenId, JournalCommand.FAN_OFF, 0, 0, timestamp, failed);
+        }
+    }
+
+    @Override
+    public boolean isOn() {
+        return delegate.isOn();
+    }
+}
@@ -0,0 +1,54 @@
+package edu.iis.mto.oven.journal;
+
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+
+class JournalingHeatingModule implements HeatingModule {
+
+    private final CommandJournal journal;
+    private final HeatingModule delegate;
+    private final int ovenId;
+
+    JournalingHeatingModule(CommandJournal journal, HeatingModule delegate, int ovenId) {
+        this.journal = journal;
+        this.delegate = delegate;
+        this.ovenId = ovenId;
+    }
+
+    @Override
+    public void termalCircuit(HeatingSettings settings) throws HeatingException {
+        long timestamp = journal.now();
+        boolean failed = true;
+        try {
+            delegate.termalCircuit(settings);
+            failed = false;
+        } finally {
+            journal.append(ovenId, JournalCommand.TERMAL_CIRCUIT, settings, timestamp, failed);
+        }
+    }
+
+    @Override
+    public void heater(HeatingSettings settings) throws HeatingException {
+        long timestamp = journal.now();
+        boolean failed = true;
+        try {
+            delegate.heater(settings);
+            failed = false;
+        } finally {
+            journal.append(ovenId, JournalCommand.HEATER, settings, timestamp, failed);
+        }
+    }
+
+    @Override
+    public void grill(HeatingSettings settings) throws HeatingException {
+        long timestamp = journal.now();
+        boolean failed = true;
+        try {
+            delegate.grill(settings);
+            failed = false;
+        } finally {
+            journal.append(ovenId, JournalCommand.GRILL, settings, timestamp, failed);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package edu.iis.mto.oven.library;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * Layout of a program library file, all values big-endian:
+ *
+ * <pre>
+ * header   magic:int version:short flags:short programCount:int
+ * index    programCount * recordOffset:int
+ * records  initialTemp:int coolAtFinish:byte stageCount:int stageCount * (targetTemp:int stageTime:int heat:byte)
+ * </pre>
+ *
+ * Heat types are stored as fixed codes rather than enum ordinals, so reordering {@code HeatType} constants does not
+ * change what existing libraries decode to.
+ */
+final class ProgramFormat {
+
+    static final int MAGIC = 0x4F564E4C;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Short.BYTES + Integer.BYTES;
+    static final int INDEX_ENTRY_BYTES = Integer.BYTES;
+    static final int RECORD_HEADER_BYTES = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    static final int STAGE_BYTES = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    static final byte THERMO_CIRCULATION_CODE = 0;
+    static final byte HEATER_CODE = 1;
+    static final byte GRILL_CODE = 2;
+
+    private ProgramFormat() {}
+
+    static byte heatCode(HeatType heat) {
+        switch (heat) {
+            case THERMO_CIRCULATION:
+                return THERMO_CIRCULATION_CODE;
+            case HEATER:
+                return HEATER_CODE;
+            case GRILL:
+                return GRILL_CODE;
+            default:
+                throw new IllegalArgumentException("no library code for heat type " + heat);
+        }
+    }
+
+    /**
+     * Returns the heat type stored under the code, or {@code null} if no heat type has that code.
+     */
+    static HeatType heatType(byte code) {
+        switch (code) {
+            case THERMO_CIRCULATION_CODE:
+                return HeatType.THERMO_CIRCULATION;
+            case HEATER_CODE:
+                return HeatType.HEATER;
+            case GRILL_CODE:
+                return HeatType.GRILL;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package edu.iis.mto.oven.library;
+
+public class ProgramFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ProgramFormatException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,107 @@
+package edu.iis.mto.oven.library;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Read-only view of a program library file. Opening maps the file and checks the header and index only; programs are
+ * decoded from the mapping when asked for by id.
+ */
+public class ProgramLibrary {
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private ProgramLibrary(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = readHeader(buffer);
+    }
+
+    public static ProgramLibrary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ProgramFormatException("library too large: " + channel.size() + " bytes");
+            }
+            return new ProgramLibrary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ProgramLibrary wrap(ByteBuffer buffer) {
+        return new ProgramLibrary(buffer.duplicate());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public BakingProgram get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("no program with id " + id + ", library holds " + size);
+        }
+        int offset = buffer.getInt(ProgramFormat.HEADER_BYTES + id * ProgramFormat.INDEX_ENTRY_BYTES);
+        checkRange(offset, ProgramFormat.RECORD_HEADER_BYTES, id);
+        int initialTemp = buffer.getInt(offset);
+        boolean coolAtFinish = buffer.get(offset + Integer.BYTES) != 0;
+        int stageCount = buffer.getInt(offset + Integer.BYTES + Byte.BYTES);
+        if (stageCount < 0) {
+            throw new ProgramFormatException("program " + id + " has negative stage count " + stageCount);
+        }
+        int stagesStart = offset + ProgramFormat.RECORD_HEADER_BYTES;
+        checkRange(stagesStart, (long) stageCount * ProgramFormat.STAGE_BYTES, id);
+
+        List<ProgramStage> stages = new ArrayList<>(stageCount);
+        for (int stage = 0; stage < stageCount; stage++) {
+            int position = stagesStart + stage * ProgramFormat.STAGE_BYTES;
+            byte code = buffer.get(position + 2 * Integer.BYTES);
+            HeatType heat = ProgramFormat.heatType(code);
+            if (heat == null) {
+                throw new ProgramFormatException(
+                        "program " + id + " stage " + stage + " has unknown heat type " + code);
+            }
+            stages.add(ProgramStage.builder()
+                                   .withTargetTemp(buffer.getInt(position))
+                                   .withStageTime(buffer.getInt(position + Integer.BYTES))
+                                   .withHeat(heat)
+                                   .build());
+        }
+        return BakingProgram.builder()
+                            .withInitialTemp(initialTemp)
+                            .withStages(stages)
+                            .withCoolAtFinish(coolAtFinish)
+                            .build();
+    }
+
+    private void checkRange(int position, long length, int id) {
+        if (position < 0 || position + length > buffer.limit()) {
+            throw new ProgramFormatException("program " + id + " record out of bounds at " + position);
+        }
+    }
+
+    private static int readHeader(ByteBuffer buffer) {
+        if (buffer.limit() < ProgramFormat.HEADER_BYTES) {
+            throw new ProgramFormatException("library truncated: " + buffer.limit() + " bytes");
+        }
+        int magic = buffer.getInt(0);
+        if (magic != ProgramFormat.MAGIC) {
+            throw new ProgramFormatException("not a program library, magic " + Integer.toHexString(magic));
+        }
+        short version = buffer.getShort(Integer.BYTES);
+        if (version != ProgramFormat.VERSION) {
+            throw new ProgramFormatException("unsupported library version " + version);
+        }
+        int count = buffer.getInt(Integer.BYTES + 2 * Short.BYTES);
+        if (count < 0 || ProgramFormat.HEADER_BYTES + (long) count * ProgramFormat.INDEX_ENTRY_BYTES > buffer.limit()) {
+            throw new ProgramFormatException("library index out of bounds for " + count + " programs");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.iis.mto.oven.library;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Collects programs in their binary form and writes them as a library readable by {@link ProgramLibrary}.
+ */
+public class ProgramLibraryWriter {
+
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+    private final DataOutputStream recordsOut = new DataOutputStream(records);
+    private final List<Integer> offsets = new ArrayList<>();
+    private final List<ProgramStage> stages = new ArrayList<>();
+
+    /**
+     * Appends the program and returns the id it can later be read back with.
+     */
+    public int add(BakingProgram program) {
+        requireNonNull(program);
+        stages.clear();
+        for (ProgramStage stage : program) {
+            stages.add(stage);
+        }
+        int offset = records.size();
+        try {
+            recordsOut.writeInt(program.getInitialTemp());
+            recordsOut.writeByte(program.isCoolAtFinish() ? 1 : 0);
+            recordsOut.writeInt(stages.size());
+            for (ProgramStage stage : stages) {
+                recordsOut.writeInt(stage.getTargetTemp());
+                recordsOut.writeInt(stage.getStageTime());
+                recordsOut.writeByte(ProgramFormat.heatCode(stage.getHeat()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        offsets.add(offset);
+        return offsets.size() - 1;
+    }
+
+    public int size() {
+        return offsets.size();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            writeTo(out);
+        }
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        long recordsStart = ProgramFormat.HEADER_BYTES + (long) offsets.size() * ProgramFormat.INDEX_ENTRY_BYTES;
+        if (recordsStart + records.size() > Integer.MAX_VALUE) {
+            throw new ProgramFormatException("library too large: " + (recordsStart + records.size()) + " bytes");
+        }
+        data.writeInt(ProgramFormat.MAGIC);
+        data.writeShort(ProgramFormat.VERSION);
+        data.writeShort(0);
+        data.writeInt(offsets.size());
+        for (int offset : offsets) {
+            data.writeInt((int) recordsStart + offset);
+        }
+        records.writeTo(data);
+        data.flush();
+    }
+}
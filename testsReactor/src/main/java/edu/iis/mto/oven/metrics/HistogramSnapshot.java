@@ -0,0 +1,59 @@
+package edu.iis.mto.oven.metrics;
+
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    HistogramSnapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Smallest bucket bound that at least {@code percentile} percent of the recorded values fall under.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile out of range: " + percentile);
+        }
+        long recorded = 0;
+        for (long bucketCount : counts) {
+            recorded += bucketCount;
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target) {
+                return Math.min(LatencyHistogram.highestValueIn(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot [count=" + count + ", meanNanos=" + getMeanNanos() + ", p50=" + getValueAtPercentile(50)
+               + ", p99=" + getValueAtPercentile(99) + ", maxNanos=" + maxNanos + "]";
+    }
+}
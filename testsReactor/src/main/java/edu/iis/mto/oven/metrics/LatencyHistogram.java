@@ -0,0 +1,68 @@
+package edu.iis.mto.oven.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free histogram of non-negative nanosecond values. Buckets are log-linear: every power of two is
+ * split into {@value #SUB_BUCKETS_PER_POWER} sub-buckets. Percentiles report the upper bound of a bucket, which
+ * overstates a recorded value by less than one sub-bucket width, under 6.25 percent, while the whole range of
+ * {@code long} fits in {@value #BUCKET_COUNT} counters.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int LINEAR_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKETS_PER_POWER = LINEAR_BUCKETS / 2;
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS_PER_POWER;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long max;
+        while (value > (max = maxNanos.get())) {
+            if (maxNanos.compareAndSet(max, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Copies the current counters. Concurrent recording may make the copy slightly inconsistent across buckets, but it
+     * never blocks writers.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            copy[bucket] = counts.get(bucket);
+        }
+        return new HistogramSnapshot(copy, totalCount.get(), totalNanos.get(), maxNanos.get());
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS_PER_POWER;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS_PER_POWER + subBucket;
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int offset = bucket - LINEAR_BUCKETS;
+        int shift = offset / SUB_BUCKETS_PER_POWER + 1;
+        long subBucket = offset % SUB_BUCKETS_PER_POWER + SUB_BUCKETS_PER_POWER;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.iis.mto.oven.metrics;
+
+import java.util.Map;
+
+import edu.iis.mto.oven.HeatType;
+
+public class OvenMetricsSnapshot {
+
+    private final HistogramSnapshot programLatency;
+    private final long failedPrograms;
+    private final HistogramSnapshot preheatLatency;
+    private final long preheatFailures;
+    private final Map<HeatType, HistogramSnapshot> stageLatency;
+    private final Map<HeatType, Long> stageFailures;
+    private final long fanOnCount;
+    private final long fanOffCount;
+
+    OvenMetricsSnapshot(HistogramSnapshot programLatency, long failedPrograms, HistogramSnapshot preheatLatency,
+            long preheatFailures, Map<HeatType, HistogramSnapshot> stageLatency, Map<HeatType, Long> stageFailures,
+            long fanOnCount, long fanOffCount) {
+        this.programLatency = programLatency;
+        this.failedPrograms = failedPrograms;
+        this.preheatLatency = preheatLatency;
+        this.preheatFailures = preheatFailures;
+        this.stageLatency = stageLatency;
+        this.stageFailures = stageFailures;
+        this.fanOnCount = fanOnCount;
+        this.fanOffCount = fanOffCount;
+    }
+
+    public HistogramSnapshot getProgramLatency() {
+        return programLatency;
+    }
+
+    public long getFailedPrograms() {
+        return failedPrograms;
+    }
+
+    public HistogramSnapshot getPreheatLatency() {
+        return preheatLatency;
+    }
+
+    public long getPreheatFailures() {
+        return preheatFailures;
+    }
+
+    public HistogramSnapshot getStageLatency(HeatType heat) {
+        return stageLatency.get(heat);
+    }
+
+    public long getStageFailures(HeatType heat) {
+        return stageFailures.get(heat);
+    }
+
+    public long getFanOnCount() {
+        return fanOnCount;
+    }
+
+    public long getFanOffCount() {
+        return fanOffCount;
+    }
+
+    @Override
+    public String toString() {
+        return "OvenMetricsSnapshot [programLatency=" + programLatency + ", failedPrograms=" + failedPrograms
+               + ", preheatFailures=" + preheatFailures + ", stageFailures=" + stageFailures + ", fanOnCount="
+               + fanOnCount + ", fanOffCount=" + fanOffCount + "]";
+    }
+}
@@ -0,0 +1,79 @@
+package edu.iis.mto.oven.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.OvenMetrics;
+
+/**
+ * Default {@link OvenMetrics}: lock-free counters and fixed-memory latency histograms that can be shared by many ovens
+ * and scraped through {@link #snapshot()} while programs keep running.
+ */
+public class RecordingOvenMetrics implements OvenMetrics {
+
+    private static final HeatType[] HEAT_TYPES = HeatType.values();
+
+    private final LatencyHistogram programLatency = new LatencyHistogram();
+    private final LatencyHistogram preheatLatency = new LatencyHistogram();
+    private final LatencyHistogram[] stageLatency = new LatencyHistogram[HEAT_TYPES.length];
+    private final LongAdder[] stageFailures = new LongAdder[HEAT_TYPES.length];
+    private final LongAdder failedPrograms = new LongAdder();
+    private final LongAdder preheatFailures = new LongAdder();
+    private final LongAdder fanOn = new LongAdder();
+    private final LongAdder fanOff = new LongAdder();
+
+    public RecordingOvenMetrics() {
+        for (HeatType heat : HEAT_TYPES) {
+            stageLatency[heat.ordinal()] = new LatencyHistogram();
+            stageFailures[heat.ordinal()] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void programCompleted(long nanos) {
+        programLatency.record(nanos);
+    }
+
+    @Override
+    public void programFailed(long nanos) {
+        failedPrograms.increment();
+    }
+
+    @Override
+    public void preheatCompleted(long nanos) {
+        preheatLatency.record(nanos);
+    }
+
+    @Override
+    public void preheatFailed() {
+        preheatFailures.increment();
+    }
+
+    @Override
+    public void stageCompleted(HeatType heat, long nanos) {
+        stageLatency[heat.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void stageFailed(HeatType heat) {
+        stageFailures[heat.ordinal()].increment();
+    }
+
+    @Override
+    public void fanSwitched(boolean on) {
+        (on ? fanOn : fanOff).increment();
+    }
+
+    public OvenMetricsSnapshot snapshot() {
+        Map<HeatType, HistogramSnapshot> stages = new EnumMap<>(HeatType.class);
+        Map<HeatType, Long> failures = new EnumMap<>(HeatType.class);
+        for (HeatType heat : HEAT_TYPES) {
+            stages.put(heat, stageLatency[heat.ordinal()].snapshot());
+            failures.put(heat, stageFailures[heat.ordinal()].sum());
+        }
+        return new OvenMetricsSnapshot(programLatency.snapshot(), failedPrograms.sum(), preheatLatency.snapshot(),
+                preheatFailures.sum(), stages, failures, fanOn.sum(), fanOff.sum());
+    }
+}
@@ -0,0 +1,211 @@
+package edu.iis.mto.oven.mirror;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+
+/**
+ * Write-through mirror of one oven's {@link Fan} and {@link HeatingModule}. It remembers the last commanded state,
+ * answers {@link Fan#isOn()} locally, drops fan commands that would not change anything and skips a hold-temperature
+ * heater command when the cavity was last commanded to that very temperature and has not been cooled since. Mirrored
+ * state expires after the reconcile interval, after which the next call goes to the hardware again. Not thread-safe;
+ * one mirror per oven.
+ */
+public class DeviceMirror {
+
+    static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofSeconds(30);
+
+    private final Fan hardwareFan;
+    private final HeatingModule hardwareModule;
+    private final long reconcileIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final Fan fan = new MirroredFan();
+    private final HeatingModule heatingModule = new MirroredHeatingModule();
+
+    private Boolean fanOn;
+    private long fanSyncedAt;
+    private int heldTemp;
+    private boolean holding;
+    private long heldSince;
+
+    private long fanCommandsSuppressed;
+    private long fanQueriesAnsweredLocally;
+    private long heatingCommandsSuppressed;
+    private long reconciliations;
+    private long mismatches;
+
+    private DeviceMirror(Builder builder) {
+        this.hardwareFan = builder.fan;
+        this.hardwareModule = builder.heatingModule;
+        this.reconcileIntervalNanos = builder.reconcileInterval.toNanos();
+        this.nanoClock = builder.nanoClock;
+    }
+
+    public Fan fan() {
+        return fan;
+    }
+
+    public HeatingModule heatingModule() {
+        return heatingModule;
+    }
+
+    /**
+     * Re-reads the hardware fan state and forgets the mirrored cavity temperature.
+     */
+    public void reconcile() {
+        reconciliations++;
+        boolean actual = hardwareFan.isOn();
+        if (fanOn != null && fanOn != actual) {
+            mismatches++;
+        }
+        fanOn = actual;
+        fanSyncedAt = nanoClock.getAsLong();
+        holding = false;
+    }
+
+    public MirrorStats stats() {
+        return new MirrorStats(fanCommandsSuppressed, fanQueriesAnsweredLocally, heatingCommandsSuppressed,
+                reconciliations, mismatches);
+    }
+
+    private boolean fresh(long since) {
+        return nanoClock.getAsLong() - since < reconcileIntervalNanos;
+    }
+
+    private void switchFan(boolean on) {
+        if (fanOn != null && fanOn == on && fresh(fanSyncedAt)) {
+            fanCommandsSuppressed++;
+            return;
+        }
+        fanOn = null;
+        if (on) {
+            hardwareFan.on();
+            holding = false;
+        } else {
+            hardwareFan.off();
+        }
+        fanOn = on;
+        fanSyncedAt = nanoClock.getAsLong();
+    }
+
+    private boolean fanState() {
+        if (fanOn != null) {
+            if (fresh(fanSyncedAt)) {
+                fanQueriesAnsweredLocally++;
+                return fanOn;
+            }
+            reconcile();
+            return fanOn;
+        }
+        fanOn = hardwareFan.isOn();
+        fanSyncedAt = nanoClock.getAsLong();
+        return fanOn;
+    }
+
+    private boolean heldAt(HeatingSettings settings) {
+        return settings.getTimeInMinutes() == Oven.HEAT_UP_AND_FINISH_SETTING_TIME && holding
+               && heldTemp == settings.getTargetTemp() && fresh(heldSince);
+    }
+
+    private void heated(HeatingSettings settings) {
+        holding = true;
+        heldTemp = settings.getTargetTemp();
+        heldSince = nanoClock.getAsLong();
+    }
+
+    private class MirroredFan implements Fan {
+
+        @Override
+        public void on() {
+            switchFan(true);
+        }
+
+        @Override
+        public void off() {
+            switchFan(false);
+        }
+
+        @Override
+        public boolean isOn() {
+            return fanState();
+        }
+    }
+
+    private class MirroredHeatingModule implements HeatingModule {
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {
+            holding = false;
+            hardwareModule.termalCircuit(settings);
+            heated(settings);
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            if (heldAt(settings)) {
+                heatingCommandsSuppressed++;
+                return;
+            }
+            holding = false;
+            hardwareModule.heater(settings);
+            heated(settings);
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {
+            holding = false;
+            hardwareModule.grill(settings);
+            heated(settings);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private Fan fan;
+        private HeatingModule heatingModule;
+        private Duration reconcileInterval = DEFAULT_RECONCILE_INTERVAL;
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder() {}
+
+        public Builder withFan(Fan fan) {
+            this.fan = fan;
+            return this;
+        }
+
+        public Builder withHeatingModule(HeatingModule heatingModule) {
+            this.heatingModule = heatingModule;
+            return this;
+        }
+
+        public Builder withReconcileInterval(Duration reconcileInterval) {
+            if (reconcileInterval.isNegative()) {
+                throw new IllegalArgumentException("negative reconcile interval: " + reconcileInterval);
+            }
+            this.reconcileInterval = reconcileInterval;
+            return this;
+        }
+
+        public Builder withNanoClock(LongSupplier nanoClock) {
+            this.nanoClock = requireNonNull(nanoClock);
+            return this;
+        }
+
+        public DeviceMirror build() {
+            requireNonNull(fan);
+            requireNonNull(heatingModule);
+            return new DeviceMirror(this);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.iis.mto.oven.mirror;
+
+public class MirrorStats {
+
+    private final long fanCommandsSuppressed;
+    private final long fanQueriesAnsweredLocally;
+    private final long heatingCommandsSuppressed;
+    private final long reconciliations;
+    private final long mismatches;
+
+    MirrorStats(long fanCommandsSuppressed, long fanQueriesAnsweredLocally, long heatingCommandsSuppressed,
+            long reconciliations, long mismatches) {
+        this.fanCommandsSuppressed = fanCommandsSuppressed;
+        this.fanQueriesAnsweredLocally = fanQueriesAnsweredLocally;
+        this.heatingCommandsSuppressed = heatingCommandsSuppressed;
+        this.reconciliations = reconciliations;
+        this.mismatches = mismatches;
+    }
+
+    public long getFanCommandsSuppressed() {
+        return fanCommandsSuppressed;
+    }
+
+    public long getFanQueriesAnsweredLocally() {
+        return fanQueriesAnsweredLocally;
+    }
+
+    public long getHeatingCommandsSuppressed() {
+        return heatingCommandsSuppressed;
+    }
+
+    public long getCallsAvoided() {
+        return fanCommandsSuppressed + fanQueriesAnsweredLocally + heatingCommandsSuppressed;
+    }
+
+    public long getReconciliations() {
+        return reconciliations;
+    }
+
+    /**
+     * Reconciliations that found the hardware fan in a different state than the mirror expected.
+     */
+    public long getMismatches() {
+        return mismatches;
+    }
+
+    @Override
+    public String toString() {
+        return "MirrorStats [callsAvoided=" + getCallsAvoided() + ", fanCommandsSuppressed=" + fanCommandsSuppressed
+               + ", fanQueriesAnsweredLocally=" + fanQueriesAnsweredLocally + ", heatingCommandsSuppressed="
+               + heatingCommandsSuppressed + ", reconciliations=" + reconciliations + ", mismatches=" + mismatches
+               + "]";
+    }
+}
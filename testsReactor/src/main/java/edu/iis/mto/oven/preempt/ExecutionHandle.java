@@ -0,0 +1,145 @@
+package edu.iis.mto.oven.preempt;
+
+import java.util.concurrent.CompletableFuture;
+
+import edu.iis.mto.oven.BakingProgram;
+
+/**
+ * A program submitted to a {@link PriorityOvenQueue}. Cancelling a queued or preempted program drops it at once;
+ * cancelling a running one stops it before its next stage.
+ */
+public class ExecutionHandle {
+
+    private final PriorityOvenQueue queue;
+    private final BakingProgram program;
+    private final int stageCount;
+    private final int priority;
+    private final long sequence;
+    private final long submittedNanos;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private ExecutionState state = ExecutionState.QUEUED;
+    private volatile boolean cancelRequested;
+    private int nextStage;
+    private int preemptions;
+    private long finishedNanos;
+
+    ExecutionHandle(PriorityOvenQueue queue, BakingProgram program, int stageCount, int priority, long sequence) {
+        this.queue = queue;
+        this.program = program;
+        this.stageCount = stageCount;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.submittedNanos = System.nanoTime();
+    }
+
+    /**
+     * Requests cancellation; returns false when the program has already finished.
+     */
+    public boolean cancel() {
+        ExecutionState current;
+        synchronized (this) {
+            if (state.isFinished()) {
+                return false;
+            }
+            cancelRequested = true;
+            current = state;
+        }
+        if (current == ExecutionState.RUNNING) {
+            queue.cancelRunning(this);
+        } else if (queue.dequeue(this)) {
+            finish(ExecutionState.CANCELLED, null);
+        }
+        return true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public synchronized ExecutionState getState() {
+        return state;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Stage the program runs or resumes from.
+     */
+    public synchronized int getNextStage() {
+        return nextStage;
+    }
+
+    public synchronized int getPreemptions() {
+        return preemptions;
+    }
+
+    /**
+     * Completes normally, or exceptionally with the oven failure or a {@code CancellationException}.
+     */
+    public CompletableFuture<Void> result() {
+        return result;
+    }
+
+    /**
+     * Nanoseconds from submission until the program finished, or -1 while it has not.
+     */
+    public synchronized long getLatencyNanos() {
+        return state.isFinished() ? finishedNanos - submittedNanos : -1;
+    }
+
+    BakingProgram program() {
+        return program;
+    }
+
+    int stageCount() {
+        return stageCount;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    synchronized boolean start() {
+        if (state.isFinished()) {
+            return false;
+        }
+        state = ExecutionState.RUNNING;
+        return true;
+    }
+
+    synchronized void preempted(int stage) {
+        nextStage = stage;
+        preemptions++;
+        state = ExecutionState.PREEMPTED;
+    }
+
+    synchronized void progressed(int stage) {
+        nextStage = stage;
+    }
+
+    void finish(ExecutionState finalState, Throwable failure) {
+        synchronized (this) {
+            if (state.isFinished()) {
+                return;
+            }
+            state = finalState;
+            finishedNanos = System.nanoTime();
+        }
+        if (finalState == ExecutionState.COMPLETED) {
+            result.complete(null);
+        } else if (finalState == ExecutionState.CANCELLED) {
+            result.cancel(false);
+        } else {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionHandle [priority=" + priority + ", sequence=" + sequence + ", state=" + getState()
+               + ", nextStage=" + getNextStage() + "]";
+    }
+}
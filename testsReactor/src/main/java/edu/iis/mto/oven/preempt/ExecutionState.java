@@ -0,0 +1,18 @@
+package edu.iis.mto.oven.preempt;
+
+public enum ExecutionState {
+
+    QUEUED,
+    RUNNING,
+    /**
+     * Stopped at a stage boundary for a higher-priority program; back in the queue and resumes at the next stage.
+     */
+    PREEMPTED,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
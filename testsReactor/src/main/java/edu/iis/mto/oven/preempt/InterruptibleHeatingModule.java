@@ -0,0 +1,11 @@
+package edu.iis.mto.oven.preempt;
+
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+
+/**
+ * Marks a {@link HeatingModule} whose commands abort with {@link HeatingException} when the calling thread is
+ * interrupted. {@link PriorityOvenQueue} interrupts such a module when the running program is cancelled instead of
+ * waiting for the current stage to end.
+ */
+public interface InterruptibleHeatingModule extends HeatingModule {}
@@ -0,0 +1,216 @@
+package edu.iis.mto.oven.preempt;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.ProgramStage;
+import edu.iis.mto.oven.StageGate;
+
+/**
+ * Per-oven queue that always runs the highest-priority program first; equal priorities run in submission order. With
+ * preemption enabled a running program yields at its next stage boundary as soon as a higher-priority one is waiting,
+ * goes back to the queue and later resumes from the stage it was stopped before. A single worker thread drives the
+ * oven.
+ */
+public class PriorityOvenQueue implements AutoCloseable {
+
+    private static final Comparator<ExecutionHandle> ORDER = Comparator.comparingInt(ExecutionHandle::getPriority)
+                                                                       .reversed()
+                                                                       .thenComparingLong(ExecutionHandle::sequence);
+
+    private final Oven oven;
+    private final boolean interruptible;
+    private final boolean preemptive;
+    private final PriorityBlockingQueue<ExecutionHandle> queue = new PriorityBlockingQueue<>(16, ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutionHandle poison;
+    private final Thread worker;
+    private final Object runningLock = new Object();
+    private ExecutionHandle running;
+    private volatile boolean closed;
+
+    private PriorityOvenQueue(Builder builder) {
+        HeatingModule heatingModule = requireNonNull(builder.heatingModule, "heatingModule");
+        this.oven = new Oven(heatingModule, requireNonNull(builder.fan, "fan"));
+        this.interruptible = heatingModule instanceof InterruptibleHeatingModule;
+        this.preemptive = builder.preemptive;
+        this.poison = new ExecutionHandle(this, null, 0, Integer.MIN_VALUE, Long.MAX_VALUE);
+        this.worker = builder.threadFactory.newThread(this::work);
+        worker.setName("oven-priority-queue");
+        worker.start();
+    }
+
+    /**
+     * Queues the program; higher values of priority run first.
+     */
+    public ExecutionHandle submit(BakingProgram program, int priority) {
+        if (closed) {
+            throw new IllegalStateException("queue is closed");
+        }
+        if (priority == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("priority Integer.MIN_VALUE is reserved");
+        }
+        ExecutionHandle handle = new ExecutionHandle(this, requireNonNull(program), stageCount(program), priority,
+                sequence.getAndIncrement());
+        queue.add(handle);
+        return handle;
+    }
+
+    public int queueDepth() {
+        return queue.contains(poison) ? queue.size() - 1 : queue.size();
+    }
+
+    /**
+     * Stops accepting programs, runs everything already queued to the end and waits for the worker to exit.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(poison);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    boolean dequeue(ExecutionHandle handle) {
+        return queue.remove(handle);
+    }
+
+    /**
+     * Interrupts the worker only while it still runs the handle; the worker swaps {@code running} and clears its
+     * interrupt under the same lock, so a late cancel can never interrupt the next program.
+     */
+    void cancelRunning(ExecutionHandle handle) {
+        synchronized (runningLock) {
+            if (interruptible && running == handle) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void work() {
+        while (true) {
+            ExecutionHandle handle;
+            try {
+                handle = queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (handle == poison) {
+                return;
+            }
+            if (handle.start()) {
+                execute(handle);
+            }
+        }
+    }
+
+    private void execute(ExecutionHandle handle) {
+        synchronized (runningLock) {
+            running = handle;
+        }
+        StageGate gate = stage -> {
+            handle.progressed(stage);
+            return !handle.isCancelRequested() && !(preemptive && higherPriorityWaiting(handle));
+        };
+        try {
+            int next = oven.runProgram(handle.program(), handle.getNextStage(), gate);
+            if (next == handle.stageCount()) {
+                handle.finish(ExecutionState.COMPLETED, null);
+            } else if (handle.isCancelRequested()) {
+                handle.finish(ExecutionState.CANCELLED, null);
+            } else {
+                handle.preempted(next);
+                queue.add(handle);
+            }
+        } catch (OvenException e) {
+            handle.finish(handle.isCancelRequested() ? ExecutionState.CANCELLED : ExecutionState.FAILED, e);
+        } catch (RuntimeException e) {
+            handle.finish(ExecutionState.FAILED, e);
+        } finally {
+            synchronized (runningLock) {
+                running = null;
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private boolean higherPriorityWaiting(ExecutionHandle handle) {
+        ExecutionHandle head = queue.peek();
+        return head != null && head.getPriority() > handle.getPriority();
+    }
+
+    private static int stageCount(BakingProgram program) {
+        int stages = 0;
+        for (Iterator<ProgramStage> iterator = program.iterator(); iterator.hasNext(); iterator.next()) {
+            stages++;
+        }
+        return stages;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private HeatingModule heatingModule;
+        private Fan fan;
+        private boolean preemptive = true;
+        private ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder() {}
+
+        /**
+         * Heating module of the oven; implement {@link InterruptibleHeatingModule} to let cancellation stop a running
+         * stage.
+         */
+        public Builder withHeatingModule(HeatingModule heatingModule) {
+            this.heatingModule = requireNonNull(heatingModule);
+            return this;
+        }
+
+        public Builder withFan(Fan fan) {
+            this.fan = requireNonNull(fan);
+            return this;
+        }
+
+        /**
+         * Whether running programs yield to higher-priority ones at stage boundaries; on by default. Without
+         * preemption priorities only order the queue.
+         */
+        public Builder withPreemption(boolean preemptive) {
+            this.preemptive = preemptive;
+            return this;
+        }
+
+        public Builder withThreadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = requireNonNull(threadFactory);
+            return this;
+        }
+
+        public PriorityOvenQueue build() {
+            return new PriorityOvenQueue(this);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.iis.mto.oven.registry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Stable 128-bit content hash of a {@link BakingProgram}: the leading half of a SHA-256 digest over the program
+ * fields, with heat types encoded by name so the hash survives reordering of {@code HeatType} constants.
+ */
+public final class ContentHash {
+
+    private static final int STAGE_BYTES = 3 * Integer.BYTES;
+
+    private final long high;
+    private final long low;
+
+    private ContentHash(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static ContentHash of(BakingProgram program) {
+        MessageDigest digest = sha256();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1);
+        header.putInt(program.getInitialTemp())
+              .put((byte) (program.isCoolAtFinish() ? 1 : 0));
+        digest.update(header.array());
+        ByteBuffer stage = ByteBuffer.allocate(STAGE_BYTES);
+        for (ProgramStage programStage : program) {
+            byte[] heat = programStage.getHeat()
+                                      .name()
+                                      .getBytes(StandardCharsets.US_ASCII);
+            stage.clear();
+            stage.putInt(programStage.getTargetTemp())
+                 .putInt(programStage.getStageTime())
+                 .putInt(heat.length);
+            digest.update(stage.array());
+            digest.update(heat);
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+        return new ContentHash(hash.getLong(), hash.getLong());
+    }
+
+    public static ContentHash parse(String hex) {
+        if (hex.length() != 32) {
+            throw new IllegalArgumentException("content hash must have 32 hex digits: " + hex);
+        }
+        return new ContentHash(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high ^ low);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ContentHash other = (ContentHash) obj;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package edu.iis.mto.oven.registry;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.CompiledProgram;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Content-addressed store of {@link BakingProgram}s. Identical programs registered from many sources collapse into one
+ * canonical instance whose stages are themselves interned, so a catalog with heavy overlap keeps every distinct stage
+ * only once. Lookups by {@link ContentHash} are plain {@link ConcurrentHashMap} reads and never lock.
+ */
+public class ProgramRegistry {
+
+    private final ConcurrentMap<ContentHash, BakingProgram> programs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ContentHash, CompiledProgram> compiled = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ProgramStage, ProgramStage> stages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<HeatingSettings, HeatingSettings> settings = new ConcurrentHashMap<>();
+    private final LongAdder registrations = new LongAdder();
+
+    /**
+     * Registers the program and returns its content hash.
+     */
+    public ContentHash register(BakingProgram program) {
+        ContentHash hash = ContentHash.of(requireNonNull(program));
+        registrations.increment();
+        if (!programs.containsKey(hash)) {
+            programs.putIfAbsent(hash, canonical(program));
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the canonical instance equal to the program, registering it first if needed.
+     */
+    public BakingProgram intern(BakingProgram program) {
+        return programs.get(register(program));
+    }
+
+    public BakingProgram get(ContentHash hash) {
+        return programs.get(hash);
+    }
+
+    public boolean contains(ContentHash hash) {
+        return programs.containsKey(hash);
+    }
+
+    /**
+     * Compiled form of a registered program, built once and shared by every caller.
+     */
+    public CompiledProgram compiled(ContentHash hash) {
+        CompiledProgram existing = compiled.get(hash);
+        if (existing != null) {
+            return existing;
+        }
+        BakingProgram program = programs.get(hash);
+        if (program == null) {
+            throw new IllegalArgumentException("no program registered under " + hash);
+        }
+        return compiled.computeIfAbsent(hash, ignored -> CompiledProgram.compile(program));
+    }
+
+    public ProgramStage intern(ProgramStage stage) {
+        ProgramStage existing = stages.putIfAbsent(requireNonNull(stage), stage);
+        return existing != null ? existing : stage;
+    }
+
+    public HeatingSettings intern(HeatingSettings heatingSettings) {
+        HeatingSettings existing = settings.putIfAbsent(requireNonNull(heatingSettings), heatingSettings);
+        return existing != null ? existing : heatingSettings;
+    }
+
+    public RegistryStats stats() {
+        return new RegistryStats(registrations.sum(), programs.size(), stages.size(), settings.size());
+    }
+
+    private BakingProgram canonical(BakingProgram program) {
+        List<ProgramStage> interned = new ArrayList<>();
+        for (ProgramStage stage : program) {
+            interned.add(intern(stage));
+        }
+        return BakingProgram.builder()
+                            .withInitialTemp(program.getInitialTemp())
+                            .withStages(List.copyOf(interned))
+                            .withCoolAtFinish(program.isCoolAtFinish())
+                            .build();
+    }
+}
@@ -0,0 +1,42 @@
+package edu.iis.mto.oven.registry;
+
+public class RegistryStats {
+
+    private final long registrations;
+    private final int uniquePrograms;
+    private final int uniqueStages;
+    private final int uniqueSettings;
+
+    RegistryStats(long registrations, int uniquePrograms, int uniqueStages, int uniqueSettings) {
+        this.registrations = registrations;
+        this.uniquePrograms = uniquePrograms;
+        this.uniqueStages = uniqueStages;
+        this.uniqueSettings = uniqueSettings;
+    }
+
+    public long getRegistrations() {
+        return registrations;
+    }
+
+    public int getUniquePrograms() {
+        return uniquePrograms;
+    }
+
+    public long getDuplicatesRemoved() {
+        return registrations - uniquePrograms;
+    }
+
+    public int getUniqueStages() {
+        return uniqueStages;
+    }
+
+    public int getUniqueSettings() {
+        return uniqueSettings;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistryStats [registrations=" + registrations + ", uniquePrograms=" + uniquePrograms
+               + ", uniqueStages=" + uniqueStages + ", uniqueSettings=" + uniqueSettings + "]";
+    }
+}
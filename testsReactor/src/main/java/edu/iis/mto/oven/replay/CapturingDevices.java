@@ -0,0 +1,86 @@
+package edu.iis.mto.oven.replay;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.journal.JournalCommand;
+
+/**
+ * Replay target devices wrapped so that every command they receive lands in a {@link CommandTrace}.
+ */
+class CapturingDevices {
+
+    private final CommandTrace trace = new CommandTrace();
+    private final HeatingModule heatingModule;
+    private final Fan fan;
+
+    CapturingDevices(HeatingModule target, Fan targetFan) {
+        this.heatingModule = new HeatingModule() {
+
+            @Override
+            public void termalCircuit(HeatingSettings settings) throws HeatingException {
+                boolean failed = true;
+                try {
+                    target.termalCircuit(settings);
+                    failed = false;
+                } finally {
+                    trace.add(JournalCommand.TERMAL_CIRCUIT, settings, failed, 0);
+                }
+            }
+
+            @Override
+            public void heater(HeatingSettings settings) throws HeatingException {
+                boolean failed = true;
+                try {
+                    target.heater(settings);
+                    failed = false;
+                } finally {
+                    trace.add(JournalCommand.HEATER, settings, failed, 0);
+                }
+            }
+
+            @Override
+            public void grill(HeatingSettings settings) throws HeatingException {
+                boolean failed = true;
+                try {
+                    target.grill(settings);
+                    failed = false;
+                } finally {
+                    trace.add(JournalCommand.GRILL, settings, failed, 0);
+                }
+            }
+        };
+        this.fan = new Fan() {
+
+            @Override
+            public void on() {
+                targetFan.on();
+                trace.add(JournalCommand.FAN_ON, null, false, 0);
+            }
+
+            @Override
+            public void off() {
+                targetFan.off();
+                trace.add(JournalCommand.FAN_OFF, null, false, 0);
+            }
+
+            @Override
+            public boolean isOn() {
+                return targetFan.isOn();
+            }
+        };
+    }
+
+    HeatingModule heatingModule() {
+        return heatingModule;
+    }
+
+    Fan fan() {
+        return fan;
+    }
+
+    CommandTrace trace() {
+        return trace;
+    }
+}
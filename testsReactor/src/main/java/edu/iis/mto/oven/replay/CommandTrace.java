@@ -0,0 +1,80 @@
+package edu.iis.mto.oven.replay;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.journal.JournalCommand;
+
+/**
+ * Device command stream of one oven in packed parallel arrays: what a journal recorded, or what a replay target was
+ * asked to do. Settings are {@code null} for fan commands.
+ */
+public final class CommandTrace {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private JournalCommand[] commands = new JournalCommand[INITIAL_CAPACITY];
+    private HeatingSettings[] settings = new HeatingSettings[INITIAL_CAPACITY];
+    private boolean[] failed = new boolean[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(JournalCommand command, HeatingSettings heatingSettings, boolean commandFailed, long timestampNanos) {
+        if (size == commands.length) {
+            int capacity = size * 2;
+            commands = Arrays.copyOf(commands, capacity);
+            settings = Arrays.copyOf(settings, capacity);
+            failed = Arrays.copyOf(failed, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        commands[size] = command;
+        settings[size] = heatingSettings;
+        failed[size] = commandFailed;
+        timestamps[size] = timestampNanos;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public JournalCommand getCommand(int index) {
+        return commands[Objects.checkIndex(index, size)];
+    }
+
+    public HeatingSettings getSettings(int index) {
+        return settings[Objects.checkIndex(index, size)];
+    }
+
+    public boolean isFailed(int index) {
+        return failed[Objects.checkIndex(index, size)];
+    }
+
+    public long getTimestampNanos(int index) {
+        return timestamps[Objects.checkIndex(index, size)];
+    }
+
+    boolean sameCommand(int index, CommandTrace other, int otherIndex) {
+        return commands[index] == other.commands[otherIndex] && failed[index] == other.failed[otherIndex]
+               && Objects.equals(settings[index], other.settings[otherIndex]);
+    }
+
+    String describe(int index) {
+        if (index >= size) {
+            return "<end of stream>";
+        }
+        StringBuilder description = new StringBuilder().append(commands[index]);
+        if (settings[index] != null) {
+            description.append('(')
+                       .append(settings[index].getTargetTemp())
+                       .append(", ")
+                       .append(settings[index].getTimeInMinutes())
+                       .append(')');
+        }
+        if (failed[index]) {
+            description.append(" failed");
+        }
+        return description.toString();
+    }
+}
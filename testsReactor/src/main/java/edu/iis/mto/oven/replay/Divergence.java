@@ -0,0 +1,34 @@
+package edu.iis.mto.oven.replay;
+
+/**
+ * First point where the replayed command stream of an oven differs from the recorded one.
+ */
+public class Divergence {
+
+    private final int commandIndex;
+    private final String expected;
+    private final String actual;
+
+    Divergence(int commandIndex, String expected, String actual) {
+        this.commandIndex = commandIndex;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public int getCommandIndex() {
+        return commandIndex;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    public String getActual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        return "Divergence [commandIndex=" + commandIndex + ", expected=" + expected + ", actual=" + actual + "]";
+    }
+}
@@ -0,0 +1,235 @@
+package edu.iis.mto.oven.replay;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+
+/**
+ * Replays a recorded command journal against target devices, typically test doubles or a simulator. Every oven id in
+ * the journal gets its own target devices and is replayed on its own thread, independently of the others. The
+ * commands the targets receive are compared with the recorded ones and the first mismatch of each oven is reported as
+ * a {@link Divergence}.
+ */
+public class JournalReplay {
+
+    private final ReplayMode mode;
+    private final IntFunction<HeatingModule> heatingModules;
+    private final IntFunction<Fan> fans;
+    private final double speed;
+    private final Executor executor;
+
+    private JournalReplay(Builder builder) {
+        this.mode = builder.mode;
+        this.heatingModules = requireNonNull(builder.heatingModules, "heatingModules");
+        this.fans = requireNonNull(builder.fans, "fans");
+        if (builder.speed < 0 || Double.isNaN(builder.speed)) {
+            throw new IllegalArgumentException("speed must not be negative: " + builder.speed);
+        }
+        this.speed = builder.speed;
+        this.executor = builder.executor;
+    }
+
+    public ReplayReport replay(Path directory) throws IOException {
+        return replay(RecordedJournal.read(directory));
+    }
+
+    public ReplayReport replay(RecordedJournal journal) {
+        List<Integer> ovenIds = journal.ovenIds();
+        ExecutorService owned = executor == null && !ovenIds.isEmpty() ? newPool(ovenIds.size()) : null;
+        Executor target = owned != null ? owned : executor;
+        long start = System.nanoTime();
+        try {
+            List<CompletableFuture<OvenReplay>> pending = new ArrayList<>(ovenIds.size());
+            for (int ovenId : ovenIds) {
+                pending.add(CompletableFuture.supplyAsync(() -> replayOven(journal, ovenId), target));
+            }
+            List<OvenReplay> ovens = new ArrayList<>(pending.size());
+            for (CompletableFuture<OvenReplay> replay : pending) {
+                ovens.add(join(replay));
+            }
+            return new ReplayReport(ovens, System.nanoTime() - start);
+        } finally {
+            if (owned != null) {
+                owned.shutdown();
+            }
+        }
+    }
+
+    private OvenReplay replayOven(RecordedJournal journal, int ovenId) {
+        CommandTrace recorded = journal.trace(ovenId);
+        CapturingDevices devices = new CapturingDevices(requireNonNull(heatingModules.apply(ovenId)),
+                requireNonNull(fans.apply(ovenId)));
+        long firstTimestamp = recorded.size() > 0 ? recorded.getTimestampNanos(0) : 0;
+        long start = System.nanoTime();
+        int programs = 0;
+        if (mode == ReplayMode.DEVICES) {
+            for (int index = 0; index < recorded.size(); index++) {
+                pace(start, recorded.getTimestampNanos(index) - firstTimestamp);
+                issue(recorded, index, devices);
+            }
+        } else {
+            Oven oven = new Oven(devices.heatingModule(), devices.fan());
+            for (RebuiltProgram program : journal.rebuiltPrograms(ovenId)) {
+                pace(start, program.getStartNanos() - firstTimestamp);
+                try {
+                    oven.runProgram(program.getProgram());
+                } catch (OvenException e) {
+                    // recorded or not, a failure is part of the command stream compared below
+                }
+                programs++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        CommandTrace replayed = devices.trace();
+        return new OvenReplay(ovenId, recorded.size(), replayed.size(), programs, elapsed, compare(recorded, replayed));
+    }
+
+    private void pace(long start, long recordedOffsetNanos) {
+        if (speed == 0) {
+            return;
+        }
+        long due = start + (long) (recordedOffsetNanos / speed);
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void issue(CommandTrace recorded, int index, CapturingDevices devices) {
+        try {
+            switch (recorded.getCommand(index)) {
+                case HEATER:
+                    devices.heatingModule()
+                           .heater(recorded.getSettings(index));
+                    break;
+                case GRILL:
+                    devices.heatingModule()
+                           .grill(recorded.getSettings(index));
+                    break;
+                case TERMAL_CIRCUIT:
+                    devices.heatingModule()
+                           .termalCircuit(recorded.getSettings(index));
+                    break;
+                case FAN_ON:
+                    devices.fan()
+                           .on();
+                    break;
+                case FAN_OFF:
+                    devices.fan()
+                           .off();
+                    break;
+                default:
+                    throw new IllegalStateException("unknown command " + recorded.getCommand(index));
+            }
+        } catch (HeatingException e) {
+            // captured as a failed command
+        }
+    }
+
+    private static Divergence compare(CommandTrace recorded, CommandTrace replayed) {
+        int common = Math.min(recorded.size(), replayed.size());
+        for (int index = 0; index < common; index++) {
+            if (!recorded.sameCommand(index, replayed, index)) {
+                return new Divergence(index, recorded.describe(index), replayed.describe(index));
+            }
+        }
+        if (recorded.size() != replayed.size()) {
+            return new Divergence(common, recorded.describe(common), replayed.describe(common));
+        }
+        return null;
+    }
+
+    private static OvenReplay join(CompletableFuture<OvenReplay> replay) {
+        try {
+            return replay.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ExecutorService newPool(int ovens) {
+        int threads = Math.min(ovens, Runtime.getRuntime()
+                                             .availableProcessors());
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "journal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private ReplayMode mode = ReplayMode.OVEN;
+        private IntFunction<HeatingModule> heatingModules;
+        private IntFunction<Fan> fans;
+        private double speed;
+        private Executor executor;
+
+        private Builder() {}
+
+        public Builder withMode(ReplayMode mode) {
+            this.mode = requireNonNull(mode);
+            return this;
+        }
+
+        /**
+         * Target heating module for each oven id; called once per oven and replay.
+         */
+        public Builder withHeatingModules(IntFunction<HeatingModule> heatingModules) {
+            this.heatingModules = requireNonNull(heatingModules);
+            return this;
+        }
+
+        /**
+         * Target fan for each oven id; called once per oven and replay.
+         */
+        public Builder withFans(IntFunction<Fan> fans) {
+            this.fans = requireNonNull(fans);
+            return this;
+        }
+
+        /**
+         * Replay speed relative to the recording: 1 keeps the recorded gaps, 10 replays ten times faster. The default
+         * of 0 replays as fast as the targets allow.
+         */
+        public Builder withSpeed(double speed) {
+            this.speed = speed;
+            return this;
+        }
+
+        /**
+         * Executor running the per-oven replays; by default a pool private to each replay is used.
+         */
+        public Builder withExecutor(Executor executor) {
+            this.executor = requireNonNull(executor);
+            return this;
+        }
+
+        public JournalReplay build() {
+            return new JournalReplay(this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package edu.iis.mto.oven.replay;
+
+import java.util.Optional;
+
+public class OvenReplay {
+
+    private final int ovenId;
+    private final int recordedCommands;
+    private final int replayedCommands;
+    private final int programs;
+    private final long elapsedNanos;
+    private final Divergence divergence;
+
+    OvenReplay(int ovenId, int recordedCommands, int replayedCommands, int programs, long elapsedNanos,
+            Divergence divergence) {
+        this.ovenId = ovenId;
+        this.recordedCommands = recordedCommands;
+        this.replayedCommands = replayedCommands;
+        this.programs = programs;
+        this.elapsedNanos = elapsedNanos;
+        this.divergence = divergence;
+    }
+
+    public int getOvenId() {
+        return ovenId;
+    }
+
+    public int getRecordedCommands() {
+        return recordedCommands;
+    }
+
+    public int getReplayedCommands() {
+        return replayedCommands;
+    }
+
+    /**
+     * Programs run through the oven; zero when replaying straight to the devices.
+     */
+    public int getPrograms() {
+        return programs;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Optional<Divergence> getDivergence() {
+        return Optional.ofNullable(divergence);
+    }
+
+    @Override
+    public String toString() {
+        return "OvenReplay [ovenId=" + ovenId + ", recordedCommands=" + recordedCommands + ", replayedCommands="
+               + replayedCommands + ", programs=" + programs + ", elapsedNanos=" + elapsedNanos + ", divergence="
+               + divergence + "]";
+    }
+}
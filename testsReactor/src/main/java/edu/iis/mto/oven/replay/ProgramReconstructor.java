@@ -0,0 +1,110 @@
+package edu.iis.mto.oven.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.ProgramStage;
+import edu.iis.mto.oven.journal.JournalCommand;
+import edu.iis.mto.oven.registry.ProgramRegistry;
+
+/**
+ * Inverts the command pattern of {@link Oven}: a heater command with {@link Oven#HEAT_UP_AND_FINISH_SETTING_TIME}
+ * is a preheat and starts a program, {@code FAN_ON, TERMAL_CIRCUIT[, FAN_OFF]} is a thermo-circulation stage, a lone
+ * {@code FAN_ON} is the final cooling, a lone {@code FAN_OFF} belongs to the following stage and a failed command ends
+ * the program it belongs to. Programs that neither preheat nor cool merge with their neighbour; running the merged
+ * program issues the very same device commands.
+ */
+final class ProgramReconstructor {
+
+    private ProgramReconstructor() {}
+
+    static List<RebuiltProgram> rebuild(CommandTrace trace, ProgramRegistry registry) {
+        List<RebuiltProgram> programs = new ArrayList<>();
+        Draft draft = null;
+        int index = 0;
+        while (index < trace.size()) {
+            JournalCommand command = trace.getCommand(index);
+            HeatingSettings settings = trace.getSettings(index);
+            if (command == JournalCommand.HEATER && settings.getTimeInMinutes() == Oven.HEAT_UP_AND_FINISH_SETTING_TIME) {
+                finish(programs, draft, false, registry);
+                draft = new Draft(settings.getTargetTemp(), trace.getTimestampNanos(index));
+            } else if (command == JournalCommand.FAN_ON && next(trace, index) == JournalCommand.TERMAL_CIRCUIT) {
+                draft = started(draft, trace, index);
+                index++;
+                draft.add(HeatType.THERMO_CIRCULATION, trace.getSettings(index));
+                if (!trace.isFailed(index) && next(trace, index) == JournalCommand.FAN_OFF) {
+                    index++;
+                }
+            } else if (command == JournalCommand.FAN_ON) {
+                finish(programs, started(draft, trace, index), true, registry);
+                draft = null;
+            } else if (command != JournalCommand.FAN_OFF) {
+                draft = started(draft, trace, index);
+                draft.add(heatOf(command), settings);
+            }
+            if (trace.isFailed(index)) {
+                finish(programs, draft, false, registry);
+                draft = null;
+            }
+            index++;
+        }
+        finish(programs, draft, false, registry);
+        return programs;
+    }
+
+    private static Draft started(Draft draft, CommandTrace trace, int index) {
+        return draft != null ? draft : new Draft(0, trace.getTimestampNanos(index));
+    }
+
+    private static JournalCommand next(CommandTrace trace, int index) {
+        return index + 1 < trace.size() ? trace.getCommand(index + 1) : null;
+    }
+
+    private static HeatType heatOf(JournalCommand command) {
+        switch (command) {
+            case GRILL:
+                return HeatType.GRILL;
+            case TERMAL_CIRCUIT:
+                return HeatType.THERMO_CIRCULATION;
+            default:
+                return HeatType.HEATER;
+        }
+    }
+
+    private static void finish(List<RebuiltProgram> programs, Draft draft, boolean coolAtFinish,
+            ProgramRegistry registry) {
+        if (draft == null) {
+            return;
+        }
+        BakingProgram program = BakingProgram.builder()
+                                             .withInitialTemp(draft.initialTemp)
+                                             .withStages(draft.stages)
+                                             .withCoolAtFinish(coolAtFinish)
+                                             .build();
+        programs.add(new RebuiltProgram(registry.intern(program), draft.startNanos));
+    }
+
+    private static final class Draft {
+
+        private final int initialTemp;
+        private final long startNanos;
+        private final List<ProgramStage> stages = new ArrayList<>();
+
+        private Draft(int initialTemp, long startNanos) {
+            this.initialTemp = initialTemp;
+            this.startNanos = startNanos;
+        }
+
+        private void add(HeatType heat, HeatingSettings settings) {
+            stages.add(ProgramStage.builder()
+                                   .withHeat(heat)
+                                   .withTargetTemp(settings.getTargetTemp())
+                                   .withStageTime(settings.getTimeInMinutes())
+                                   .build());
+        }
+    }
+}
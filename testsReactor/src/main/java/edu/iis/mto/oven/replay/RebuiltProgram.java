@@ -0,0 +1,22 @@
+package edu.iis.mto.oven.replay;
+
+import edu.iis.mto.oven.BakingProgram;
+
+class RebuiltProgram {
+
+    private final BakingProgram program;
+    private final long startNanos;
+
+    RebuiltProgram(BakingProgram program, long startNanos) {
+        this.program = program;
+        this.startNanos = startNanos;
+    }
+
+    BakingProgram getProgram() {
+        return program;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.iis.mto.oven.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.journal.JournalReader;
+import edu.iis.mto.oven.journal.JournalRecord;
+import edu.iis.mto.oven.registry.ProgramRegistry;
+
+/**
+ * A command journal loaded into memory and split by oven. Equal heating settings and rebuilt programs are interned in
+ * a {@link ProgramRegistry}, so a long journal of repetitive programs keeps one copy of each.
+ */
+public class RecordedJournal {
+
+    private final Map<Integer, CommandTrace> traces;
+    private final ProgramRegistry registry;
+    private final Map<Integer, List<RebuiltProgram>> programs = new TreeMap<>();
+
+    private RecordedJournal(Map<Integer, CommandTrace> traces, ProgramRegistry registry) {
+        this.traces = traces;
+        this.registry = registry;
+    }
+
+    public static RecordedJournal read(Path directory) throws IOException {
+        ProgramRegistry registry = new ProgramRegistry();
+        Map<Integer, CommandTrace> traces = new TreeMap<>();
+        JournalReader reader = JournalReader.open(directory);
+        JournalRecord record = new JournalRecord();
+        while (reader.next(record)) {
+            HeatingSettings settings = record.getCommand()
+                                             .isFanCommand() ? null : registry.intern(record.toSettings());
+            traces.computeIfAbsent(record.getOvenId(), ovenId -> new CommandTrace())
+                  .add(record.getCommand(), settings, record.isFailed(), record.getTimestampNanos());
+        }
+        return new RecordedJournal(traces, registry);
+    }
+
+    public List<Integer> ovenIds() {
+        return List.copyOf(traces.keySet());
+    }
+
+    public CommandTrace trace(int ovenId) {
+        CommandTrace trace = traces.get(ovenId);
+        if (trace == null) {
+            throw new IllegalArgumentException("journal has no commands of oven " + ovenId);
+        }
+        return trace;
+    }
+
+    /**
+     * Programs whose runs produced the oven's recorded commands, in run order. See {@link ProgramReconstructor} for how
+     * boundaries between programs are found.
+     */
+    public List<BakingProgram> programs(int ovenId) {
+        List<BakingProgram> result = new ArrayList<>();
+        for (RebuiltProgram rebuilt : rebuiltPrograms(ovenId)) {
+            result.add(rebuilt.getProgram());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    synchronized List<RebuiltProgram> rebuiltPrograms(int ovenId) {
+        return programs.computeIfAbsent(ovenId, id -> ProgramReconstructor.rebuild(trace(id), registry));
+    }
+}
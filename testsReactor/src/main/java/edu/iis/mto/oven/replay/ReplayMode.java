@@ -0,0 +1,15 @@
+package edu.iis.mto.oven.replay;
+
+import edu.iis.mto.oven.Oven;
+
+public enum ReplayMode {
+
+    /**
+     * Rebuilds the recorded programs and runs them through a fresh {@link Oven} per oven id.
+     */
+    OVEN,
+    /**
+     * Issues every recorded command straight to the target devices, failed ones included.
+     */
+    DEVICES
+}
@@ -0,0 +1,49 @@
+package edu.iis.mto.oven.replay;
+
+import java.util.List;
+
+public class ReplayReport {
+
+    private final List<OvenReplay> ovens;
+    private final long elapsedNanos;
+
+    ReplayReport(List<OvenReplay> ovens, long elapsedNanos) {
+        this.ovens = List.copyOf(ovens);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<OvenReplay> getOvens() {
+        return ovens;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean hasDivergence() {
+        for (OvenReplay oven : ovens) {
+            if (oven.getDivergence()
+                    .isPresent()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getReplayedCommands() {
+        long replayed = 0;
+        for (OvenReplay oven : ovens) {
+            replayed += oven.getReplayedCommands();
+        }
+        return replayed;
+    }
+
+    public double getCommandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : getReplayedCommands() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayReport [ovens=" + ovens + ", elapsedNanos=" + elapsedNanos + "]";
+    }
+}
@@ -0,0 +1,93 @@
+package edu.iis.mto.oven.ring;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.iis.mto.oven.BakingProgram;
+
+/**
+ * Bounded multi-producer, single-consumer ring of pre-allocated slots. Producers claim a sequence with a CAS on the
+ * shared cursor; every slot carries its own sequence number which tells both sides whose turn it is, so neither
+ * producers nor the consumer ever take a lock.
+ */
+final class CommandRing {
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    CommandRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("ring capacity must be a positive power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Publishes the command, or returns false when every slot is taken.
+     */
+    boolean tryPublish(BakingProgram program, CompletableFuture<Void> result) {
+        long sequence = claimed.get();
+        while (true) {
+            Slot slot = slots[(int) sequence & mask];
+            long turn = slot.sequence - sequence;
+            if (turn == 0) {
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    slot.program = program;
+                    slot.result = result;
+                    slot.sequence = sequence + 1;
+                    return true;
+                }
+                sequence = claimed.get();
+            } else if (turn < 0) {
+                return false;
+            } else {
+                sequence = claimed.get();
+            }
+        }
+    }
+
+    /**
+     * Consumer side: the next published slot, or null when the ring is empty. The slot stays owned by the consumer
+     * until {@link #release(Slot)}.
+     */
+    Slot peek() {
+        Slot slot = slots[(int) consumed & mask];
+        return slot.sequence == consumed + 1 ? slot : null;
+    }
+
+    void release(Slot slot) {
+        slot.program = null;
+        slot.result = null;
+        long next = consumed + 1;
+        slot.sequence = next - 1 + slots.length;
+        consumed = next;
+    }
+
+    /**
+     * Commands published or claimed but not yet consumed; a snapshot for monitoring only.
+     */
+    int size() {
+        return (int) Math.max(0, claimed.get() - consumed);
+    }
+
+    static final class Slot {
+
+        private volatile long sequence;
+        BakingProgram program;
+        CompletableFuture<Void> result;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package edu.iis.mto.oven.ring;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenMetrics;
+
+/**
+ * Thread-safe front of a single {@link Oven}. Any number of threads may submit programs; they are published into a
+ * pre-allocated {@link CommandRing} without locking and a single consumer thread runs them one after another, so
+ * fan and heating commands of different programs never interleave. When the ring is full producers wait according to
+ * the configured {@link WaitStrategy}, or get an empty result from {@link #trySubmit(BakingProgram)}.
+ */
+public class RingBufferOven implements AutoCloseable {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final Oven oven;
+    private final CommandRing ring;
+    private final WaitStrategy waitStrategy;
+    private final CompletableFuture<Void> poison = new CompletableFuture<>();
+    private final AtomicInteger publishers = new AtomicInteger();
+    private final Thread consumer;
+    private volatile boolean closed;
+
+    private RingBufferOven(Builder builder) {
+        this.oven = new Oven(requireNonNull(builder.heatingModule, "heatingModule"), requireNonNull(builder.fan, "fan"),
+                builder.metrics);
+        this.ring = new CommandRing(builder.capacity);
+        this.waitStrategy = builder.waitStrategy;
+        this.consumer = builder.threadFactory.newThread(this::consume);
+        consumer.setName("oven-ring-consumer");
+        consumer.start();
+    }
+
+    /**
+     * Queues the program, waiting for a free slot when the ring is full.
+     */
+    public CompletableFuture<Void> submit(BakingProgram program) throws InterruptedException {
+        requireNonNull(program);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enter();
+        try {
+            publish(program, result);
+        } finally {
+            publishers.decrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Queues the program, or returns empty when the ring is full.
+     */
+    public Optional<CompletableFuture<Void>> trySubmit(BakingProgram program) {
+        requireNonNull(program);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enter();
+        try {
+            if (!ring.tryPublish(program, result)) {
+                return Optional.empty();
+            }
+        } finally {
+            publishers.decrementAndGet();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Runs the program on the consumer thread and waits for it, rethrowing the failure the oven reported.
+     */
+    public void runProgram(BakingProgram program) throws InterruptedException {
+        try {
+            submit(program).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public int capacity() {
+        return ring.capacity();
+    }
+
+    public int queueDepth() {
+        return ring.size();
+    }
+
+    /**
+     * Stops accepting programs, lets the consumer finish everything already published and waits for it to exit.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            publish(null, poison);
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private void publish(BakingProgram program, CompletableFuture<Void> result) throws InterruptedException {
+        int attempt = 0;
+        while (!ring.tryPublish(program, result)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt);
+            attempt = WaitStrategy.next(attempt);
+        }
+    }
+
+    private void consume() {
+        try {
+            consumeUntilPoison();
+        } finally {
+            closed = true;
+            rejectRemaining();
+        }
+    }
+
+    private void consumeUntilPoison() {
+        int attempt = 0;
+        while (true) {
+            CommandRing.Slot slot = ring.peek();
+            if (slot == null) {
+                waitStrategy.idle(attempt);
+                attempt = WaitStrategy.next(attempt);
+                continue;
+            }
+            attempt = 0;
+            BakingProgram program = slot.program;
+            CompletableFuture<Void> result = slot.result;
+            ring.release(slot);
+            if (result == poison) {
+                break;
+            }
+            execute(program, result);
+        }
+    }
+
+    private void execute(BakingProgram program, CompletableFuture<Void> result) {
+        try {
+            oven.runProgram(program);
+            result.complete(null);
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+            if (e instanceof VirtualMachineError) {
+                throw (VirtualMachineError) e;
+            }
+        }
+    }
+
+    /**
+     * Rejects whatever is left in the ring. Producers that passed {@link #enter()} before the ring closed may still
+     * publish behind the poison, so the consumer keeps draining until the last of them has left.
+     */
+    private void rejectRemaining() {
+        int attempt = 0;
+        while (true) {
+            boolean lastPass = publishers.get() == 0;
+            CommandRing.Slot slot = ring.peek();
+            if (slot != null) {
+                CompletableFuture<Void> result = slot.result;
+                ring.release(slot);
+                result.completeExceptionally(new RejectedExecutionException("oven ring closed"));
+                attempt = 0;
+            } else if (lastPass) {
+                return;
+            } else {
+                waitStrategy.idle(attempt);
+                attempt = WaitStrategy.next(attempt);
+            }
+        }
+    }
+
+    /**
+     * Registers a producer before it publishes; the count is raised before {@code closed} is read, so the consumer
+     * either sees the producer in flight or the producer sees the ring closed.
+     */
+    private void enter() {
+        publishers.incrementAndGet();
+        if (closed) {
+            publishers.decrementAndGet();
+            throw new IllegalStateException("oven ring is closed");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private HeatingModule heatingModule;
+        private Fan fan;
+        private OvenMetrics metrics = OvenMetrics.NONE;
+        private int capacity = DEFAULT_CAPACITY;
+        private WaitStrategy waitStrategy = WaitStrategy.PARK;
+        private ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder() {}
+
+        public Builder withHeatingModule(HeatingModule heatingModule) {
+            this.heatingModule = requireNonNull(heatingModule);
+            return this;
+        }
+
+        public Builder withFan(Fan fan) {
+            this.fan = requireNonNull(fan);
+            return this;
+        }
+
+        public Builder withMetrics(OvenMetrics metrics) {
+            this.metrics = requireNonNull(metrics);
+            return this;
+        }
+
+        /**
+         * Number of pre-allocated slots; must be a power of two.
+         */
+        public Builder withCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Defaults to {@link WaitStrategy#PARK}, so an idle oven does not keep a core busy.
+         */
+        public Builder withWaitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = requireNonNull(waitStrategy);
+            return this;
+        }
+
+        public Builder withThreadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = requireNonNull(threadFactory);
+            return this;
+        }
+
+        public RingBufferOven build() {
+            return new RingBufferOven(this);
+        }
+    }
+}
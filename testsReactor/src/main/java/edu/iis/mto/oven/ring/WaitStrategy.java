@@ -0,0 +1,64 @@
+package edu.iis.mto.oven.ring;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits for the ring: the consumer while it is empty, producers while it is full. The attempt counter
+ * restarts at zero every time the thread makes progress.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the CPU; lowest hand-off latency, burns a core per waiting thread.
+     */
+    BUSY_SPIN {
+
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    /**
+     * Spins briefly, then yields the CPU to other runnable threads.
+     */
+    YIELD {
+
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    /**
+     * Spins, yields, then parks for short intervals; cheapest on an idle oven at the cost of wake-up latency.
+     */
+    PARK {
+
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    abstract void idle(int attempt);
+
+    /**
+     * The attempt after the given one, saturating instead of wrapping around to negative values on a long wait.
+     */
+    static int next(int attempt) {
+        return attempt == Integer.MAX_VALUE ? attempt : attempt + 1;
+    }
+}
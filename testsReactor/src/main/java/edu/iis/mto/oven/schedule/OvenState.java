@@ -0,0 +1,47 @@
+package edu.iis.mto.oven.schedule;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Thermal state an oven is predicted to be in between programs: the last commanded temperature and heat type.
+ */
+public class OvenState {
+
+    public static final OvenState COLD = new OvenState(0, null);
+
+    private final int temp;
+    private final HeatType heat;
+
+    public OvenState(int temp, HeatType heat) {
+        this.temp = temp;
+        this.heat = heat;
+    }
+
+    public int getTemp() {
+        return temp;
+    }
+
+    /**
+     * Last heat type used, {@code null} for an oven that has not run anything yet.
+     */
+    public HeatType getHeat() {
+        return heat;
+    }
+
+    OvenState after(BakingProgram program) {
+        int lastTemp = program.getInitialTemp() > 0 ? program.getInitialTemp() : temp;
+        HeatType lastHeat = program.getInitialTemp() > 0 ? HeatType.HEATER : heat;
+        for (ProgramStage stage : program) {
+            lastTemp = stage.getTargetTemp();
+            lastHeat = stage.getHeat();
+        }
+        return new OvenState(lastTemp, lastHeat);
+    }
+
+    @Override
+    public String toString() {
+        return "OvenState [temp=" + temp + ", heat=" + heat + "]";
+    }
+}
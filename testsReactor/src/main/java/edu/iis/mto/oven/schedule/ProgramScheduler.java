@@ -0,0 +1,163 @@
+package edu.iis.mto.oven.schedule;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * List scheduler assigning queued programs to ovens. Whenever an oven becomes free it takes, among the first
+ * {@code lookahead} queued programs, the one with the cheapest transition from its current state; ties go to the
+ * program queued first. With a lookahead of one this is plain FIFO. Program duration is the sum of its stage times.
+ */
+public class ProgramScheduler {
+
+    static final int DEFAULT_LOOKAHEAD = 64;
+
+    private final int ovens;
+    private final TransitionCost cost;
+    private final int lookahead;
+    private final List<OvenState> initialStates;
+
+    private ProgramScheduler(Builder builder) {
+        this.ovens = builder.ovens;
+        this.cost = builder.cost;
+        this.lookahead = builder.lookahead;
+        this.initialStates = new ArrayList<>(builder.initialStates);
+        while (initialStates.size() < ovens) {
+            initialStates.add(OvenState.COLD);
+        }
+    }
+
+    public Schedule schedule(List<BakingProgram> queue) {
+        return schedule(queue, lookahead);
+    }
+
+    public Schedule fifo(List<BakingProgram> queue) {
+        return schedule(queue, 1);
+    }
+
+    /**
+     * Schedules the queue both FIFO and transition-aware without running anything.
+     */
+    public ScheduleComparison compareWithFifo(List<BakingProgram> queue) {
+        return new ScheduleComparison(fifo(queue), schedule(queue));
+    }
+
+    private Schedule schedule(List<BakingProgram> queue, int window) {
+        LinkedList<Integer> pending = new LinkedList<>();
+        for (int i = 0; i < queue.size(); i++) {
+            pending.add(i);
+        }
+        List<List<ScheduledProgram>> assigned = new ArrayList<>(ovens);
+        OvenState[] states = new OvenState[ovens];
+        double[] freeAt = new double[ovens];
+        for (int oven = 0; oven < ovens; oven++) {
+            assigned.add(new ArrayList<>());
+            states[oven] = initialStates.get(oven);
+        }
+
+        while (!pending.isEmpty()) {
+            int oven = earliestFree(freeAt);
+            ListIterator<Integer> candidates = pending.listIterator();
+            int best = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+            for (int seen = 0; seen < window && candidates.hasNext(); seen++) {
+                int candidate = candidates.next();
+                double transition = transitionMinutes(states[oven], queue.get(candidate));
+                if (transition < bestCost) {
+                    bestCost = transition;
+                    best = candidate;
+                }
+            }
+            pending.remove(Integer.valueOf(best));
+            BakingProgram program = queue.get(best);
+            ScheduledProgram scheduled = new ScheduledProgram(program, best, freeAt[oven], bestCost,
+                    durationMinutes(program));
+            assigned.get(oven)
+                    .add(scheduled);
+            freeAt[oven] = scheduled.getEndMinute();
+            states[oven] = states[oven].after(program);
+        }
+        return new Schedule(assigned);
+    }
+
+    private double transitionMinutes(OvenState from, BakingProgram next) {
+        double minutes = cost.minutes(from, next);
+        if (!(minutes >= 0) || Double.isInfinite(minutes)) {
+            throw new IllegalArgumentException("transition cost must be finite and non-negative: " + minutes);
+        }
+        return minutes;
+    }
+
+    private static int earliestFree(double[] freeAt) {
+        int earliest = 0;
+        for (int oven = 1; oven < freeAt.length; oven++) {
+            if (freeAt[oven] < freeAt[earliest]) {
+                earliest = oven;
+            }
+        }
+        return earliest;
+    }
+
+    private static double durationMinutes(BakingProgram program) {
+        double minutes = 0;
+        for (ProgramStage stage : program) {
+            minutes += stage.getStageTime();
+        }
+        return minutes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private int ovens = 1;
+        private TransitionCost cost = TemperatureTransitionCost.builder()
+                                                               .build();
+        private int lookahead = DEFAULT_LOOKAHEAD;
+        private final List<OvenState> initialStates = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder withOvens(int ovens) {
+            this.ovens = ovens;
+            return this;
+        }
+
+        public Builder withTransitionCost(TransitionCost cost) {
+            this.cost = requireNonNull(cost);
+            return this;
+        }
+
+        public Builder withLookahead(int lookahead) {
+            this.lookahead = lookahead;
+            return this;
+        }
+
+        public Builder withInitialState(OvenState state) {
+            initialStates.add(requireNonNull(state));
+            return this;
+        }
+
+        public ProgramScheduler build() {
+            if (ovens <= 0) {
+                throw new IllegalArgumentException("scheduler needs at least one oven");
+            }
+            if (lookahead <= 0) {
+                throw new IllegalArgumentException("lookahead must be positive: " + lookahead);
+            }
+            if (initialStates.size() > ovens) {
+                throw new IllegalArgumentException("more initial states than ovens");
+            }
+            return new ProgramScheduler(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package edu.iis.mto.oven.schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import edu.iis.mto.oven.fleet.OvenFleet;
+
+/**
+ * Predicted assignment of queued programs to ovens.
+ */
+public class Schedule {
+
+    private final List<List<ScheduledProgram>> ovens;
+
+    Schedule(List<List<ScheduledProgram>> ovens) {
+        List<List<ScheduledProgram>> copy = new ArrayList<>(ovens.size());
+        for (List<ScheduledProgram> oven : ovens) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(oven)));
+        }
+        this.ovens = Collections.unmodifiableList(copy);
+    }
+
+    public int getOvenCount() {
+        return ovens.size();
+    }
+
+    public List<ScheduledProgram> getPrograms(int oven) {
+        return ovens.get(oven);
+    }
+
+    public double getMakespanMinutes() {
+        double makespan = 0;
+        for (int oven = 0; oven < ovens.size(); oven++) {
+            makespan = Math.max(makespan, getFinishMinute(oven));
+        }
+        return makespan;
+    }
+
+    public double getFinishMinute(int oven) {
+        List<ScheduledProgram> programs = ovens.get(oven);
+        return programs.isEmpty() ? 0 : programs.get(programs.size() - 1)
+                                                .getEndMinute();
+    }
+
+    /**
+     * Share of the makespan the oven spends running program stages, transitions excluded.
+     */
+    public double getUtilization(int oven) {
+        double makespan = getMakespanMinutes();
+        if (makespan == 0) {
+            return 0;
+        }
+        double busy = 0;
+        for (ScheduledProgram program : ovens.get(oven)) {
+            busy += program.getDurationMinutes();
+        }
+        return busy / makespan;
+    }
+
+    public double getTotalTransitionMinutes() {
+        double total = 0;
+        for (List<ScheduledProgram> programs : ovens) {
+            for (ScheduledProgram program : programs) {
+                total += program.getTransitionMinutes();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Submits every oven's programs, in scheduled order, to the fleet oven with the same index.
+     */
+    public List<CompletableFuture<Void>> submitTo(OvenFleet fleet) throws InterruptedException {
+        if (fleet.size() < ovens.size()) {
+            throw new IllegalArgumentException(
+                    "schedule needs " + ovens.size() + " ovens but the fleet has " + fleet.size());
+        }
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        int remaining = 0;
+        for (List<ScheduledProgram> programs : ovens) {
+            remaining = Math.max(remaining, programs.size());
+        }
+        for (int position = 0; position < remaining; position++) {
+            for (int oven = 0; oven < ovens.size(); oven++) {
+                List<ScheduledProgram> programs = ovens.get(oven);
+                if (position < programs.size()) {
+                    results.add(fleet.submit(oven, programs.get(position)
+                                                           .getProgram()));
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "Schedule [ovens=" + ovens.size() + ", makespanMinutes=" + getMakespanMinutes()
+               + ", totalTransitionMinutes=" + getTotalTransitionMinutes() + "]";
+    }
+}
@@ -0,0 +1,33 @@
+package edu.iis.mto.oven.schedule;
+
+public class ScheduleComparison {
+
+    private final Schedule fifo;
+    private final Schedule optimized;
+
+    ScheduleComparison(Schedule fifo, Schedule optimized) {
+        this.fifo = fifo;
+        this.optimized = optimized;
+    }
+
+    public Schedule getFifo() {
+        return fifo;
+    }
+
+    public Schedule getOptimized() {
+        return optimized;
+    }
+
+    public double getMakespanSavedMinutes() {
+        return fifo.getMakespanMinutes() - optimized.getMakespanMinutes();
+    }
+
+    public double getTransitionSavedMinutes() {
+        return fifo.getTotalTransitionMinutes() - optimized.getTotalTransitionMinutes();
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleComparison [fifo=" + fifo + ", optimized=" + optimized + "]";
+    }
+}
@@ -0,0 +1,57 @@
+package edu.iis.mto.oven.schedule;
+
+import edu.iis.mto.oven.BakingProgram;
+
+public class ScheduledProgram {
+
+    private final BakingProgram program;
+    private final int queueIndex;
+    private final double startMinute;
+    private final double transitionMinutes;
+    private final double durationMinutes;
+
+    ScheduledProgram(BakingProgram program, int queueIndex, double startMinute, double transitionMinutes,
+            double durationMinutes) {
+        this.program = program;
+        this.queueIndex = queueIndex;
+        this.startMinute = startMinute;
+        this.transitionMinutes = transitionMinutes;
+        this.durationMinutes = durationMinutes;
+    }
+
+    public BakingProgram getProgram() {
+        return program;
+    }
+
+    /**
+     * Position of the program in the queue handed to the scheduler.
+     */
+    public int getQueueIndex() {
+        return queueIndex;
+    }
+
+    /**
+     * Minute the transition into this program starts at.
+     */
+    public double getStartMinute() {
+        return startMinute;
+    }
+
+    public double getTransitionMinutes() {
+        return transitionMinutes;
+    }
+
+    public double getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public double getEndMinute() {
+        return startMinute + transitionMinutes + durationMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledProgram [queueIndex=" + queueIndex + ", startMinute=" + startMinute + ", transitionMinutes="
+               + transitionMinutes + ", durationMinutes=" + durationMinutes + "]";
+    }
+}
@@ -0,0 +1,76 @@
+package edu.iis.mto.oven.schedule;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * Default {@link TransitionCost}: linear heat-up or cool-down from the oven's last temperature to the temperature the
+ * next program starts at, plus a fixed penalty when the heat type changes.
+ */
+public class TemperatureTransitionCost implements TransitionCost {
+
+    private final double heatUpMinutesPerDegree;
+    private final double coolDownMinutesPerDegree;
+    private final double heatChangeMinutes;
+
+    private TemperatureTransitionCost(Builder builder) {
+        this.heatUpMinutesPerDegree = builder.heatUpMinutesPerDegree;
+        this.coolDownMinutesPerDegree = builder.coolDownMinutesPerDegree;
+        this.heatChangeMinutes = builder.heatChangeMinutes;
+    }
+
+    @Override
+    public double minutes(OvenState from, BakingProgram next) {
+        int startTemp = from.getTemp();
+        HeatType startHeat = null;
+        if (next.getInitialTemp() > 0) {
+            startTemp = next.getInitialTemp();
+            startHeat = HeatType.HEATER;
+        } else {
+            for (ProgramStage stage : next) {
+                startTemp = stage.getTargetTemp();
+                startHeat = stage.getHeat();
+                break;
+            }
+        }
+        int delta = startTemp - from.getTemp();
+        double minutes = delta >= 0 ? delta * heatUpMinutesPerDegree : -delta * coolDownMinutesPerDegree;
+        if (from.getHeat() != null && startHeat != null && from.getHeat() != startHeat) {
+            minutes += heatChangeMinutes;
+        }
+        return minutes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private double heatUpMinutesPerDegree = 0.1;
+        private double coolDownMinutesPerDegree = 0.2;
+        private double heatChangeMinutes = 1;
+
+        private Builder() {}
+
+        public Builder withHeatUpMinutesPerDegree(double heatUpMinutesPerDegree) {
+            this.heatUpMinutesPerDegree = heatUpMinutesPerDegree;
+            return this;
+        }
+
+        public Builder withCoolDownMinutesPerDegree(double coolDownMinutesPerDegree) {
+            this.coolDownMinutesPerDegree = coolDownMinutesPerDegree;
+            return this;
+        }
+
+        public Builder withHeatChangeMinutes(double heatChangeMinutes) {
+            this.heatChangeMinutes = heatChangeMinutes;
+            return this;
+        }
+
+        public TemperatureTransitionCost build() {
+            return new TemperatureTransitionCost(this);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package edu.iis.mto.oven.schedule;
+
+import edu.iis.mto.oven.BakingProgram;
+
+/**
+ * Predicted minutes an oven in the given state spends getting ready for the next program. The scheduler rejects
+ * costs that are negative, infinite or NaN.
+ */
+public interface TransitionCost {
+
+    double minutes(OvenState from, BakingProgram next);
+}
@@ -0,0 +1,46 @@
+package edu.iis.mto.oven.sim;
+
+/**
+ * Bounded trace of (simulated time, temperature) samples; once full, the oldest samples are overwritten.
+ */
+public class TemperatureTrace {
+
+    private final long[] timesNanos;
+    private final double[] temperatures;
+    private long recorded;
+
+    TemperatureTrace(int capacity) {
+        this.timesNanos = new long[capacity];
+        this.temperatures = new double[capacity];
+    }
+
+    void record(long timeNanos, double temperature) {
+        if (timesNanos.length == 0) {
+            return;
+        }
+        int slot = (int) (recorded % timesNanos.length);
+        timesNanos[slot] = timeNanos;
+        temperatures[slot] = temperature;
+        recorded++;
+    }
+
+    public int size() {
+        return (int) Math.min(recorded, timesNanos.length);
+    }
+
+    public long getTimeNanos(int sample) {
+        return timesNanos[slot(sample)];
+    }
+
+    public double getTemperature(int sample) {
+        return temperatures[slot(sample)];
+    }
+
+    private int slot(int sample) {
+        if (sample < 0 || sample >= size()) {
+            throw new IndexOutOfBoundsException("no sample " + sample + ", trace holds " + size());
+        }
+        long first = recorded - size();
+        return (int) ((first + sample) % timesNanos.length);
+    }
+}
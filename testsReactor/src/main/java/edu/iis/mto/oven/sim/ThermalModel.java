@@ -0,0 +1,102 @@
+package edu.iis.mto.oven.sim;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * Linear heat-up per {@link HeatType}, linear cool-down towards lower targets and Newtonian cooling to ambient while
+ * idle. Rates are in degrees per minute; a running fan multiplies the thermo circulation rate and the idle cooling
+ * coefficient.
+ */
+public class ThermalModel {
+
+    private final double ambientTemp;
+    private final double[] heatingRates;
+    private final double coolingRate;
+    private final double idleCoolingCoefficient;
+    private final double fanBoost;
+
+    private ThermalModel(Builder builder) {
+        this.ambientTemp = builder.ambientTemp;
+        this.heatingRates = builder.heatingRates.clone();
+        this.coolingRate = builder.coolingRate;
+        this.idleCoolingCoefficient = builder.idleCoolingCoefficient;
+        this.fanBoost = builder.fanBoost;
+    }
+
+    public double getAmbientTemp() {
+        return ambientTemp;
+    }
+
+    public double getHeatingRate(HeatType heat) {
+        return heatingRates[heat.ordinal()];
+    }
+
+    public double getCoolingRate() {
+        return coolingRate;
+    }
+
+    public double getIdleCoolingCoefficient() {
+        return idleCoolingCoefficient;
+    }
+
+    public double getFanBoost() {
+        return fanBoost;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private double ambientTemp = 20;
+        private final double[] heatingRates = new double[HeatType.values().length];
+        private double coolingRate = 5;
+        private double idleCoolingCoefficient = 0.02;
+        private double fanBoost = 1.5;
+
+        private Builder() {
+            heatingRates[HeatType.THERMO_CIRCULATION.ordinal()] = 12;
+            heatingRates[HeatType.HEATER.ordinal()] = 10;
+            heatingRates[HeatType.GRILL.ordinal()] = 20;
+        }
+
+        public Builder withAmbientTemp(double ambientTemp) {
+            this.ambientTemp = ambientTemp;
+            return this;
+        }
+
+        public Builder withHeatingRate(HeatType heat, double degreesPerMinute) {
+            heatingRates[requireNonNull(heat).ordinal()] = positive(degreesPerMinute);
+            return this;
+        }
+
+        public Builder withCoolingRate(double degreesPerMinute) {
+            this.coolingRate = positive(degreesPerMinute);
+            return this;
+        }
+
+        public Builder withIdleCoolingCoefficient(double perMinute) {
+            this.idleCoolingCoefficient = positive(perMinute);
+            return this;
+        }
+
+        public Builder withFanBoost(double fanBoost) {
+            this.fanBoost = positive(fanBoost);
+            return this;
+        }
+
+        public ThermalModel build() {
+            return new ThermalModel(this);
+        }
+
+        private static double positive(double value) {
+            if (!(value > 0)) {
+                throw new IllegalArgumentException("rate must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package edu.iis.mto.oven.sim;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+
+/**
+ * One simulated oven cavity exposed through {@link #heatingModule()} and {@link #fan()}. Every command is evaluated in
+ * closed form and moves the {@link VirtualClock} by its simulated duration, so hours of baking take microseconds. A
+ * simulation is not thread-safe; give every oven its own.
+ */
+public class ThermalSimulation {
+
+    private final ThermalModel model;
+    private final VirtualClock clock;
+    private final TemperatureTrace trace;
+    private final double[] failureRates;
+    private final SplittableRandom random;
+    private final HeatingModule heatingModule = new SimulatedHeatingModule();
+    private final Fan fan = new SimulatedFan();
+    private double temperature;
+    private boolean fanOn;
+    private long commands;
+    private long failures;
+
+    private ThermalSimulation(Builder builder) {
+        this.model = builder.model;
+        this.clock = builder.clock;
+        this.trace = new TemperatureTrace(builder.traceCapacity);
+        this.failureRates = builder.failureRates.clone();
+        this.random = new SplittableRandom(builder.seed);
+        this.temperature = model.getAmbientTemp();
+    }
+
+    public HeatingModule heatingModule() {
+        return heatingModule;
+    }
+
+    public Fan fan() {
+        return fan;
+    }
+
+    /**
+     * Lets the cavity cool towards ambient temperature for the given simulated time.
+     */
+    public void idle(double minutes) {
+        double coefficient = model.getIdleCoolingCoefficient() * (fanOn ? model.getFanBoost() : 1);
+        temperature = model.getAmbientTemp() + (temperature - model.getAmbientTemp()) * Math.exp(-coefficient * minutes);
+        clock.advanceMinutes(minutes);
+        trace.record(clock.nanos(), temperature);
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public boolean isFanOn() {
+        return fanOn;
+    }
+
+    public Duration getElapsed() {
+        return clock.elapsed();
+    }
+
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    public TemperatureTrace getTrace() {
+        return trace;
+    }
+
+    public long getCommandCount() {
+        return commands;
+    }
+
+    public long getInjectedFailures() {
+        return failures;
+    }
+
+    private void heat(HeatType heat, HeatingSettings settings) throws HeatingException {
+        commands++;
+        double failureRate = failureRates[heat.ordinal()];
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            failures++;
+            throw new HeatingException();
+        }
+        double rate = model.getHeatingRate(heat);
+        if (heat == HeatType.THERMO_CIRCULATION && fanOn) {
+            rate *= model.getFanBoost();
+        }
+        double target = settings.getTargetTemp();
+        double minutes = settings.getTimeInMinutes();
+        double delta = target - temperature;
+        double speed = delta >= 0 ? rate : model.getCoolingRate();
+        double minutesToTarget = Math.abs(delta) / speed;
+        if (minutes <= 0 || minutesToTarget <= minutes) {
+            temperature = target;
+            clock.advanceMinutes(minutes <= 0 ? minutesToTarget : minutes);
+        } else {
+            temperature += Math.signum(delta) * speed * minutes;
+            clock.advanceMinutes(minutes);
+        }
+        trace.record(clock.nanos(), temperature);
+    }
+
+    private class SimulatedHeatingModule implements HeatingModule {
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {
+            heat(HeatType.THERMO_CIRCULATION, settings);
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            heat(HeatType.HEATER, settings);
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {
+            heat(HeatType.GRILL, settings);
+        }
+    }
+
+    private class SimulatedFan implements Fan {
+
+        @Override
+        public void on() {
+            commands++;
+            fanOn = true;
+        }
+
+        @Override
+        public void off() {
+            commands++;
+            fanOn = false;
+        }
+
+        @Override
+        public boolean isOn() {
+            commands++;
+            return fanOn;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private ThermalModel model = ThermalModel.builder()
+                                                 .build();
+        private VirtualClock clock = new VirtualClock();
+        private int traceCapacity;
+        private final double[] failureRates = new double[HeatType.values().length];
+        private long seed;
+
+        private Builder() {}
+
+        public Builder withModel(ThermalModel model) {
+            this.model = requireNonNull(model);
+            return this;
+        }
+
+        public Builder withClock(VirtualClock clock) {
+            this.clock = requireNonNull(clock);
+            return this;
+        }
+
+        public Builder withTraceCapacity(int traceCapacity) {
+            if (traceCapacity < 0) {
+                throw new IllegalArgumentException("negative trace capacity: " + traceCapacity);
+            }
+            this.traceCapacity = traceCapacity;
+            return this;
+        }
+
+        public Builder withFailureRate(HeatType heat, double failureRate) {
+            if (failureRate < 0 || failureRate > 1) {
+                throw new IllegalArgumentException("failure rate must be within [0, 1]: " + failureRate);
+            }
+            failureRates[requireNonNull(heat).ordinal()] = failureRate;
+            return this;
+        }
+
+        public Builder withFailureRate(double failureRate) {
+            for (HeatType heat : HeatType.values()) {
+                withFailureRate(heat, failureRate);
+            }
+            return this;
+        }
+
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public ThermalSimulation build() {
+            return new ThermalSimulation(this);
+        }
+    }
+}
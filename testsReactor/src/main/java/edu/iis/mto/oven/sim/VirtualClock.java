@@ -0,0 +1,29 @@
+package edu.iis.mto.oven.sim;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulated time that only moves when the simulation advances it.
+ */
+public class VirtualClock {
+
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private long nanos;
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(nanos);
+    }
+
+    public void advanceMinutes(double minutes) {
+        if (minutes < 0) {
+            throw new IllegalArgumentException("cannot move time backwards: " + minutes);
+        }
+        nanos += Math.round(minutes * NANOS_PER_MINUTE);
+    }
+}
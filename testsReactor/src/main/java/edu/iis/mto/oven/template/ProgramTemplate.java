@@ -0,0 +1,237 @@
+package edu.iis.mto.oven.template;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * A recipe defined once and instantiated per order with {@link TemplateParameters}. Stages are kept in primitive
+ * columns; a stage may belong to a named option and is then left out of variants that do not enable it. The most
+ * recently instantiated variants are cached, so repeated orders for the same parameters share one
+ * {@link ProgramVariant} together with its materialized programs.
+ */
+public class ProgramTemplate {
+
+    private static final HeatType[] HEAT_TYPES = HeatType.values();
+    private static final String NO_OPTION = null;
+
+    private final String name;
+    private final int initialTemp;
+    private final boolean coolAtFinish;
+    private final byte[] heatTypes;
+    private final int[] targetTemps;
+    private final int[] stageTimes;
+    private final String[] options;
+    private final Map<TemplateParameters, ProgramVariant> cache;
+    private long cacheHits;
+    private long cacheMisses;
+
+    private ProgramTemplate(Builder builder) {
+        this.name = builder.name;
+        this.initialTemp = builder.initialTemp;
+        this.coolAtFinish = builder.coolAtFinish;
+        int size = builder.heats.size();
+        this.heatTypes = new byte[size];
+        this.targetTemps = new int[size];
+        this.stageTimes = new int[size];
+        this.options = builder.options.toArray(new String[0]);
+        for (int stage = 0; stage < size; stage++) {
+            heatTypes[stage] = (byte) builder.heats.get(stage)
+                                                   .ordinal();
+            targetTemps[stage] = builder.targetTemps.get(stage);
+            stageTimes[stage] = builder.stageTimes.get(stage);
+        }
+        int cacheCapacity = builder.cacheCapacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TemplateParameters, ProgramVariant> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isCoolAtFinish() {
+        return coolAtFinish;
+    }
+
+    /**
+     * Number of stages including all optional ones.
+     */
+    public int size() {
+        return heatTypes.length;
+    }
+
+    public ProgramVariant instantiate() {
+        return instantiate(TemplateParameters.DEFAULT);
+    }
+
+    /**
+     * Returns the cached variant for equal parameters or creates and caches a new one, evicting the least recently
+     * used variant when the cache is full. Parameters that would heat any selected stage, or a preheat, to zero
+     * degrees or below are rejected.
+     */
+    public ProgramVariant instantiate(TemplateParameters parameters) {
+        requireNonNull(parameters);
+        synchronized (cache) {
+            ProgramVariant variant = cache.get(parameters);
+            if (variant != null) {
+                cacheHits++;
+                return variant;
+            }
+            cacheMisses++;
+            int[] stages = selectStages(parameters);
+            checkTemperatures(parameters, stages);
+            variant = new ProgramVariant(this, parameters, stages);
+            cache.put(parameters, variant);
+            return variant;
+        }
+    }
+
+    public int getCachedVariants() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getCacheHits() {
+        synchronized (cache) {
+            return cacheHits;
+        }
+    }
+
+    public long getCacheMisses() {
+        synchronized (cache) {
+            return cacheMisses;
+        }
+    }
+
+    int initialTemp() {
+        return initialTemp;
+    }
+
+    HeatType heat(int stage) {
+        return HEAT_TYPES[heatTypes[stage]];
+    }
+
+    int targetTemp(int stage) {
+        return targetTemps[stage];
+    }
+
+    int stageTime(int stage) {
+        return stageTimes[stage];
+    }
+
+    private int[] selectStages(TemplateParameters parameters) {
+        for (String option : parameters.getOptions()) {
+            if (!Arrays.asList(options)
+                       .contains(option)) {
+                throw new IllegalArgumentException("template " + name + " has no option " + option);
+            }
+        }
+        int count = 0;
+        int[] selected = new int[options.length];
+        for (int stage = 0; stage < options.length; stage++) {
+            if (options[stage] == NO_OPTION || parameters.getOptions()
+                                                         .contains(options[stage])) {
+                selected[count++] = stage;
+            }
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    private void checkTemperatures(TemplateParameters parameters, int[] stages) {
+        if (initialTemp > 0 && parameters.temp(initialTemp) <= 0) {
+            throw new IllegalArgumentException(
+                    "template " + name + " gets non-positive initial temperature from " + parameters);
+        }
+        for (int stage : stages) {
+            if (parameters.temp(targetTemps[stage]) <= 0) {
+                throw new IllegalArgumentException("template " + name + " gets non-positive temperature at stage "
+                                                   + stage + " from " + parameters);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramTemplate [name=" + name + ", initialTemp=" + initialTemp + ", stages=" + size()
+               + ", coolAtFinish=" + coolAtFinish + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private String name = "template";
+        private int initialTemp;
+        private boolean coolAtFinish;
+        private final List<HeatType> heats = new ArrayList<>();
+        private final List<Integer> targetTemps = new ArrayList<>();
+        private final List<Integer> stageTimes = new ArrayList<>();
+        private final List<String> options = new ArrayList<>();
+        private int cacheCapacity = 64;
+
+        private Builder() {}
+
+        public Builder withName(String name) {
+            this.name = requireNonNull(name);
+            return this;
+        }
+
+        public Builder withInitialTemp(int initialTemp) {
+            this.initialTemp = initialTemp;
+            return this;
+        }
+
+        public Builder withCoolAtFinish(boolean coolAtFinish) {
+            this.coolAtFinish = coolAtFinish;
+            return this;
+        }
+
+        public Builder withStage(HeatType heat, int targetTemp, int stageTime) {
+            return stage(heat, targetTemp, stageTime, NO_OPTION);
+        }
+
+        /**
+         * Adds a stage that only variants enabling the option contain; several stages may share an option.
+         */
+        public Builder withOptionalStage(String option, HeatType heat, int targetTemp, int stageTime) {
+            return stage(heat, targetTemp, stageTime, requireNonNull(option));
+        }
+
+        public Builder withCacheCapacity(int cacheCapacity) {
+            if (cacheCapacity <= 0) {
+                throw new IllegalArgumentException("cache capacity must be positive: " + cacheCapacity);
+            }
+            this.cacheCapacity = cacheCapacity;
+            return this;
+        }
+
+        public ProgramTemplate build() {
+            return new ProgramTemplate(this);
+        }
+
+        private Builder stage(HeatType heat, int targetTemp, int stageTime, String option) {
+            heats.add(requireNonNull(heat));
+            targetTemps.add(targetTemp);
+            stageTimes.add(stageTime);
+            options.add(option);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package edu.iis.mto.oven.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.CompiledProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.ProgramStage;
+
+/**
+ * A {@link ProgramTemplate} instantiated with {@link TemplateParameters}. The variant is a view: stage accessors
+ * compute their values from the template's columns on every call and create no objects. The {@link BakingProgram} and
+ * {@link CompiledProgram} forms are built on first use only and then kept, so a variant served from the template's
+ * cache costs its stage objects once.
+ */
+public final class ProgramVariant {
+
+    private final ProgramTemplate template;
+    private final TemplateParameters parameters;
+    private final int[] stages;
+    private volatile BakingProgram program;
+    private volatile CompiledProgram compiled;
+
+    ProgramVariant(ProgramTemplate template, TemplateParameters parameters, int[] stages) {
+        this.template = template;
+        this.parameters = parameters;
+        this.stages = stages;
+    }
+
+    public ProgramTemplate getTemplate() {
+        return template;
+    }
+
+    public TemplateParameters getParameters() {
+        return parameters;
+    }
+
+    public int getInitialTemp() {
+        int initialTemp = template.initialTemp();
+        return initialTemp > 0 ? parameters.temp(initialTemp) : initialTemp;
+    }
+
+    public boolean isCoolAtFinish() {
+        return template.isCoolAtFinish();
+    }
+
+    public int size() {
+        return stages.length;
+    }
+
+    public HeatType getHeat(int stage) {
+        return template.heat(stages[stage]);
+    }
+
+    public int getTargetTemp(int stage) {
+        return parameters.temp(template.targetTemp(stages[stage]));
+    }
+
+    public int getStageTime(int stage) {
+        return parameters.time(template.stageTime(stages[stage]));
+    }
+
+    public BakingProgram toBakingProgram() {
+        BakingProgram result = program;
+        if (result == null) {
+            List<ProgramStage> programStages = new ArrayList<>(stages.length);
+            for (int stage = 0; stage < stages.length; stage++) {
+                programStages.add(ProgramStage.builder()
+                                              .withHeat(getHeat(stage))
+                                              .withTargetTemp(getTargetTemp(stage))
+                                              .withStageTime(getStageTime(stage))
+                                              .build());
+            }
+            result = BakingProgram.builder()
+                                  .withInitialTemp(getInitialTemp())
+                                  .withStages(List.copyOf(programStages))
+                                  .withCoolAtFinish(isCoolAtFinish())
+                                  .build();
+            program = result;
+        }
+        return result;
+    }
+
+    public CompiledProgram compile() {
+        CompiledProgram result = compiled;
+        if (result == null) {
+            result = CompiledProgram.compile(toBakingProgram());
+            compiled = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramVariant [template=" + template.getName() + ", parameters=" + parameters + ", stages="
+               + stages.length + "]";
+    }
+
+}
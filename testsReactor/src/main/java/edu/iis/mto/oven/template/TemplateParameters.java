@@ -0,0 +1,130 @@
+package edu.iis.mto.oven.template;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * How to turn a {@link ProgramTemplate} into a concrete program. Temperatures become
+ * {@code round(temp * tempScale) + tempOffset} and must stay positive, stage times
+ * {@code round(time * timeMultiplier)} but at least one minute, so a timed stage never turns into a heat-up-and-finish
+ * one; optional stages are only part of the program when their option is enabled. Equal parameters instantiate the
+ * same cached variant.
+ */
+public final class TemplateParameters {
+
+    public static final TemplateParameters DEFAULT = builder().build();
+
+    private final int tempOffset;
+    private final double tempScale;
+    private final double timeMultiplier;
+    private final Set<String> options;
+    private final int hash;
+
+    private TemplateParameters(Builder builder) {
+        this.tempOffset = builder.tempOffset;
+        this.tempScale = builder.tempScale;
+        this.timeMultiplier = builder.timeMultiplier;
+        this.options = Collections.unmodifiableSet(new TreeSet<>(builder.options));
+        this.hash = Objects.hash(tempOffset, tempScale, timeMultiplier, options);
+    }
+
+    public int getTempOffset() {
+        return tempOffset;
+    }
+
+    public double getTempScale() {
+        return tempScale;
+    }
+
+    public double getTimeMultiplier() {
+        return timeMultiplier;
+    }
+
+    public Set<String> getOptions() {
+        return options;
+    }
+
+    int temp(int baseTemp) {
+        return (int) Math.round(baseTemp * tempScale) + tempOffset;
+    }
+
+    int time(int baseTime) {
+        return baseTime > 0 ? Math.max(1, (int) Math.round(baseTime * timeMultiplier)) : baseTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        TemplateParameters other = (TemplateParameters) obj;
+        return tempOffset == other.tempOffset && Double.compare(tempScale, other.tempScale) == 0
+               && Double.compare(timeMultiplier, other.timeMultiplier) == 0 && options.equals(other.options);
+    }
+
+    @Override
+    public String toString() {
+        return "TemplateParameters [tempOffset=" + tempOffset + ", tempScale=" + tempScale + ", timeMultiplier="
+               + timeMultiplier + ", options=" + options + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private int tempOffset;
+        private double tempScale = 1;
+        private double timeMultiplier = 1;
+        private final Set<String> options = new TreeSet<>();
+
+        private Builder() {}
+
+        public Builder withTempOffset(int tempOffset) {
+            this.tempOffset = tempOffset;
+            return this;
+        }
+
+        public Builder withTempScale(double tempScale) {
+            this.tempScale = positive(tempScale);
+            return this;
+        }
+
+        public Builder withTimeMultiplier(double timeMultiplier) {
+            this.timeMultiplier = positive(timeMultiplier);
+            return this;
+        }
+
+        public Builder withOption(String option) {
+            options.add(requireNonNull(option));
+            return this;
+        }
+
+        public TemplateParameters build() {
+            return new TemplateParameters(this);
+        }
+
+        private static double positive(double value) {
+            if (!(value > 0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("factor must be positive and finite: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package edu.iis.mto.oven.zone;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+
+/**
+ * Arbitrates one physical fan between the zones sharing it. A zone holds the fan in the mode its current stage needs:
+ * on for {@link HeatType#THERMO_CIRCULATION}, off for every other heat. Any number of zones may hold the same mode;
+ * a zone asking for the other mode waits until the holders are gone, and while it waits no new holder of the current
+ * mode is admitted, so neither side starves. Switch requests from the zones are reference counted, so the fan only
+ * goes off once the last circulating zone is done with it.
+ */
+class FanCoordinator {
+
+    private final Fan fan;
+    private int onHolders;
+    private int offHolders;
+    private int onWaiters;
+    private int offWaiters;
+    private int onRequests;
+    private boolean coolingRequested;
+
+    FanCoordinator(Fan fan) {
+        this.fan = fan;
+    }
+
+    /**
+     * Blocks until the zone may run a stage with the given fan mode and returns the nanoseconds spent waiting.
+     */
+    synchronized long acquire(boolean on) throws InterruptedException {
+        if (!mustWait(on)) {
+            hold(on, 1);
+            return 0;
+        }
+        long start = System.nanoTime();
+        waiting(on, 1);
+        try {
+            while (mustWait(on)) {
+                wait();
+            }
+        } finally {
+            waiting(on, -1);
+        }
+        hold(on, 1);
+        return System.nanoTime() - start;
+    }
+
+    synchronized void release(boolean on) {
+        hold(on, -1);
+        notifyAll();
+    }
+
+    synchronized void switchOn() {
+        if (onRequests++ == 0) {
+            fan.on();
+        }
+    }
+
+    synchronized void switchOff() {
+        if (onRequests > 0 && --onRequests == 0) {
+            fan.off();
+        }
+    }
+
+    synchronized void requestCooling() {
+        coolingRequested = true;
+    }
+
+    /**
+     * Runs the cooling requested by the zones of the last run, if any, and forgets the request.
+     */
+    synchronized void cool() {
+        if (coolingRequested) {
+            coolingRequested = false;
+            fan.on();
+        }
+    }
+
+    private boolean mustWait(boolean on) {
+        int otherHolders = on ? offHolders : onHolders;
+        int sameHolders = on ? onHolders : offHolders;
+        int otherWaiters = on ? offWaiters : onWaiters;
+        return otherHolders > 0 || sameHolders > 0 && otherWaiters > 0;
+    }
+
+    private void hold(boolean on, int delta) {
+        if (on) {
+            onHolders += delta;
+        } else {
+            offHolders += delta;
+        }
+    }
+
+    private void waiting(boolean on, int delta) {
+        if (on) {
+            onWaiters += delta;
+        } else {
+            offWaiters += delta;
+        }
+    }
+}
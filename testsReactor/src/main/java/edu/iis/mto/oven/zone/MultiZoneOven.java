@@ -0,0 +1,226 @@
+package edu.iis.mto.oven.zone;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.ProgramStage;
+import edu.iis.mto.oven.StageGate;
+
+/**
+ * Oven with several cavities, each driven by its own {@link HeatingModule}. Zones registered with the same
+ * {@link Fan} instance share it. The zones of a {@link ZonedProgram} run concurrently, one worker thread per zone.
+ * Before every stage a zone claims its fan in the mode the stage needs, so a thermo circulation stage in one zone
+ * never runs while the fan must stay off for a grill or heater stage in another zone; conflicting stages take turns
+ * and the wait shows up in the zone's report. Cooling requested by the zones of a fan is done once all of them have
+ * finished.
+ */
+public class MultiZoneOven implements AutoCloseable {
+
+    private final Oven[] ovens;
+    private final FanCoordinator[] coordinators;
+    private final ZoneFan[] fans;
+    private final ExecutorService workers;
+
+    private MultiZoneOven(Builder builder) {
+        int zones = builder.heatingModules.size();
+        if (zones == 0) {
+            throw new IllegalStateException("no zones");
+        }
+        this.ovens = new Oven[zones];
+        this.coordinators = new FanCoordinator[zones];
+        this.fans = new ZoneFan[zones];
+        Map<Fan, FanCoordinator> shared = new IdentityHashMap<>();
+        for (int zone = 0; zone < zones; zone++) {
+            coordinators[zone] = shared.computeIfAbsent(builder.fans.get(zone), FanCoordinator::new);
+            fans[zone] = new ZoneFan(coordinators[zone]);
+            ovens[zone] = new Oven(builder.heatingModules.get(zone), fans[zone]);
+        }
+        this.workers = Executors.newFixedThreadPool(zones, builder.threadFactory);
+    }
+
+    public int size() {
+        return ovens.length;
+    }
+
+    /**
+     * Runs the zones' programs concurrently and waits for all of them. A failing zone does not stop the others.
+     */
+    public synchronized MultiZoneResult run(ZonedProgram program) {
+        for (int zone : program.getPrograms()
+                               .keySet()) {
+            if (zone >= ovens.length) {
+                throw new IllegalArgumentException("oven has " + ovens.length + " zones, no zone " + zone);
+            }
+        }
+        long start = System.nanoTime();
+        List<Future<ZoneReport>> running = new ArrayList<>();
+        for (Map.Entry<Integer, BakingProgram> entry : program.getPrograms()
+                                                              .entrySet()) {
+            int zone = entry.getKey();
+            BakingProgram zoneProgram = entry.getValue();
+            running.add(workers.submit(() -> runZone(zone, zoneProgram)));
+        }
+        List<ZoneReport> reports = new ArrayList<>();
+        for (Future<ZoneReport> report : running) {
+            reports.add(await(report));
+        }
+        Set<FanCoordinator> sharedFans = new LinkedHashSet<>(List.of(coordinators));
+        for (FanCoordinator fan : sharedFans) {
+            fan.cool();
+        }
+        return new MultiZoneResult(reports, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private ZoneReport runZone(int zone, BakingProgram program) {
+        List<ProgramStage> stages = new ArrayList<>();
+        program.forEach(stages::add);
+        BakingProgram uncooled = BakingProgram.builder()
+                                              .withInitialTemp(program.getInitialTemp())
+                                              .withStages(stages)
+                                              .withCoolAtFinish(false)
+                                              .build();
+        FanGate gate = new FanGate(coordinators[zone], stages);
+        long start = System.nanoTime();
+        int stagesRun;
+        OvenException failure = null;
+        try {
+            stagesRun = ovens[zone].runProgram(uncooled, 0, gate);
+        } catch (OvenException e) {
+            failure = e;
+            stagesRun = Math.max(0, e.getStageIndex());
+        } finally {
+            fans[zone].off();
+            gate.release();
+        }
+        if (failure == null && stagesRun == stages.size() && program.isCoolAtFinish()) {
+            coordinators[zone].requestCooling();
+        }
+        return new ZoneReport(zone, stages.size(), stagesRun, System.nanoTime() - start, gate.waitNanos, failure);
+    }
+
+    private static ZoneReport await(Future<ZoneReport> report) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return report.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("zone worker failed", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+        }
+    }
+
+    private static boolean needsFan(HeatType heat) {
+        return heat == HeatType.THERMO_CIRCULATION;
+    }
+
+    /**
+     * Holds the zone's fan in the mode of the stage about to run and hands it back at the next boundary.
+     */
+    private static class FanGate implements StageGate {
+
+        private final FanCoordinator coordinator;
+        private final List<ProgramStage> stages;
+        private boolean holding;
+        private boolean heldOn;
+        private long waitNanos;
+
+        FanGate(FanCoordinator coordinator, List<ProgramStage> stages) {
+            this.coordinator = coordinator;
+            this.stages = stages;
+        }
+
+        @Override
+        public boolean mayStart(int stage) {
+            boolean on = needsFan(stages.get(stage)
+                                        .getHeat());
+            if (holding && heldOn == on) {
+                return true;
+            }
+            release();
+            try {
+                waitNanos += coordinator.acquire(on);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                return false;
+            }
+            holding = true;
+            heldOn = on;
+            return true;
+        }
+
+        void release() {
+            if (holding) {
+                holding = false;
+                coordinator.release(heldOn);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final List<HeatingModule> heatingModules = new ArrayList<>();
+        private final List<Fan> fans = new ArrayList<>();
+        private ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder() {}
+
+        /**
+         * Adds the next zone; zones are numbered from 0 in the order they are added. Pass the same fan instance to let
+         * zones share it.
+         */
+        public Builder withZone(HeatingModule heatingModule, Fan fan) {
+            heatingModules.add(requireNonNull(heatingModule));
+            fans.add(requireNonNull(fan));
+            return this;
+        }
+
+        public Builder withThreadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = requireNonNull(threadFactory);
+            return this;
+        }
+
+        public MultiZoneOven build() {
+            return new MultiZoneOven(this);
+        }
+    }
+}
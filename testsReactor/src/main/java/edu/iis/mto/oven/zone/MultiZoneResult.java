@@ -0,0 +1,52 @@
+package edu.iis.mto.oven.zone;
+
+import java.util.List;
+
+public class MultiZoneResult {
+
+    private final List<ZoneReport> zones;
+    private final long elapsedNanos;
+
+    MultiZoneResult(List<ZoneReport> zones, long elapsedNanos) {
+        this.zones = List.copyOf(zones);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Reports of the zones that had a program, in zone order.
+     */
+    public List<ZoneReport> getZones() {
+        return zones;
+    }
+
+    public ZoneReport getZone(int zone) {
+        for (ZoneReport report : zones) {
+            if (report.getZone() == zone) {
+                return report;
+            }
+        }
+        throw new IllegalArgumentException("zone " + zone + " had no program");
+    }
+
+    /**
+     * Wall time of the whole run, from the first zone starting to the last one finishing.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isCompleted() {
+        for (ZoneReport report : zones) {
+            if (!report.isCompleted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiZoneResult [zones=" + zones + ", elapsedNanos=" + elapsedNanos + "]";
+    }
+
+}
@@ -0,0 +1,38 @@
+package edu.iis.mto.oven.zone;
+
+import edu.iis.mto.oven.Fan;
+
+/**
+ * A zone's view of a shared fan: switching goes through the coordinator, and the zone only sees the fan running while
+ * it asked for it itself.
+ */
+class ZoneFan implements Fan {
+
+    private final FanCoordinator coordinator;
+    private boolean on;
+
+    ZoneFan(FanCoordinator coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public void on() {
+        if (!on) {
+            on = true;
+            coordinator.switchOn();
+        }
+    }
+
+    @Override
+    public void off() {
+        if (on) {
+            on = false;
+            coordinator.switchOff();
+        }
+    }
+
+    @Override
+    public boolean isOn() {
+        return on;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.iis.mto.oven.zone;
+
+import edu.iis.mto.oven.OvenException;
+
+/**
+ * Timing of one zone in a run. Elapsed time includes the time the zone spent waiting for a shared fan.
+ */
+public class ZoneReport {
+
+    private final int zone;
+    private final int stageCount;
+    private final int stagesRun;
+    private final long elapsedNanos;
+    private final long fanWaitNanos;
+    private final OvenException failure;
+
+    ZoneReport(int zone, int stageCount, int stagesRun, long elapsedNanos, long fanWaitNanos, OvenException failure) {
+        this.zone = zone;
+        this.stageCount = stageCount;
+        this.stagesRun = stagesRun;
+        this.elapsedNanos = elapsedNanos;
+        this.fanWaitNanos = fanWaitNanos;
+        this.failure = failure;
+    }
+
+    public int getZone() {
+        return zone;
+    }
+
+    public int getStageCount() {
+        return stageCount;
+    }
+
+    public int getStagesRun() {
+        return stagesRun;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getFanWaitNanos() {
+        return fanWaitNanos;
+    }
+
+    /**
+     * Whether every stage ran; a zone can also stop early without a failure when its worker is interrupted.
+     */
+    public boolean isCompleted() {
+        return failure == null && stagesRun == stageCount;
+    }
+
+    /**
+     * Device failure that stopped the zone, {@code null} when there was none.
+     */
+    public OvenException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneReport [zone=" + zone + ", stageCount=" + stageCount + ", stagesRun=" + stagesRun + ", elapsedNanos=" + elapsedNanos
+               + ", fanWaitNanos=" + fanWaitNanos + ", failure=" + failure + "]";
+    }
+
+}
@@ -0,0 +1,57 @@
+package edu.iis.mto.oven.zone;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.iis.mto.oven.BakingProgram;
+
+/**
+ * Assignment of one {@link BakingProgram} to each zone that takes part in a run; zones without a program stay idle.
+ */
+public class ZonedProgram {
+
+    private final Map<Integer, BakingProgram> programs;
+
+    private ZonedProgram(Builder builder) {
+        this.programs = Collections.unmodifiableMap(new TreeMap<>(builder.programs));
+    }
+
+    public Map<Integer, BakingProgram> getPrograms() {
+        return programs;
+    }
+
+    public BakingProgram getProgram(int zone) {
+        return programs.get(zone);
+    }
+
+    @Override
+    public String toString() {
+        return "ZonedProgram [programs=" + programs + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final Map<Integer, BakingProgram> programs = new TreeMap<>();
+
+        private Builder() {}
+
+        public Builder withZone(int zone, BakingProgram program) {
+            if (zone < 0) {
+                throw new IllegalArgumentException("negative zone: " + zone);
+            }
+            programs.put(zone, requireNonNull(program));
+            return this;
+        }
+
+        public ZonedProgram build() {
+            return new ZonedProgram(this);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOvenTest {
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    BakingProgram program = program(100, true, stage(HeatType.THERMO_CIRCULATION, 180, 20),
+            stage(HeatType.GRILL, 250, 5));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void asyncRunIssuesSameCommandsAsBlockingRun() throws Exception {
+        ProgramResult result = new AsyncOven(module, fan, executor).runProgramAsync(program)
+                                                                   .get();
+
+        assertThat(result.getStagesRun(), equalTo(2));
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(module).heater(settings(100, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(fan).on();
+        inOrder.verify(module).termalCircuit(settings(180, 20));
+        inOrder.verify(fan).off();
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).grill(settings(250, 5));
+        inOrder.verify(fan).on();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void failingCommandCompletesWithOvenException() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .grill(settings(250, 5));
+
+        CompletableFuture<ProgramResult> result = new AsyncOven(module, fan, executor).runProgramAsync(program);
+        ExecutionException thrown = Assertions.assertThrows(ExecutionException.class, result::get);
+        assertThat(thrown.getCause(), instanceOf(OvenException.class));
+        assertThat(((OvenException) thrown.getCause()).getStageIndex(), equalTo(1));
+        Mockito.verify(fan, Mockito.times(1))
+               .on();
+    }
+
+    @Test
+    void commandThrowingErrorStillCompletesResult() throws HeatingException {
+        Error fault = new Error("device fault");
+        Mockito.doThrow(fault)
+               .when(module)
+               .grill(settings(250, 5));
+
+        CompletableFuture<ProgramResult> result = new AsyncOven(module, fan, executor).runProgramAsync(program);
+        ExecutionException thrown = Assertions.assertThrows(ExecutionException.class,
+                () -> result.get(10, TimeUnit.SECONDS));
+        assertThat(thrown.getCause(), sameInstance(fault));
+    }
+
+    @Test
+    void runProgramAsyncDoesNotBlockCaller() throws Exception {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        AsyncHeatingModule gated = new AsyncHeatingModule() {
+
+            @Override
+            public CompletableFuture<Void> termalCircuit(HeatingSettings settings) {
+                return gate;
+            }
+
+            @Override
+            public CompletableFuture<Void> heater(HeatingSettings settings) {
+                return gate;
+            }
+
+            @Override
+            public CompletableFuture<Void> grill(HeatingSettings settings) {
+                return gate;
+            }
+        };
+        AsyncOven oven = new AsyncOven(gated, new ExecutorAsyncFan(fan, Runnable::run));
+        CompletableFuture<ProgramResult> result = oven.runProgramAsync(program);
+
+        assertThat(result.isDone(), equalTo(false));
+        gate.complete(null);
+        assertThat(result.get()
+                         .getStagesRun(),
+                equalTo(2));
+    }
+}
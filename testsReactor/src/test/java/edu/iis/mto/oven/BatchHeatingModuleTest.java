@@ -0,0 +1,174 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.iis.mto.oven.metrics.OvenMetricsSnapshot;
+import edu.iis.mto.oven.metrics.RecordingOvenMetrics;
+
+@ExtendWith(MockitoExtension.class)
+class BatchHeatingModuleTest {
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    BakingProgram program = program(100, true, stage(HeatType.HEATER, 200, 10),
+            stage(HeatType.THERMO_CIRCULATION, 180, 20), stage(HeatType.GRILL, 250, 5));
+
+    @Test
+    void ovenSubmitsWholeProgramAsOneBatch() {
+        RecordingBatchModule batchModule = new RecordingBatchModule();
+        new Oven(batchModule, fan).runProgram(program);
+
+        assertThat(batchModule.batches, hasSize(1));
+        HeatingBatch batch = batchModule.batches.get(0);
+        List<PlanOp> ops = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ops.add(batch.getOp(i));
+        }
+        assertThat(ops, contains(PlanOp.HEATER, PlanOp.FAN_OFF_IF_ON, PlanOp.HEATER, PlanOp.FAN_ON,
+                PlanOp.TERMAL_CIRCUIT, PlanOp.FAN_OFF, PlanOp.FAN_OFF_IF_ON, PlanOp.GRILL, PlanOp.FAN_ON));
+        assertThat(batch.getSettings(4), equalTo(settings(180, 20)));
+        assertThat(batch.getStageIndex(4), equalTo(1));
+        Mockito.verifyNoInteractions(fan);
+    }
+
+    @Test
+    void failingBatchCommandReportsStageIndex() {
+        RecordingBatchModule batchModule = new RecordingBatchModule();
+        batchModule.failAt = 7;
+
+        OvenException thrown = Assertions.assertThrows(OvenException.class,
+                () -> new Oven(batchModule, fan).runProgram(program));
+        assertThat(thrown.getStageIndex(), equalTo(2));
+    }
+
+    @Test
+    void meteredOvenSubmitsOneBatchAndReportsEveryStage() {
+        RecordingBatchModule batchModule = new RecordingBatchModule();
+        RecordingOvenMetrics metrics = new RecordingOvenMetrics();
+
+        new Oven(batchModule, fan, metrics).runProgram(program);
+
+        assertThat(batchModule.batches, hasSize(1));
+        OvenMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getPreheatLatency()
+                           .getCount(),
+                equalTo(1L));
+        for (HeatType heat : HeatType.values()) {
+            assertThat(snapshot.getStageLatency(heat)
+                               .getCount(),
+                    equalTo(1L));
+        }
+    }
+
+    @Test
+    void meteredOvenReportsBatchFailureAtItsStage() {
+        RecordingBatchModule batchModule = new RecordingBatchModule();
+        batchModule.failAt = 7;
+        RecordingOvenMetrics metrics = new RecordingOvenMetrics();
+
+        Assertions.assertThrows(OvenException.class, () -> new Oven(batchModule, fan, metrics).runProgram(program));
+
+        OvenMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getStageLatency(HeatType.HEATER)
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getStageLatency(HeatType.THERMO_CIRCULATION)
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getStageFailures(HeatType.GRILL), equalTo(1L));
+        assertThat(snapshot.getFailedPrograms(), equalTo(1L));
+    }
+
+    @Test
+    void perCallAdapterDispatchesEveryCommand() throws HeatingException {
+        Mockito.when(fan.isOn())
+               .thenReturn(true);
+        new Oven(PerCallBatchHeatingModule.adapt(module), fan).runProgram(program);
+
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(module).heater(settings(100, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(fan).isOn();
+        inOrder.verify(fan).off();
+        inOrder.verify(module).heater(settings(200, 10));
+        inOrder.verify(fan).on();
+        inOrder.verify(module).termalCircuit(settings(180, 20));
+        inOrder.verify(fan).off();
+        inOrder.verify(fan).isOn();
+        inOrder.verify(fan).off();
+        inOrder.verify(module).grill(settings(250, 5));
+        inOrder.verify(fan).on();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void perCallAdapterFailureReportsStageIndex() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .termalCircuit(settings(180, 20));
+
+        OvenException thrown = Assertions.assertThrows(OvenException.class,
+                () -> new Oven(PerCallBatchHeatingModule.adapt(module), fan).runProgram(program));
+        assertThat(thrown.getStageIndex(), equalTo(1));
+        assertThat(thrown.getCause(), instanceOf(HeatingException.class));
+        assertThat(thrown.getCause(), not(instanceOf(BatchHeatingException.class)));
+    }
+
+    @Test
+    void plainModuleFailureReportsStageIndex() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .grill(settings(250, 5));
+
+        OvenException thrown = Assertions.assertThrows(OvenException.class,
+                () -> new Oven(module, fan).runProgram(program));
+        assertThat(thrown.getStageIndex(), equalTo(2));
+    }
+
+    @Test
+    void adaptKeepsBatchModules() {
+        RecordingBatchModule batchModule = new RecordingBatchModule();
+        assertThat(PerCallBatchHeatingModule.adapt(batchModule), sameInstance(batchModule));
+    }
+
+    private static class RecordingBatchModule implements BatchHeatingModule {
+
+        private final List<HeatingBatch> batches = new ArrayList<>();
+        private int failAt = -1;
+
+        @Override
+        public void execute(HeatingBatch batch, Fan fan) throws BatchHeatingException {
+            batches.add(batch);
+            if (failAt >= 0) {
+                throw new BatchHeatingException(failAt, new HeatingException());
+            }
+        }
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) {}
+
+        @Override
+        public void heater(HeatingSettings settings) {}
+
+        @Override
+        public void grill(HeatingSettings settings) {}
+    }
+}
@@ -0,0 +1,70 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.allocatedBytes;
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.iis.mto.oven.OvenFixtures.NoOpModule;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledProgramTest {
+
+    private static final int WARM_UP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 10_000;
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    BakingProgram program = program(150, true, stage(HeatType.HEATER, 200, 10),
+            stage(HeatType.THERMO_CIRCULATION, 180, 30), stage(HeatType.GRILL, 250, 5));
+
+    @Test
+    void compiledProgramKeepsStagesInOrder() {
+        CompiledProgram compiled = CompiledProgram.compile(program);
+        assertThat(compiled.size(), equalTo(3));
+        assertThat(compiled.getInitialTemp(), equalTo(150));
+        assertThat(compiled.isCoolAtFinish(), equalTo(true));
+        assertThat(compiled.getHeat(1), equalTo(HeatType.THERMO_CIRCULATION));
+        assertThat(compiled.getTargetTemp(2), equalTo(250));
+        assertThat(compiled.getStageTime(0), equalTo(10));
+    }
+
+    @Test
+    void compiledRunIssuesSameCommandsAsBakingProgramRun() throws HeatingException {
+        new Oven(module, fan).runProgram(CompiledProgram.compile(program));
+
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(module).heater(settings(150, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).heater(settings(200, 10));
+        inOrder.verify(fan).on();
+        inOrder.verify(module).termalCircuit(settings(180, 30));
+        inOrder.verify(fan).off();
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).grill(settings(250, 5));
+        inOrder.verify(fan).on();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void steadyStateRunAllocatesNothing() {
+        Oven oven = new Oven(new NoOpModule(), new StubFan());
+        CompiledProgram compiled = CompiledProgram.compile(program);
+
+        assertThat(allocatedBytes(WARM_UP_RUNS, MEASURED_RUNS, () -> oven.runProgram(compiled)), equalTo(0L));
+    }
+}
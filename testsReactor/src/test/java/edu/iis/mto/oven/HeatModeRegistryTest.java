@@ -0,0 +1,169 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HeatModeRegistryTest {
+
+    private static final HeatModeRegistry GRILL_WITH_FAN = HeatModeRegistry.builder()
+                                                                           .withHandler(HeatType.GRILL,
+                                                                                   HeatModeHandler.of(
+                                                                                           FanPolicy.CIRCULATE,
+                                                                                           PlanOp.GRILL))
+                                                                           .build();
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    @Mock
+    BatchHeatingModule batchModule;
+
+    BakingProgram program = program(0, false, stage(HeatType.HEATER, 200, 10), stage(HeatType.GRILL, 250, 5));
+
+    @Test
+    void standardRegistryCoversEveryHeatType() {
+        for (HeatType heat : HeatType.values()) {
+            assertThat(HeatModeRegistry.STANDARD.get(heat), notNullValue());
+        }
+    }
+
+    @Test
+    void registeredHandlerReplacesBuiltInMode() throws HeatingException {
+        new Oven(module, fan, OvenMetrics.NONE, GRILL_WITH_FAN).runProgram(program);
+
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(fan)
+               .isOn();
+        inOrder.verify(module)
+               .heater(settings(200, 10));
+        inOrder.verify(fan)
+               .on();
+        inOrder.verify(module)
+               .grill(settings(250, 5));
+        inOrder.verify(fan)
+               .off();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void deviceHandlersStillRunAsOneBatch() throws BatchHeatingException {
+        new Oven(batchModule, fan, OvenMetrics.NONE, GRILL_WITH_FAN).runProgram(program);
+
+        ArgumentCaptor<HeatingBatch> batch = ArgumentCaptor.forClass(HeatingBatch.class);
+        Mockito.verify(batchModule)
+               .execute(batch.capture(), Mockito.eq(fan));
+        List<PlanOp> ops = new ArrayList<>();
+        for (int command = 0; command < batch.getValue()
+                                             .size(); command++) {
+            ops.add(batch.getValue()
+                         .getOp(command));
+        }
+        assertThat(ops, contains(PlanOp.FAN_OFF_IF_ON, PlanOp.HEATER, PlanOp.FAN_ON, PlanOp.GRILL, PlanOp.FAN_OFF));
+    }
+
+    @Test
+    void customHandlerIsCalledPerStageEvenWithBatchModule() throws Exception {
+        List<HeatingSettings> handled = new ArrayList<>();
+        HeatModeRegistry registry = HeatModeRegistry.builder()
+                                                    .withHandler(HeatType.GRILL, new HeatModeHandler() {
+
+                                                        @Override
+                                                        public void run(HeatingModule heatingModule, Fan fan,
+                                                                HeatingSettings settings) {
+                                                            handled.add(settings);
+                                                        }
+
+                                                        @Override
+                                                        public int run(CheckedHeatingModule heatingModule, Fan fan,
+                                                                HeatingSettings settings) {
+                                                            handled.add(settings);
+                                                            return CheckedHeatingModule.OK;
+                                                        }
+                                                    })
+                                                    .build();
+
+        new Oven(batchModule, fan, OvenMetrics.NONE, registry).runProgram(program);
+
+        assertThat(handled, contains(settings(250, 5)));
+        Mockito.verify(batchModule)
+               .heater(settings(200, 10));
+        Mockito.verify(batchModule, Mockito.never())
+               .execute(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void checkedModuleFailureSkipsFanPolicyAfterCall() {
+        CheckedHeatingModule failingGrill = new CheckedHeatingModule() {
+
+            @Override
+            public int termalCircuit(HeatingSettings settings) {
+                return OK;
+            }
+
+            @Override
+            public int heater(HeatingSettings settings) {
+                return OK;
+            }
+
+            @Override
+            public int grill(HeatingSettings settings) {
+                return FAILED;
+            }
+        };
+
+        ProgramOutcome outcome = new Oven(failingGrill, fan, OvenMetrics.NONE, GRILL_WITH_FAN).runProgramChecked(
+                program);
+
+        assertThat(outcome.getStageIndex(), equalTo(1));
+        Mockito.verify(fan)
+               .on();
+        Mockito.verify(fan, Mockito.never())
+               .off();
+    }
+
+    @Test
+    void executionPlanIsRejectedWithCustomHandlers() {
+        ExecutionPlan plan = new StagePlanOptimizer().optimize(program);
+        Oven oven = new Oven(module, fan, OvenMetrics.NONE, GRILL_WITH_FAN);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> oven.runProgram(plan));
+        Mockito.verifyNoInteractions(module, fan);
+    }
+
+    @Test
+    void registryRebuiltFromStandardHandlersRunsExecutionPlans() throws HeatingException {
+        HeatModeRegistry rebuilt = HeatModeRegistry.builder()
+                                                   .withHandler(HeatType.GRILL,
+                                                           HeatModeHandler.of(FanPolicy.OFF, PlanOp.GRILL))
+                                                   .build();
+
+        new Oven(module, fan, OvenMetrics.NONE, rebuilt).runProgram(new StagePlanOptimizer().optimize(program));
+
+        Mockito.verify(module)
+               .grill(settings(250, 5));
+    }
+
+    @Test
+    void fanCommandIsNotAHeatModeCommand() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HeatModeHandler.of(FanPolicy.OFF, PlanOp.FAN_ON));
+    }
+}
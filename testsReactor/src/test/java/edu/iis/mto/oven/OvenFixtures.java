@@ -0,0 +1,109 @@
+package edu.iis.mto.oven;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.jupiter.api.Assumptions;
+
+/**
+ * Factories and measurement helpers shared by the oven tests.
+ */
+public final class OvenFixtures {
+
+    private static final int MEASUREMENT_ATTEMPTS = 3;
+
+    private OvenFixtures() {}
+
+    public static ProgramStage stage(HeatType heat, int targetTemp, int stageTime) {
+        return ProgramStage.builder()
+                           .withHeat(heat)
+                           .withTargetTemp(targetTemp)
+                           .withStageTime(stageTime)
+                           .build();
+    }
+
+    public static HeatingSettings settings(int targetTemp, int timeInMinutes) {
+        return HeatingSettings.builder()
+                              .withTargetTemp(targetTemp)
+                              .withTimeInMinutes(timeInMinutes)
+                              .build();
+    }
+
+    public static BakingProgram program(int initialTemp, boolean coolAtFinish, ProgramStage... stages) {
+        return program(initialTemp, coolAtFinish, List.of(stages));
+    }
+
+    public static BakingProgram program(int initialTemp, boolean coolAtFinish, List<ProgramStage> stages) {
+        return BakingProgram.builder()
+                            .withInitialTemp(initialTemp)
+                            .withStages(stages)
+                            .withCoolAtFinish(coolAtFinish)
+                            .build();
+    }
+
+    /**
+     * Bytes the current thread allocates over {@code measuredRuns} calls of the action, after {@code warmUpRuns} calls
+     * that let the JIT compile it. The least of a few measurements is returned, so a one-off allocation by the JVM
+     * itself, such as a recompilation landing mid-measurement, does not fail the test. Skips the test on JVMs that
+     * cannot count allocated bytes per thread.
+     */
+    public static long allocatedBytes(int warmUpRuns, int measuredRuns, Runnable action) {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < warmUpRuns; i++) {
+            action.run();
+        }
+        long threadId = Thread.currentThread()
+                              .getId();
+        long least = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < MEASUREMENT_ATTEMPTS && least > 0; attempt++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < measuredRuns; i++) {
+                action.run();
+            }
+            least = Math.min(least, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        return least;
+    }
+
+    /**
+     * A heating module that accepts every command and does nothing.
+     */
+    public static class NoOpModule implements HeatingModule {
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) {}
+
+        @Override
+        public void heater(HeatingSettings settings) {}
+
+        @Override
+        public void grill(HeatingSettings settings) {}
+    }
+
+    /**
+     * A fan that only remembers whether it was last switched on.
+     */
+    public static class StubFan implements Fan {
+
+        private volatile boolean on;
+
+        @Override
+        public void on() {
+            on = true;
+        }
+
+        @Override
+        public void off() {
+            on = false;
+        }
+
+        @Override
+        public boolean isOn() {
+            return on;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OvenSessionTest {
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    @Test
+    void chainedProgramsSkipPreheatAndCoolOnlyAtTheEnd() throws HeatingException {
+        new Oven(module, fan).runPrograms(List.of(heaterProgram(180, 200, true), heaterProgram(200, 220, true)));
+
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(module)
+               .heater(settings(180, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(module)
+               .heater(settings(200, 10));
+        inOrder.verify(module)
+               .heater(settings(220, 10));
+        inOrder.verify(fan)
+               .on();
+        Mockito.verify(module, Mockito.never())
+               .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        Mockito.verify(fan, Mockito.times(1))
+               .on();
+    }
+
+    @Test
+    void preheatRunsWhenPreviousProgramEndedAtDifferentTemperature() throws HeatingException {
+        OvenSession session = new Oven(module, fan).openSession();
+        session.run(heaterProgram(180, 200, false));
+        session.run(heaterProgram(250, 250, false));
+        session.close();
+
+        Mockito.verify(module)
+               .heater(settings(250, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        Mockito.verify(fan, Mockito.never())
+               .on();
+        assertThat(session.getPreheatsSkipped(), equalTo(0));
+        assertThat(session.getProgramsRun(), equalTo(2));
+    }
+
+    @Test
+    void sessionCountsSkippedPreheatsAndDeferredCoolings() {
+        OvenSession session = new Oven(module, fan).openSession();
+        session.run(heaterProgram(180, 200, true));
+        session.run(heaterProgram(200, 200, true));
+        session.run(heaterProgram(200, 200, false));
+        session.close();
+
+        assertThat(session.getPreheatsSkipped(), equalTo(2));
+        assertThat(session.getCoolingsDeferred(), equalTo(2));
+        Mockito.verify(fan, Mockito.times(1))
+               .on();
+    }
+
+    @Test
+    void failedProgramForcesPreheatOfNextOne() throws HeatingException {
+        Mockito.lenient()
+               .doThrow(HeatingException.class)
+               .doNothing()
+               .when(module)
+               .heater(settings(200, 10));
+        OvenSession session = new Oven(module, fan).openSession();
+
+        Assertions.assertThrows(OvenException.class, () -> session.run(heaterProgram(180, 200, false)));
+        session.run(heaterProgram(200, 200, false));
+
+        Mockito.verify(module)
+               .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+    }
+
+    @Test
+    void failingMiddleProgramStillRunsDeferredCooling() throws HeatingException {
+        Mockito.lenient()
+               .doThrow(HeatingException.class)
+               .when(module)
+               .heater(settings(220, 10));
+
+        List<BakingProgram> programs = List.of(heaterProgram(180, 200, true), heaterProgram(200, 220, false),
+                heaterProgram(220, 240, false));
+
+        Assertions.assertThrows(OvenException.class, () -> new Oven(module, fan).runPrograms(programs));
+
+        Mockito.verify(module, Mockito.never())
+               .heater(settings(240, 10));
+        Mockito.verify(fan)
+               .on();
+    }
+
+    @Test
+    void closedSessionRejectsPrograms() {
+        OvenSession session = new Oven(module, fan).openSession();
+        session.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> session.run(heaterProgram(180, 200, false)));
+    }
+
+    private static BakingProgram heaterProgram(int initialTemp, int stageTemp, boolean cool) {
+        return program(initialTemp, cool, stage(HeatType.HEATER, stageTemp, 10));
+    }
+}
@@ -0,0 +1,133 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramOutcomeTest {
+
+    private static final int OVERHEAT = 42;
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    BakingProgram program = program(150, true, stage(HeatType.HEATER, 200, 10),
+            stage(HeatType.THERMO_CIRCULATION, 180, 30), stage(HeatType.GRILL, 250, 5));
+
+    @Test
+    void completedRunIssuesSameCommandsAsRunProgram() throws HeatingException {
+        ProgramOutcome outcome = new Oven(module, fan).runProgramChecked(program);
+
+        assertThat(outcome, sameInstance(ProgramOutcome.COMPLETED));
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(module).heater(settings(150, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).heater(settings(200, 10));
+        inOrder.verify(fan).on();
+        inOrder.verify(module).termalCircuit(settings(180, 30));
+        inOrder.verify(fan).off();
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).grill(settings(250, 5));
+        inOrder.verify(fan).on();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void throwingModuleFailureIsReportedAsOutcome() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .termalCircuit(settings(180, 30));
+
+        ProgramOutcome outcome = new Oven(module, fan).runProgramChecked(program);
+
+        assertThat(outcome.getStatus(), equalTo(ProgramOutcome.Status.STAGE_FAILED));
+        assertThat(outcome.getStageIndex(), equalTo(1));
+        assertThat(outcome.getHeat(), equalTo(HeatType.THERMO_CIRCULATION));
+        assertThat(outcome.getSettings(), equalTo(settings(180, 30)));
+        assertThat(outcome.getDeviceCode(), equalTo(CheckedHeatingModule.FAILED));
+        Mockito.verify(module, Mockito.never())
+               .grill(Mockito.any());
+        Mockito.verify(fan, Mockito.never())
+               .off();
+    }
+
+    @Test
+    void checkedModuleCodeIsReportedWithoutExceptions() {
+        CodedModule coded = new CodedModule();
+        coded.failingTemp = 250;
+
+        ProgramOutcome outcome = new Oven(coded, fan).runProgramChecked(program);
+
+        assertThat(outcome.getStatus(), equalTo(ProgramOutcome.Status.STAGE_FAILED));
+        assertThat(outcome.getStageIndex(), equalTo(2));
+        assertThat(outcome.getHeat(), equalTo(HeatType.GRILL));
+        assertThat(outcome.getDeviceCode(), equalTo(OVERHEAT));
+        assertThat(coded.commands, contains(150, 200, 180, 250));
+    }
+
+    @Test
+    void preheatFailureHasNoStageIndex() {
+        CodedModule coded = new CodedModule();
+        coded.failingTemp = 150;
+
+        ProgramOutcome outcome = new Oven(coded, fan).runProgramChecked(program);
+
+        assertThat(outcome.getStatus(), equalTo(ProgramOutcome.Status.PREHEAT_FAILED));
+        assertThat(outcome.getStageIndex(), equalTo(OvenException.NO_STAGE));
+        assertThat(outcome.getHeat(), equalTo(HeatType.HEATER));
+        assertThat(outcome.getSettings(), equalTo(settings(150, Oven.HEAT_UP_AND_FINISH_SETTING_TIME)));
+    }
+
+    @Test
+    void runProgramStillThrowsForCheckedModule() {
+        CodedModule coded = new CodedModule();
+        coded.failingTemp = 200;
+
+        OvenException thrown = Assertions.assertThrows(OvenException.class, () -> new Oven(coded, fan).runProgram(program));
+
+        assertThat(thrown.getStageIndex(), equalTo(0));
+    }
+
+    private static class CodedModule implements CheckedHeatingModule {
+
+        private final List<Integer> commands = new ArrayList<>();
+        private int failingTemp;
+
+        @Override
+        public int termalCircuit(HeatingSettings settings) {
+            return command(settings);
+        }
+
+        @Override
+        public int heater(HeatingSettings settings) {
+            return command(settings);
+        }
+
+        @Override
+        public int grill(HeatingSettings settings) {
+            return command(settings);
+        }
+
+        private int command(HeatingSettings settings) {
+            commands.add(settings.getTargetTemp());
+            return settings.getTargetTemp() == failingTemp ? OVERHEAT : OK;
+        }
+    }
+}
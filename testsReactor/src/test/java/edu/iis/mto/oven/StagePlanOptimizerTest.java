@@ -0,0 +1,112 @@
+package edu.iis.mto.oven;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StagePlanOptimizerTest {
+
+    StagePlanOptimizer optimizer = new StagePlanOptimizer();
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    @Test
+    void consecutiveThermoStagesKeepFanOn() throws HeatingException {
+        List<ProgramStage> stages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            stages.add(stage(HeatType.THERMO_CIRCULATION, 100 + i, 10));
+        }
+        ExecutionPlan plan = optimizer.optimize(program(0, false, stages));
+
+        assertThat(plan.getDeviceCalls(), equalTo(12));
+        assertThat(plan.getOriginalDeviceCalls(), equalTo(30));
+        assertThat(plan.getSavedDeviceCalls(), equalTo(18));
+
+        new Oven(module, fan).runProgram(plan);
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(fan).on();
+        for (int i = 0; i < 10; i++) {
+            inOrder.verify(module).termalCircuit(settings(100 + i, 10));
+        }
+        inOrder.verify(fan).off();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void adjacentStagesWithSameHeatAndTempAreMerged() {
+        ExecutionPlan plan = optimizer.optimize(program(0, false, stage(HeatType.GRILL, 200, 10),
+                stage(HeatType.GRILL, 200, 15), stage(HeatType.GRILL, 220, 5)));
+
+        assertThat(plan.size(), equalTo(3));
+        assertThat(plan.getOp(0), equalTo(PlanOp.FAN_OFF_IF_ON));
+        assertThat(plan.getOp(1), equalTo(PlanOp.GRILL));
+        assertThat(plan.getSettings(1), equalTo(settings(200, 25)));
+        assertThat(plan.getOp(2), equalTo(PlanOp.GRILL));
+        assertThat(plan.getSettings(2), equalTo(settings(220, 5)));
+    }
+
+    @Test
+    void heatUpAndFinishStagesAreKeptAndNotMergedAcross() throws HeatingException {
+        BakingProgram program = program(0, false, stage(HeatType.HEATER, 200, 10),
+                stage(HeatType.THERMO_CIRCULATION, 180, Oven.HEAT_UP_AND_FINISH_SETTING_TIME),
+                stage(HeatType.HEATER, 200, 5), stage(HeatType.HEATER, 200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME),
+                stage(HeatType.HEATER, 200, 5));
+        ExecutionPlan plan = optimizer.optimize(program);
+
+        new Oven(module, fan).runProgram(plan);
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).heater(settings(200, 10));
+        inOrder.verify(fan).on();
+        inOrder.verify(module).termalCircuit(settings(180, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(fan).off();
+        inOrder.verify(module).heater(settings(200, 5));
+        inOrder.verify(module).heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(module).heater(settings(200, 5));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void fanLeftOnByLastThermoStageServesCooling() throws HeatingException {
+        ExecutionPlan plan = optimizer.optimize(program(150, true, stage(HeatType.HEATER, 200, 10),
+                stage(HeatType.THERMO_CIRCULATION, 180, 20)));
+
+        new Oven(module, fan).runProgram(plan);
+        InOrder inOrder = Mockito.inOrder(module, fan);
+        inOrder.verify(module).heater(settings(150, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        inOrder.verify(fan).isOn();
+        inOrder.verify(module).heater(settings(200, 10));
+        inOrder.verify(fan).on();
+        inOrder.verify(module).termalCircuit(settings(180, 20));
+        inOrder.verifyNoMoreInteractions();
+        assertThat(plan.getSavedDeviceCalls(), equalTo(2));
+    }
+
+    @Test
+    void heatingFailureInPlanIsOvenException() throws HeatingException {
+        ExecutionPlan plan = optimizer.optimize(program(0, false, stage(HeatType.GRILL, 200, 10)));
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .grill(settings(200, 10));
+
+        Assertions.assertThrows(OvenException.class, () -> new Oven(module, fan).runProgram(plan));
+    }
+}
@@ -0,0 +1,195 @@
+package edu.iis.mto.oven.checkpoint;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+import edu.iis.mto.oven.registry.ContentHash;
+
+class CheckpointedOvenTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @TempDir
+    Path directory;
+
+    private final ScriptedModule module = new ScriptedModule();
+
+    private final BakingProgram program = program(180, true, stage(HeatType.HEATER, 200, 30),
+            stage(HeatType.GRILL, 250, 40), stage(HeatType.HEATER, 160, 10));
+
+    @Test
+    void retriedStageContinuesWithRemainingMinutesWithoutPreheat() {
+        module.failGrillAfterMinutes = 15;
+        module.grillFailures = 1;
+        CheckpointedOven oven = oven(new InMemoryCheckpointStore(), RetryPolicy.builder()
+                                                                               .withRetries(HeatType.GRILL, 2)
+                                                                               .withBackoff(Duration.ofMillis(1), 2,
+                                                                                       Duration.ofMillis(5))
+                                                                               .build());
+
+        oven.run("bread", program);
+
+        assertThat(module.commands, contains("HEATER 180/0", "HEATER 200/30", "GRILL 250/40 failed", "GRILL 250/25",
+                "HEATER 160/10"));
+    }
+
+    @Test
+    void exhaustedRetriesLeaveCheckpointForResume() {
+        module.failGrillAfterMinutes = 10;
+        module.grillFailures = 2;
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        CheckpointedOven oven = oven(store, RetryPolicy.builder()
+                                                       .withRetries(HeatType.GRILL, 1)
+                                                       .withBackoff(Duration.ZERO, 1, Duration.ZERO)
+                                                       .build());
+
+        OvenException failure = Assertions.assertThrows(OvenException.class, () -> oven.run("bread", program));
+        assertThat(failure.getStageIndex(), equalTo(1));
+        Checkpoint checkpoint = store.load("bread")
+                                     .orElseThrow();
+        assertThat(checkpoint, equalTo(new Checkpoint(ContentHash.of(program), true, 1, 20, 2)));
+
+        oven.resume("bread", program);
+
+        assertThat(module.commands.subList(module.commands.size() - 2, module.commands.size()),
+                contains("GRILL 250/20", "HEATER 160/10"));
+        assertThat(store.load("bread")
+                        .isPresent(),
+                is(false));
+    }
+
+    @Test
+    void failedPreheatIsRetriedUnderHeaterPolicy() {
+        module.preheatFailures = 1;
+        CheckpointedOven oven = oven(new InMemoryCheckpointStore(), RetryPolicy.builder()
+                                                                               .withRetries(HeatType.HEATER, 1)
+                                                                               .withBackoff(Duration.ZERO, 1,
+                                                                                       Duration.ZERO)
+                                                                               .build());
+
+        oven.run("bread", program);
+
+        assertThat(module.commands.subList(0, 3), contains("HEATER 180/0 failed", "HEATER 180/0", "HEATER 200/30"));
+    }
+
+    @Test
+    void fileStoreSurvivesReopeningAndResumesRun() throws IOException {
+        module.failGrillAfterMinutes = 5;
+        module.grillFailures = 1;
+        Assertions.assertThrows(OvenException.class,
+                () -> oven(new FileCheckpointStore(directory), RetryPolicy.NONE).run("order #7", program));
+
+        FileCheckpointStore reopened = new FileCheckpointStore(directory);
+        assertThat(reopened.load("order #7")
+                           .orElseThrow()
+                           .getRemainingMinutes(),
+                equalTo(35));
+        oven(reopened, RetryPolicy.NONE).resume("order #7", program);
+
+        assertThat(module.commands.get(module.commands.size() - 2), equalTo("GRILL 250/35"));
+        assertThat(reopened.load("order #7")
+                           .isPresent(),
+                is(false));
+    }
+
+    @Test
+    void resumeRejectsDifferentProgram() {
+        module.grillFailures = 1;
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        CheckpointedOven oven = oven(store, RetryPolicy.NONE);
+        Assertions.assertThrows(OvenException.class, () -> oven.run("bread", program));
+
+        BakingProgram other = program(0, false, stage(HeatType.GRILL, 250, 40));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> oven.resume("bread", other));
+        Assertions.assertThrows(IllegalStateException.class, () -> oven.resume("unknown", program));
+    }
+
+    @Test
+    void backoffGrowsUpToMaximum() {
+        RetryPolicy policy = RetryPolicy.builder()
+                                        .withBackoff(Duration.ofMillis(100), 3, Duration.ofSeconds(1))
+                                        .build();
+
+        assertThat(policy.backoff(1), equalTo(Duration.ofMillis(100)));
+        assertThat(policy.backoff(2), equalTo(Duration.ofMillis(300)));
+        assertThat(policy.backoff(4), equalTo(Duration.ofSeconds(1)));
+    }
+
+    private CheckpointedOven oven(CheckpointStore store, RetryPolicy policy) {
+        return CheckpointedOven.builder()
+                               .withHeatingModule(module)
+                               .withFan(new StubFan())
+                               .withStore(store)
+                               .withRetryPolicy(policy)
+                               .withClock(() -> module.now)
+                               .build();
+    }
+
+    /**
+     * Advances a fake clock by the stage time of every successful command; a failing grill fails after the configured
+     * number of minutes.
+     */
+    private static class ScriptedModule implements HeatingModule {
+
+        private final List<String> commands = new ArrayList<>();
+        private long now;
+        private int preheatFailures;
+        private int grillFailures;
+        private int failGrillAfterMinutes;
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {
+            run("TERMAL_CIRCUIT", settings);
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            if (settings.getTimeInMinutes() == 0 && preheatFailures > 0) {
+                preheatFailures--;
+                fail("HEATER", settings, 0);
+            }
+            run("HEATER", settings);
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {
+            if (grillFailures > 0) {
+                grillFailures--;
+                fail("GRILL", settings, failGrillAfterMinutes);
+            }
+            run("GRILL", settings);
+        }
+
+        private void run(String command, HeatingSettings settings) {
+            commands.add(command + " " + settings.getTargetTemp() + "/" + settings.getTimeInMinutes());
+            now += settings.getTimeInMinutes() * MINUTE;
+        }
+
+        private void fail(String command, HeatingSettings settings, int afterMinutes) throws HeatingException {
+            commands.add(command + " " + settings.getTargetTemp() + "/" + settings.getTimeInMinutes() + " failed");
+            now += afterMinutes * MINUTE;
+            throw new HeatingException();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package edu.iis.mto.oven.estimate;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.ProgramStage;
+import edu.iis.mto.oven.sim.ThermalModel;
+import edu.iis.mto.oven.sim.ThermalSimulation;
+
+class ProgramEstimatorTest {
+
+    private static final double EPSILON = 1e-9;
+
+    ThermalModel model = ThermalModel.builder()
+                                     .withAmbientTemp(20)
+                                     .withHeatingRate(HeatType.HEATER, 10)
+                                     .withFanBoost(2)
+                                     .withIdleCoolingCoefficient(0.01)
+                                     .build();
+
+    PowerModel power = PowerModel.builder()
+                                 .withThermalModel(model)
+                                 .withHeatingKilowatts(HeatType.HEATER, 2)
+                                 .withFanKilowatts(0.1)
+                                 .withCoolDownTemp(50)
+                                 .build();
+
+    ProgramEstimator estimator = ProgramEstimator.builder()
+                                                 .withPowerModel(power)
+                                                 .build();
+
+    @Test
+    void includesPreheatStagesAndCooling() {
+        BakingProgram program = program(200, true, stage(HeatType.HEATER, 200, 30));
+
+        ProgramEstimate estimate = estimator.estimate(program);
+
+        double cooling = Math.log(180.0 / 30.0) / (0.01 * 2);
+        assertThat(estimate.getPreheatMinutes(), closeTo(18, EPSILON));
+        assertThat(estimate.getMinutes(HeatType.HEATER), closeTo(30, EPSILON));
+        assertThat(estimate.getCoolingMinutes(), closeTo(cooling, EPSILON));
+        assertThat(estimate.getTotalMinutes(), closeTo(18 + 30 + cooling, EPSILON));
+        assertThat(estimate.getEnergyKilowattHours(), closeTo((18 * 2 + 30 * 2 + cooling * 0.1) / 60, EPSILON));
+    }
+
+    @Test
+    void runTimeMatchesThermalSimulation() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100; i++) {
+            BakingProgram program = randomProgram(random, false);
+            ThermalSimulation simulation = ThermalSimulation.builder()
+                                                            .withModel(model)
+                                                            .build();
+            new Oven(simulation.heatingModule(), simulation.fan()).runProgram(program);
+
+            double simulatedMinutes = simulation.getElapsed()
+                                                .toNanos()
+                                      / 60e9;
+            assertThat(estimator.estimate(program)
+                                .getTotalMinutes(),
+                    closeTo(simulatedMinutes, 1e-6));
+        }
+    }
+
+    @Test
+    void parallelBatchMatchesSequentialEstimates() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<BakingProgram> programs = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            programs.add(randomProgram(random, random.nextBoolean()));
+        }
+        ProgramBatch batch = ProgramBatch.of(programs);
+        ProgramEstimator parallel = ProgramEstimator.builder()
+                                                    .withPowerModel(power)
+                                                    .withSplitThreshold(64)
+                                                    .build();
+
+        BatchEstimates estimates = parallel.estimate(batch);
+
+        assertThat(estimates.size(), equalTo(programs.size()));
+        double heatSum = 0;
+        for (HeatType heat : HeatType.values()) {
+            heatSum += estimates.sumMinutes(heat);
+        }
+        double preheatAndCooling = 0;
+        for (int i = 0; i < programs.size(); i += 997) {
+            ProgramEstimate single = estimator.estimate(programs.get(i));
+            assertThat(estimates.getTotalMinutes(i), equalTo(single.getTotalMinutes()));
+            assertThat(estimates.getEnergyKilowattHours(i), equalTo(single.getEnergyKilowattHours()));
+        }
+        for (int i = 0; i < programs.size(); i++) {
+            preheatAndCooling += estimates.getPreheatMinutes(i) + estimates.getCoolingMinutes(i);
+        }
+        assertThat(heatSum + preheatAndCooling, closeTo(estimates.sumTotalMinutes(), 1e-6));
+    }
+
+    @Test
+    void emptyBatchHasNoEstimates() {
+        BatchEstimates estimates = estimator.estimate(ProgramBatch.of(List.of()));
+
+        assertThat(estimates.size(), equalTo(0));
+        assertThat(estimates.sumEnergyKilowattHours(), equalTo(0.0));
+    }
+
+    private static BakingProgram randomProgram(SplittableRandom random, boolean coolAtFinish) {
+        HeatType[] heats = HeatType.values();
+        List<ProgramStage> stages = new ArrayList<>();
+        for (int stage = random.nextInt(6); stage > 0; stage--) {
+            stages.add(stage(heats[random.nextInt(heats.length)], 100 + random.nextInt(200), random.nextInt(60)));
+        }
+        return program(random.nextInt(4) == 0 ? 0 : 100 + random.nextInt(150), coolAtFinish, stages);
+    }
+}
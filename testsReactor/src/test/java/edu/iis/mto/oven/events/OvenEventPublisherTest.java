@@ -0,0 +1,382 @@
+package edu.iis.mto.oven.events;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.BatchHeatingException;
+import edu.iis.mto.oven.BatchHeatingModule;
+import edu.iis.mto.oven.ExecutionPlan;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingBatch;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+import edu.iis.mto.oven.OvenMetrics;
+import edu.iis.mto.oven.PerCallBatchHeatingModule;
+import edu.iis.mto.oven.StagePlanOptimizer;
+import edu.iis.mto.oven.metrics.RecordingOvenMetrics;
+
+class OvenEventPublisherTest {
+
+    private static final int EVENTS_PER_RUN = 14;
+
+    BakingProgram program = program(150, true, stage(HeatType.HEATER, 200, 10),
+            stage(HeatType.THERMO_CIRCULATION, 180, 30), stage(HeatType.GRILL, 250, 5));
+
+    @Test
+    void publishesWholeProgramLifeCycleInOrder() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        new Oven(new StubModule(), new StubFan(), publisher).runProgram(program);
+
+        assertThat(subscriber.types(),
+                contains(OvenEvent.Type.PROGRAM_STARTED, OvenEvent.Type.PREHEAT_STARTED,
+                        OvenEvent.Type.PREHEAT_FINISHED, OvenEvent.Type.STAGE_STARTED, OvenEvent.Type.STAGE_FINISHED,
+                        OvenEvent.Type.STAGE_STARTED, OvenEvent.Type.FAN_ON, OvenEvent.Type.FAN_OFF,
+                        OvenEvent.Type.STAGE_FINISHED, OvenEvent.Type.STAGE_STARTED, OvenEvent.Type.STAGE_FINISHED,
+                        OvenEvent.Type.COOLING_STARTED, OvenEvent.Type.FAN_ON, OvenEvent.Type.PROGRAM_COMPLETED));
+        OvenEvent thermo = subscriber.events.get(5);
+        assertThat(thermo.getStageIndex(), equalTo(1));
+        assertThat(thermo.getHeat(), equalTo(HeatType.THERMO_CIRCULATION));
+        assertThat(thermo.getSettings(), equalTo(settings(180, 30)));
+        assertThat(subscriber.events.get(1)
+                                    .getSettings(),
+                equalTo(settings(150, Oven.HEAT_UP_AND_FINISH_SETTING_TIME)));
+        assertThat(subscriber.events.get(13)
+                                    .getSequence(),
+                equalTo(13L));
+    }
+
+    @Test
+    void batchModuleProducesSameLifeCycleAsPlainModule() {
+        RecordingSubscriber plain = subscribedRun(new StubModule());
+        StubModule failingDevices = new StubModule();
+        failingDevices.failingTemp = 180;
+        BatchStubModule batch = new BatchStubModule(failingDevices);
+        RecordingSubscriber failing = subscribedRun(batch);
+
+        assertThat(subscribedRun(new BatchStubModule(new StubModule())).types(), equalTo(plain.types()));
+        assertThat(failing.types(), equalTo(subscribedRun(failingDevices).types()));
+        assertThat(batch.batches, equalTo(1));
+        OvenEvent failure = failing.events.get(failing.types()
+                                                      .indexOf(OvenEvent.Type.STAGE_FAILED));
+        assertThat(failure.getStageIndex(), equalTo(1));
+        assertThat(failure.getSettings(), equalTo(settings(180, 30)));
+    }
+
+    @Test
+    void executionPlanPublishesPlannedStages() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        ExecutionPlan plan = new StagePlanOptimizer().optimize(program);
+        new Oven(new BatchStubModule(new StubModule()), new StubFan(), publisher).runProgram(plan);
+
+        List<Integer> startedStages = new ArrayList<>();
+        for (OvenEvent event : subscriber.events) {
+            if (event.getType() == OvenEvent.Type.STAGE_STARTED) {
+                startedStages.add(event.getStageIndex());
+            }
+        }
+        assertThat(startedStages, contains(0, 1, 2));
+        assertThat(subscriber.types(), hasItems(OvenEvent.Type.PREHEAT_STARTED, OvenEvent.Type.PREHEAT_FINISHED,
+                OvenEvent.Type.COOLING_STARTED, OvenEvent.Type.PROGRAM_COMPLETED));
+    }
+
+    @Test
+    void dropOldestKeepsNewestEventsForSlowSubscriber() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        new Oven(new StubModule(), new StubFan(), publisher).runProgram(program);
+        assertThat(publisher.getDroppedEvents(), equalTo((long) EVENTS_PER_RUN - 4));
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.types(), contains(OvenEvent.Type.STAGE_FINISHED, OvenEvent.Type.COOLING_STARTED,
+                OvenEvent.Type.FAN_ON, OvenEvent.Type.PROGRAM_COMPLETED));
+        assertThat(subscriber.events.get(0)
+                                    .getSequence(),
+                equalTo(EVENTS_PER_RUN - 4L));
+    }
+
+    @Test
+    void conflateLeavesOnlyLatestEventPending() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.CONFLATE, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(subscriber);
+
+        new Oven(new StubModule(), new StubFan(), publisher).runProgram(program);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.types(), contains(OvenEvent.Type.PROGRAM_STARTED, OvenEvent.Type.PROGRAM_COMPLETED));
+        assertThat(publisher.getDroppedEvents(), equalTo((long) EVENTS_PER_RUN - 2));
+    }
+
+    @Test
+    void boundedBufferOverflowTerminatesSubscriptionOnly() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.BUFFER, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        new Oven(new StubModule(), new StubFan(), publisher).runProgram(program);
+
+        assertThat(subscriber.error, instanceOf(EventBufferOverflowException.class));
+        assertThat(subscriber.events, empty());
+        assertThat(publisher.getSubscriberCount(), equalTo(0));
+    }
+
+    @Test
+    void stageFailureIsPublishedWithStageAndSettings() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        StubModule module = new StubModule();
+        module.failingTemp = 180;
+
+        Oven oven = new Oven(module, new StubFan(), publisher);
+        Assertions.assertThrows(OvenException.class, () -> oven.runProgram(program));
+
+        int failed = subscriber.types()
+                               .indexOf(OvenEvent.Type.STAGE_FAILED);
+        OvenEvent failure = subscriber.events.get(failed);
+        assertThat(failure.getStageIndex(), equalTo(1));
+        assertThat(failure.getSettings(), equalTo(settings(180, 30)));
+        assertThat(subscriber.types()
+                             .get(subscriber.events.size() - 1),
+                equalTo(OvenEvent.Type.PROGRAM_FAILED));
+    }
+
+    @Test
+    void publisherCombinesWithOtherMetrics() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        RecordingOvenMetrics metrics = new RecordingOvenMetrics();
+
+        new Oven(new StubModule(), new StubFan(), OvenMetrics.of(metrics, OvenMetrics.NONE, publisher)).runProgram(
+                program);
+
+        assertThat(subscriber.events, hasSize(EVENTS_PER_RUN));
+        assertThat(metrics.snapshot()
+                          .getProgramLatency()
+                          .getCount(),
+                equalTo(1L));
+        assertThat(OvenMetrics.of(OvenMetrics.NONE, publisher), sameInstance(publisher));
+        assertThat(OvenMetrics.of(OvenMetrics.NONE), sameInstance(OvenMetrics.NONE));
+    }
+
+    @Test
+    void closeCompletesAfterBufferedEventsAreConsumed() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        new Oven(new StubModule(), new StubFan(), publisher).runProgram(program);
+
+        publisher.close();
+        assertThat(subscriber.completed, equalTo(false));
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.events, hasSize(EVENTS_PER_RUN));
+        assertThat(subscriber.completed, equalTo(true));
+
+        RecordingSubscriber late = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(late);
+        assertThat(late.subscription, notNullValue());
+        assertThat(late.completed, equalTo(true));
+    }
+
+    @Test
+    void nonPositiveRequestSignalsError() {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+    }
+
+    @Test
+    void blockedSubscriberDoesNotStallOven() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            OvenEventPublisher publisher = OvenEventPublisher.builder()
+                                                             .withExecutor(executor)
+                                                             .withBufferCapacity(8)
+                                                             .build();
+            RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+
+                @Override
+                public void onNext(OvenEvent item) {
+                    super.onNext(item);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread()
+                              .interrupt();
+                    }
+                }
+            };
+            publisher.subscribe(subscriber);
+            Oven oven = new Oven(new StubModule(), new StubFan(), publisher);
+
+            for (int i = 0; i < 1000; i++) {
+                oven.runProgram(program);
+            }
+
+            assertThat(publisher.getDroppedEvents(), greaterThan(0L));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private RecordingSubscriber subscribedRun(HeatingModule module) {
+        OvenEventPublisher publisher = directPublisher(OverflowPolicy.DROP_OLDEST, 64);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        try {
+            new Oven(module, new StubFan(), publisher).runProgram(program);
+        } catch (OvenException e) {
+            // the published failure events are what the callers check
+        }
+        return subscriber;
+    }
+
+    private static OvenEventPublisher directPublisher(OverflowPolicy policy, int capacity) {
+        return OvenEventPublisher.builder()
+                                 .withExecutor(Runnable::run)
+                                 .withOverflowPolicy(policy)
+                                 .withBufferCapacity(capacity)
+                                 .build();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<OvenEvent> {
+
+        private final long initialRequest;
+        final List<OvenEvent> events = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(OvenEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<OvenEvent.Type> types() {
+            List<OvenEvent.Type> types = new ArrayList<>();
+            for (OvenEvent event : events) {
+                types.add(event.getType());
+            }
+            return types;
+        }
+    }
+
+    private static class StubModule implements HeatingModule {
+
+        private int failingTemp;
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {
+            check(settings);
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            check(settings);
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {
+            check(settings);
+        }
+
+        private void check(HeatingSettings settings) throws HeatingException {
+            if (settings.getTargetTemp() == failingTemp) {
+                throw new HeatingException();
+            }
+        }
+    }
+
+    /**
+     * Submits whole batches to its devices, so an oven using it never calls the module per command.
+     */
+    private static class BatchStubModule implements BatchHeatingModule {
+
+        private final BatchHeatingModule devices;
+        private int batches;
+
+        private BatchStubModule(StubModule devices) {
+            this.devices = PerCallBatchHeatingModule.adapt(devices);
+        }
+
+        @Override
+        public void execute(HeatingBatch batch, Fan fan) throws BatchHeatingException {
+            batches++;
+            devices.execute(batch, fan);
+        }
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) {
+            throw new IllegalStateException("batch module driven per call");
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) {
+            throw new IllegalStateException("batch module driven per call");
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) {
+            throw new IllegalStateException("batch module driven per call");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package edu.iis.mto.oven.fleet;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+
+class OvenFleetTest {
+
+    @Test
+    void programsOnOneOvenRunInSubmissionOrder() throws Exception {
+        RecordingModule module = new RecordingModule();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        try (OvenFleet fleet = OvenFleet.builder()
+                                        .withOven(module, new StubFan())
+                                        .withQueueCapacity(4)
+                                        .build()) {
+            for (int temp = 1; temp <= 100; temp++) {
+                results.add(fleet.submit(0, emptyProgram(temp)));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                             .get();
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int temp = 1; temp <= 100; temp++) {
+            expected.add(temp);
+        }
+        assertThat(module.temps, equalTo(expected));
+    }
+
+    @Test
+    void statsCountCompletedProgramsAcrossOvens() throws Exception {
+        OvenFleet fleet = OvenFleet.builder()
+                                   .withOven(new RecordingModule(), new StubFan())
+                                   .withOven(new RecordingModule(), new StubFan())
+                                   .withOven(new RecordingModule(), new StubFan())
+                                   .build();
+        for (int i = 0; i < 30; i++) {
+            fleet.submit(i % fleet.size(), emptyProgram(100));
+        }
+        fleet.close();
+        FleetStats stats = fleet.stats();
+        assertThat(stats.getCompletedPrograms(), equalTo(30L));
+        assertThat(stats.getFailedPrograms(), equalTo(0L));
+        assertThat(stats.getTotalQueueDepth(), equalTo(0));
+        assertThat(stats.getProgramsPerSecond(), greaterThan(0.0));
+    }
+
+    @Test
+    void failingProgramCompletesExceptionallyWithOvenException() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.failing = true;
+        try (OvenFleet fleet = OvenFleet.builder()
+                                        .withOven(module, new StubFan())
+                                        .build()) {
+            CompletableFuture<Void> result = fleet.submit(0, emptyProgram(100));
+            ExecutionException thrown = Assertions.assertThrows(ExecutionException.class, result::get);
+            assertThat(thrown.getCause(), instanceOf(OvenException.class));
+            assertThat(fleet.stats()
+                            .getFailedPrograms(),
+                    equalTo(1L));
+        }
+    }
+
+    @Test
+    void submitAfterCloseIsRejected() {
+        OvenFleet fleet = OvenFleet.builder()
+                                   .withOven(new RecordingModule(), new StubFan())
+                                   .build();
+        fleet.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> fleet.trySubmit(0, emptyProgram(100)));
+    }
+
+    @Test
+    void errorThrownByModuleFailsOnlyItsProgram() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.error = new AssertionError("sensor fault");
+        try (OvenFleet fleet = OvenFleet.builder()
+                                        .withOven(module, new StubFan())
+                                        .build()) {
+            ExecutionException thrown = Assertions.assertThrows(ExecutionException.class,
+                    fleet.submit(0, emptyProgram(100))::get);
+            assertThat(thrown.getCause(), instanceOf(AssertionError.class));
+            module.error = null;
+            fleet.submit(0, emptyProgram(120))
+                 .get(5, TimeUnit.SECONDS);
+        }
+        assertThat(module.temps, contains(120));
+    }
+
+    @Test
+    void submissionsRacingCloseAreEitherRejectedOrCompleted() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            OvenFleet fleet = OvenFleet.builder()
+                                       .withOven(new RecordingModule(), new StubFan())
+                                       .withQueueCapacity(2)
+                                       .build();
+            List<CompletableFuture<Void>> results = Collections.synchronizedList(new ArrayList<>());
+            Thread submitter = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 100; i++) {
+                        results.add(fleet.submit(0, emptyProgram(100)));
+                    }
+                } catch (IllegalStateException | InterruptedException e) {
+                    // fleet closed under the submitter
+                }
+            });
+            submitter.start();
+            fleet.close();
+            submitter.join();
+            for (CompletableFuture<Void> result : results) {
+                assertThat(result.isDone(), equalTo(true));
+            }
+        }
+    }
+
+    private static BakingProgram emptyProgram(int initialTemp) {
+        return program(initialTemp, false, Collections.emptyList());
+    }
+
+    private static class RecordingModule implements HeatingModule {
+
+        private final List<Integer> temps = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean failing;
+        private volatile Error error;
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            if (failing) {
+                throw new HeatingException();
+            }
+            if (error != null) {
+                throw error;
+            }
+            temps.add(settings.getTargetTemp());
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {}
+    }
+}
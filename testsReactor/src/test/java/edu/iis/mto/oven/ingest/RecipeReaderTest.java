@@ -0,0 +1,182 @@
+package edu.iis.mto.oven.ingest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.ProgramStage;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeReaderTest {
+
+    private static final String CSV = String.join("\n", "programId,initialTemp,coolAtFinish,heat,targetTemp,stageTime",
+            "bread,180,true,HEATER,200,30", "bread,180,true,THERMO_CIRCULATION,190,15", "", "# pizza next",
+            "pizza,0,false,GRILL,300,8");
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    @Test
+    void csvLinesAreGroupedIntoPrograms() throws IOException {
+        RecipeReader reader = reader(CSV, RecipeFormat.CSV);
+
+        IngestedProgram bread = reader.next();
+        assertThat(bread.getProgramId(), equalTo("bread"));
+        assertThat(bread.getFirstLine(), equalTo(2L));
+        assertThat(bread.getProgram()
+                        .getInitialTemp(),
+                equalTo(180));
+        assertThat(stages(bread.getProgram()), contains(HeatType.HEATER, HeatType.THERMO_CIRCULATION));
+
+        IngestedProgram pizza = reader.next();
+        assertThat(pizza.getProgramId(), equalTo("pizza"));
+        assertThat(pizza.getFirstLine(), equalTo(6L));
+        assertThat(pizza.getProgram()
+                        .isCoolAtFinish(),
+                equalTo(false));
+        assertThat(stages(pizza.getProgram()), contains(HeatType.GRILL));
+
+        assertThat(reader.next(), nullValue());
+    }
+
+    @Test
+    void jsonLinesAreGroupedIntoPrograms() throws IOException {
+        String json = String.join("\n",
+                "{\"programId\": \"bread\", \"initialTemp\": 180, \"coolAtFinish\": true, \"heat\": \"HEATER\", \"targetTemp\": 200, \"stageTime\": 30}",
+                "{\"programId\": \"bread\", \"initialTemp\": 180, \"coolAtFinish\": true, \"heat\": \"GRILL\", \"targetTemp\": 220, \"stageTime\": 5}");
+        IngestedProgram bread = reader(json, RecipeFormat.JSON_LINES).next();
+
+        assertThat(stages(bread.getProgram()), contains(HeatType.HEATER, HeatType.GRILL));
+    }
+
+    @Test
+    void unknownHeatTypeIsReportedWithLineNumber() {
+        RecipeFormatException thrown = Assertions.assertThrows(RecipeFormatException.class,
+                () -> reader("bread,180,true,HEATER,200,30\nbread,180,true,STEAM,200,30", RecipeFormat.CSV).next());
+        assertThat(thrown.getLineNumber(), equalTo(2L));
+        assertThat(thrown.getMessage(), containsString("STEAM"));
+    }
+
+    @Test
+    void temperatureOutOfRangeIsReportedWithLineNumber() {
+        RecipeFormatException thrown = Assertions.assertThrows(RecipeFormatException.class,
+                () -> reader("bread,180,true,HEATER,900,30", RecipeFormat.CSV).next());
+        assertThat(thrown.getLineNumber(), equalTo(1L));
+    }
+
+    @Test
+    void malformedJsonIsReportedWithLineNumber() {
+        RecipeFormatException thrown = Assertions.assertThrows(RecipeFormatException.class,
+                () -> reader("{\"programId\": \"bread\"", RecipeFormat.JSON_LINES).next());
+        assertThat(thrown.getLineNumber(), equalTo(1L));
+    }
+
+    @Test
+    void jsonStringEscapesAreDecoded() throws IOException {
+        String json = "{\"programId\": \"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e9\\u0041\", \"initialTemp\": 180, "
+                      + "\"coolAtFinish\": true, \"heat\": \"HEATER\", \"targetTemp\": 200, \"stageTime\": 30}";
+
+        assertThat(reader(json, RecipeFormat.JSON_LINES).next()
+                                                       .getProgramId(),
+                equalTo("a\"b\\c/d\b\f\n\r\t\u00e9A"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\\x", "\\u00", "\\u00g1"})
+    void invalidJsonEscapeIsReportedWithLineNumber(String escape) {
+        String json = "{\"programId\": \"bread" + escape + "\", \"initialTemp\": 180, \"coolAtFinish\": true, "
+                      + "\"heat\": \"HEATER\", \"targetTemp\": 200, \"stageTime\": 30}";
+
+        RecipeFormatException thrown = Assertions.assertThrows(RecipeFormatException.class,
+                () -> reader(json, RecipeFormat.JSON_LINES).next());
+        assertThat(thrown.getLineNumber(), equalTo(1L));
+        assertThat(thrown.getMessage(), containsString("escape"));
+    }
+
+    @Test
+    void jsonNullIsReportedAsMissingField() {
+        String json = "{\"programId\": \"null\", \"initialTemp\": 180, \"coolAtFinish\": true, \"heat\": \"HEATER\", "
+                      + "\"targetTemp\": 200, \"stageTime\": null}";
+
+        RecipeFormatException thrown = Assertions.assertThrows(RecipeFormatException.class,
+                () -> reader(json, RecipeFormat.JSON_LINES).next());
+        assertThat(thrown.getMessage(), containsString("missing stageTime"));
+    }
+
+    @Test
+    void programsCanBeFedStraightIntoOven() throws Exception {
+        Oven oven = new Oven(module, fan);
+        long count = reader(CSV, RecipeFormat.CSV).drainTo(program -> oven.runProgram(program.getProgram()));
+
+        assertThat(count, equalTo(2L));
+        Mockito.verify(module)
+               .grill(Mockito.any());
+    }
+
+    @Test
+    void ingestionOverlapsExecutionThroughBoundedQueue() throws Exception {
+        StringBuilder dump = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            dump.append("p")
+                .append(i)
+                .append(",100,false,HEATER,200,10\n");
+        }
+        BlockingQueue<IngestedProgram> queue = new ArrayBlockingQueue<>(4);
+        List<String> consumed = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 1000; i++) {
+                    consumed.add(queue.take()
+                                      .getProgramId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+        });
+        consumer.start();
+        reader(dump.toString(), RecipeFormat.CSV).drainTo(queue::put);
+        consumer.join();
+
+        assertThat(consumed, hasSize(1000));
+        assertThat(consumed.get(999), equalTo("p999"));
+    }
+
+    private static RecipeReader reader(String text, RecipeFormat format) {
+        return RecipeReader.builder()
+                           .withSource(new StringReader(text))
+                           .withFormat(format)
+                           .build();
+    }
+
+    private static List<HeatType> stages(BakingProgram program) {
+        List<HeatType> heats = new ArrayList<>();
+        for (ProgramStage stage : program) {
+            heats.add(stage.getHeat());
+        }
+        return heats;
+    }
+}
@@ -0,0 +1,201 @@
+package edu.iis.mto.oven.journal;
+
+import static edu.iis.mto.oven.OvenFixtures.allocatedBytes;
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.CompiledProgram;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+
+class CommandJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private long tick;
+
+    private final BakingProgram program = program(150, true, stage(HeatType.HEATER, 200, 10),
+            stage(HeatType.THERMO_CIRCULATION, 180, 30), stage(HeatType.GRILL, 250, 5));
+
+    @Test
+    void recordsEveryDeviceCommandIssuedByOven() throws IOException {
+        try (CommandJournal journal = journal(1024)) {
+            Oven oven = new Oven(journal.heatingModule(new StubModule(), 7), journal.fan(new StubFan(), 7));
+            oven.runProgram(program);
+        }
+
+        List<String> commands = new ArrayList<>();
+        JournalRecord record = new JournalRecord();
+        JournalReader reader = JournalReader.open(directory);
+        while (reader.next(record)) {
+            assertThat(record.getOvenId(), equalTo(7));
+            commands.add(record.getCommand() + ":" + record.getTargetTemp() + "/" + record.getTimeInMinutes());
+        }
+        assertThat(commands, contains("HEATER:150/0", "HEATER:200/10", "FAN_ON:0/0", "TERMAL_CIRCUIT:180/30",
+                "FAN_OFF:0/0", "GRILL:250/5", "FAN_ON:0/0"));
+    }
+
+    @Test
+    void failedCommandIsRecordedAndStillThrown() throws IOException {
+        try (CommandJournal journal = journal(1024)) {
+            StubModule module = new StubModule();
+            module.failing = true;
+            Oven oven = new Oven(journal.heatingModule(module, 0), journal.fan(new StubFan(), 0));
+
+            Assertions.assertThrows(OvenException.class, () -> oven.runProgram(program));
+        }
+
+        JournalRecord record = new JournalRecord();
+        JournalReader reader = JournalReader.open(directory);
+        assertThat(reader.next(record), is(true));
+        assertThat(record.getCommand(), equalTo(JournalCommand.HEATER));
+        assertThat(record.isFailed(), is(true));
+        assertThat(reader.next(record), is(false));
+    }
+
+    @Test
+    void fullSegmentsRollOver() throws IOException {
+        try (CommandJournal journal = journal(4)) {
+            Fan fan = journal.fan(new StubFan(), 0);
+            for (int i = 0; i < 10; i++) {
+                fan.on();
+            }
+        }
+
+        assertThat(JournalFormat.segments(directory), hasSize(3));
+        assertThat(sequences(), contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+    }
+
+    @Test
+    void reopeningAfterTornRecordContinuesFromLastIntactOne() throws IOException {
+        try (CommandJournal journal = journal(16)) {
+            Fan fan = journal.fan(new StubFan(), 0);
+            for (int i = 0; i < 5; i++) {
+                fan.on();
+            }
+        }
+        Path segment = JournalFormat.segments(directory)
+                                    .get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int tornRecord = JournalFormat.HEADER_BYTES + 3 * JournalFormat.RECORD_BYTES;
+            channel.write(ByteBuffer.wrap(new byte[] {0x5A}), tornRecord + JournalFormat.CHECKSUM);
+        }
+
+        try (CommandJournal journal = journal(16)) {
+            assertThat(journal.recoveredRecords(), equalTo(3L));
+            assertThat(journal.nextSequence(), equalTo(4L));
+            journal.fan(new StubFan(), 0)
+                   .off();
+        }
+
+        assertThat(sequences(), contains(1L, 2L, 3L, 4L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, JournalFormat.HEADER_BYTES + 4 * JournalFormat.RECORD_BYTES})
+    void blankLastSegmentLeftByCrashedRollIsDropped(int blankBytes) throws IOException {
+        try (CommandJournal journal = journal(4)) {
+            Fan fan = journal.fan(new StubFan(), 0);
+            for (int i = 0; i < 8; i++) {
+                fan.on();
+            }
+        }
+        Files.write(directory.resolve(JournalFormat.segmentName(2)), new byte[blankBytes]);
+        assertThat(sequences(), contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L));
+
+        try (CommandJournal journal = journal(4)) {
+            assertThat(journal.recoveredRecords(), equalTo(4L));
+            assertThat(journal.nextSequence(), equalTo(9L));
+            journal.fan(new StubFan(), 0)
+                   .off();
+        }
+
+        assertThat(JournalFormat.segments(directory), hasSize(3));
+        assertThat(sequences(), contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L));
+    }
+
+    @Test
+    void blankOnlySegmentStartsFreshJournal() throws IOException {
+        Files.write(directory.resolve(JournalFormat.segmentName(0)), new byte[JournalFormat.HEADER_BYTES]);
+
+        try (CommandJournal journal = journal(4)) {
+            assertThat(journal.recoveredRecords(), equalTo(0L));
+            assertThat(journal.nextSequence(), equalTo(1L));
+            journal.fan(new StubFan(), 0)
+                   .on();
+        }
+
+        assertThat(sequences(), contains(1L));
+    }
+
+    @Test
+    void steadyStateAppendAllocatesNothing() throws IOException {
+        try (CommandJournal journal = journal(1 << 18)) {
+            Oven oven = new Oven(journal.heatingModule(new StubModule(), 0), journal.fan(new StubFan(), 0));
+            CompiledProgram compiled = CompiledProgram.compile(program);
+
+            assertThat(allocatedBytes(20_000, 10_000, () -> oven.runProgram(compiled)), equalTo(0L));
+        }
+    }
+
+    private CommandJournal journal(int segmentRecords) throws IOException {
+        return CommandJournal.builder()
+                             .withDirectory(directory)
+                             .withSegmentRecords(segmentRecords)
+                             .withClock(() -> ++tick)
+                             .build();
+    }
+
+    private List<Long> sequences() throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        JournalRecord record = new JournalRecord();
+        JournalReader reader = JournalReader.open(directory);
+        while (reader.next(record)) {
+            sequences.add(record.getSequence());
+        }
+        return sequences;
+    }
+
+    private static class StubModule implements HeatingModule {
+
+        private boolean failing;
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            if (failing) {
+                throw new HeatingException();
+            }
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {}
+    }
+}
@@ -0,0 +1,129 @@
+package edu.iis.mto.oven.library;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.ProgramStage;
+
+class ProgramLibraryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void programsRoundTripThroughMappedFile() throws IOException {
+        ProgramLibraryWriter writer = new ProgramLibraryWriter();
+        for (int i = 0; i < 100; i++) {
+            assertThat(writer.add(seededProgram(i)), equalTo(i));
+        }
+        Path file = dir.resolve("recipes.lib");
+        writer.writeTo(file);
+
+        ProgramLibrary library = ProgramLibrary.open(file);
+        assertThat(library.size(), equalTo(100));
+        for (int i = 99; i >= 0; i--) {
+            assertThat(describe(library.get(i)), equalTo(describe(seededProgram(i))));
+        }
+    }
+
+    @Test
+    void unknownIdIsRejected() throws IOException {
+        ProgramLibrary library = ProgramLibrary.wrap(bytes(seededProgram(3)));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> library.get(1));
+    }
+
+    @Test
+    void wrongMagicIsRejected() throws IOException {
+        ByteBuffer buffer = bytes(seededProgram(3));
+        buffer.putInt(0, 0xCAFEBABE);
+        Assertions.assertThrows(ProgramFormatException.class, () -> ProgramLibrary.wrap(buffer));
+    }
+
+    @Test
+    void unsupportedVersionIsRejected() throws IOException {
+        ByteBuffer buffer = bytes(seededProgram(3));
+        buffer.putShort(Integer.BYTES, (short) 99);
+        Assertions.assertThrows(ProgramFormatException.class, () -> ProgramLibrary.wrap(buffer));
+    }
+
+    @Test
+    void truncatedRecordIsRejectedOnRead() throws IOException {
+        ByteBuffer buffer = bytes(seededProgram(3));
+        buffer.limit(buffer.limit() - 1);
+        ProgramLibrary library = ProgramLibrary.wrap(buffer);
+        Assertions.assertThrows(ProgramFormatException.class, () -> library.get(0));
+    }
+
+    @Test
+    void heatTypesAreStoredAsFixedCodes() throws IOException {
+        ByteBuffer buffer = bytes(program(100, false, stage(HeatType.THERMO_CIRCULATION, 100, 1),
+                stage(HeatType.HEATER, 100, 1), stage(HeatType.GRILL, 100, 1)));
+
+        assertThat(buffer.get(heatPosition(0)), equalTo((byte) 0));
+        assertThat(buffer.get(heatPosition(1)), equalTo((byte) 1));
+        assertThat(buffer.get(heatPosition(2)), equalTo((byte) 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(bytes = {3, -1})
+    void unknownHeatCodeIsRejectedOnRead(byte code) throws IOException {
+        ByteBuffer buffer = bytes(program(100, false, stage(HeatType.HEATER, 100, 1)));
+        buffer.put(heatPosition(0), code);
+        ProgramLibrary library = ProgramLibrary.wrap(buffer);
+        Assertions.assertThrows(ProgramFormatException.class, () -> library.get(0));
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path file = dir.resolve("empty.lib");
+        Files.write(file, new byte[3]);
+        Assertions.assertThrows(ProgramFormatException.class, () -> ProgramLibrary.open(file));
+    }
+
+    private static ByteBuffer bytes(BakingProgram program) throws IOException {
+        ProgramLibraryWriter writer = new ProgramLibraryWriter();
+        writer.add(program);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static int heatPosition(int stage) {
+        return ProgramFormat.HEADER_BYTES + ProgramFormat.INDEX_ENTRY_BYTES + ProgramFormat.RECORD_HEADER_BYTES
+               + stage * ProgramFormat.STAGE_BYTES + 2 * Integer.BYTES;
+    }
+
+    private static BakingProgram seededProgram(int seed) {
+        List<ProgramStage> stages = new ArrayList<>();
+        for (int i = 0; i < seed % 7; i++) {
+            stages.add(stage(HeatType.values()[(seed + i) % HeatType.values().length], 100 + seed + i, seed * i));
+        }
+        return program(seed * 3, seed % 2 == 0, stages);
+    }
+
+    private static String describe(BakingProgram program) {
+        List<String> stages = new ArrayList<>();
+        for (ProgramStage stage : program) {
+            stages.add(stage.toString());
+        }
+        return program.getInitialTemp() + " " + program.isCoolAtFinish() + " " + stages;
+    }
+}
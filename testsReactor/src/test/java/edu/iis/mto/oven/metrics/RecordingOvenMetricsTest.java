@@ -0,0 +1,128 @@
+package edu.iis.mto.oven.metrics;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.ExecutionPlan;
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.StagePlanOptimizer;
+
+@ExtendWith(MockitoExtension.class)
+class RecordingOvenMetricsTest {
+
+    RecordingOvenMetrics metrics = new RecordingOvenMetrics();
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    BakingProgram program = program(100, true, stage(HeatType.THERMO_CIRCULATION, 200, 10),
+            stage(HeatType.THERMO_CIRCULATION, 200, 10), stage(HeatType.GRILL, 200, 10));
+
+    @Test
+    void recordsStagesFanTogglesAndProgramLatency() {
+        new Oven(module, fan, metrics).runProgram(program);
+
+        OvenMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getProgramLatency()
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getPreheatLatency()
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getStageLatency(HeatType.THERMO_CIRCULATION)
+                           .getCount(),
+                equalTo(2L));
+        assertThat(snapshot.getStageLatency(HeatType.GRILL)
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getStageLatency(HeatType.HEATER)
+                           .getCount(),
+                equalTo(0L));
+        assertThat(snapshot.getFanOnCount(), equalTo(3L));
+        assertThat(snapshot.getFanOffCount(), equalTo(2L));
+    }
+
+    @Test
+    void recordsFailuresByStageType() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .grill(Mockito.any());
+
+        Assertions.assertThrows(OvenException.class, () -> new Oven(module, fan, metrics).runProgram(program));
+
+        OvenMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getStageFailures(HeatType.GRILL), equalTo(1L));
+        assertThat(snapshot.getStageFailures(HeatType.HEATER), equalTo(0L));
+        assertThat(snapshot.getFailedPrograms(), equalTo(1L));
+        assertThat(snapshot.getProgramLatency()
+                           .getCount(),
+                equalTo(0L));
+    }
+
+    @Test
+    void recordsPlannedStagesOfExecutionPlans() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .when(module)
+               .grill(Mockito.any());
+        ExecutionPlan plan = new StagePlanOptimizer().optimize(program);
+
+        Assertions.assertThrows(OvenException.class, () -> new Oven(module, fan, metrics).runProgram(plan));
+
+        OvenMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getPreheatLatency()
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getStageLatency(HeatType.THERMO_CIRCULATION)
+                           .getCount(),
+                equalTo(1L));
+        assertThat(snapshot.getStageFailures(HeatType.GRILL), equalTo(1L));
+        assertThat(snapshot.getFailedPrograms(), equalTo(1L));
+    }
+
+    @Test
+    void histogramBucketsAreMonotonicAndPrecise() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertThat(bucket, greaterThanOrEqualTo(previous));
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertThat(highest, greaterThanOrEqualTo(value));
+            assertThat((double) (highest - value), lessThan(value * 0.0625 + 1));
+            previous = bucket;
+        }
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE), equalTo(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    void histogramReportsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount(), equalTo(1000L));
+        assertThat(snapshot.getMaxNanos(), equalTo(1_000_000L));
+        assertThat((double) snapshot.getValueAtPercentile(50), closeTo(500_000, 500_000 * 0.07));
+        assertThat((double) snapshot.getValueAtPercentile(99), closeTo(990_000, 990_000 * 0.07));
+        assertThat(snapshot.getValueAtPercentile(100), equalTo(1_000_000L));
+    }
+}
@@ -0,0 +1,136 @@
+package edu.iis.mto.oven.mirror;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.Oven;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceMirrorTest {
+
+    @Mock
+    Fan fan;
+
+    @Mock
+    HeatingModule module;
+
+    long now;
+
+    DeviceMirror mirror;
+
+    Oven oven;
+
+    @BeforeEach
+    void setUp() {
+        mirror = DeviceMirror.builder()
+                             .withFan(fan)
+                             .withHeatingModule(module)
+                             .withReconcileInterval(Duration.ofSeconds(10))
+                             .withNanoClock(() -> now)
+                             .build();
+        oven = new Oven(mirror.heatingModule(), mirror.fan());
+    }
+
+    @Test
+    void fanStateIsAnsweredLocallyAfterFirstQuery() {
+        oven.runProgram(program(200, false, stage(HeatType.HEATER, 200, 10), stage(HeatType.GRILL, 250, 10),
+                stage(HeatType.HEATER, 180, 10)));
+
+        Mockito.verify(fan, Mockito.times(1))
+               .isOn();
+        assertThat(mirror.stats()
+                         .getFanQueriesAnsweredLocally(),
+                equalTo(2L));
+    }
+
+    @Test
+    void preheatIsSkippedWhenCavityIsAlreadyHeldAtTarget() throws HeatingException {
+        oven.runProgram(program(150, false, stage(HeatType.HEATER, 200, 10)));
+        oven.runProgram(program(200, false, stage(HeatType.GRILL, 220, 10)));
+
+        Mockito.verify(module, Mockito.never())
+               .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        assertThat(mirror.stats()
+                         .getHeatingCommandsSuppressed(),
+                equalTo(1L));
+    }
+
+    @Test
+    void coolingInvalidatesHeldTemperature() throws HeatingException {
+        oven.runProgram(program(150, true, stage(HeatType.HEATER, 200, 10)));
+        oven.runProgram(program(200, false, stage(HeatType.GRILL, 220, 10)));
+
+        Mockito.verify(module)
+               .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+    }
+
+    @Test
+    void repeatedFanCommandsAreSuppressed() {
+        mirror.fan()
+              .on();
+        mirror.fan()
+              .on();
+        mirror.fan()
+              .off();
+        mirror.fan()
+              .off();
+
+        Mockito.verify(fan, Mockito.times(1))
+               .on();
+        Mockito.verify(fan, Mockito.times(1))
+               .off();
+        assertThat(mirror.stats()
+                         .getFanCommandsSuppressed(),
+                equalTo(2L));
+    }
+
+    @Test
+    void staleStateIsReconciledWithHardware() {
+        mirror.fan()
+              .on();
+        Mockito.when(fan.isOn())
+               .thenReturn(false);
+        now += Duration.ofSeconds(11)
+                       .toNanos();
+
+        assertThat(mirror.fan()
+                         .isOn(),
+                equalTo(false));
+        MirrorStats stats = mirror.stats();
+        assertThat(stats.getReconciliations(), equalTo(1L));
+        assertThat(stats.getMismatches(), equalTo(1L));
+    }
+
+    @Test
+    void failedCommandForgetsMirroredState() throws HeatingException {
+        Mockito.doThrow(HeatingException.class)
+               .doNothing()
+               .when(module)
+               .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        try {
+            mirror.heatingModule()
+                  .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+        } catch (HeatingException expected) {}
+        mirror.heatingModule()
+              .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+
+        Mockito.verify(module, Mockito.times(2))
+               .heater(settings(200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+    }
+}
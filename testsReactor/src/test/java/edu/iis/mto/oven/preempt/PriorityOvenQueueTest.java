@@ -0,0 +1,292 @@
+package edu.iis.mto.oven.preempt;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+import edu.iis.mto.oven.OvenMetrics;
+import edu.iis.mto.oven.ProgramStage;
+
+class PriorityOvenQueueTest {
+
+    private static final int LOW = 1;
+    private static final int HIGH = 10;
+
+    @Test
+    void ovenStopsAtGateAndResumesFromThatStage() {
+        RecordingModule module = new RecordingModule();
+        StubFan fan = new StubFan();
+        Oven oven = new Oven(module, fan);
+        BakingProgram program = heaterProgram(100, 4);
+
+        int stopped = oven.runProgram(program, 0, stage -> stage < 2);
+        assertThat(stopped, equalTo(2));
+        assertThat(fan.isOn(), is(false));
+
+        int finished = oven.runProgram(program, stopped, stage -> true);
+        assertThat(finished, equalTo(4));
+        assertThat(module.times, contains(0, 1, 2, 3, 4));
+        assertThat(fan.isOn(), is(true));
+    }
+
+    @Test
+    void highPriorityProgramPreemptsLongLowPriorityOne() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.stageMillis = 2;
+        try (PriorityOvenQueue queue = queue(module, true)) {
+            ExecutionHandle low = queue.submit(heaterProgram(100, 40), LOW);
+            Assertions.assertTrue(module.started.await(5, TimeUnit.SECONDS));
+
+            ExecutionHandle high = queue.submit(heaterProgram(200, 2), HIGH);
+            high.result()
+                .get(5, TimeUnit.SECONDS);
+
+            assertThat(low.getState(), not(equalTo(ExecutionState.COMPLETED)));
+            low.result()
+               .get(5, TimeUnit.SECONDS);
+            assertThat(low.getPreemptions(), greaterThanOrEqualTo(1));
+            assertThat(high.getLatencyNanos(), lessThan(low.getLatencyNanos()));
+        }
+        long lowStages = module.temps.stream()
+                                     .filter(temp -> temp == 100)
+                                     .count();
+        assertThat(lowStages, equalTo(40L + 1));
+        int firstHigh = module.temps.indexOf(200);
+        int lastHigh = module.temps.lastIndexOf(200);
+        assertThat(firstHigh, greaterThan(0));
+        assertThat(lastHigh, lessThan(module.temps.size() - 1));
+    }
+
+    @Test
+    void withoutPreemptionRunningProgramFinishesFirst() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.stageMillis = 1;
+        try (PriorityOvenQueue queue = queue(module, false)) {
+            ExecutionHandle low = queue.submit(heaterProgram(100, 10), LOW);
+            Assertions.assertTrue(module.started.await(5, TimeUnit.SECONDS));
+            ExecutionHandle high = queue.submit(heaterProgram(200, 2), HIGH);
+            high.result()
+                .get(5, TimeUnit.SECONDS);
+
+            assertThat(low.getState(), equalTo(ExecutionState.COMPLETED));
+            assertThat(low.getPreemptions(), equalTo(0));
+        }
+    }
+
+    @Test
+    void cancellingQueuedProgramDropsIt() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.gate = new CountDownLatch(1);
+        try (PriorityOvenQueue queue = queue(module, true)) {
+            ExecutionHandle first = queue.submit(heaterProgram(100, 1), LOW);
+            Assertions.assertTrue(module.started.await(5, TimeUnit.SECONDS));
+            ExecutionHandle second = queue.submit(heaterProgram(200, 1), LOW);
+
+            assertThat(second.cancel(), is(true));
+            module.gate.countDown();
+            first.result()
+                 .get(5, TimeUnit.SECONDS);
+
+            assertThat(second.getState(), equalTo(ExecutionState.CANCELLED));
+            Assertions.assertThrows(CancellationException.class, () -> second.result()
+                                                                           .join());
+        }
+        assertThat(module.temps, not(hasItem(200)));
+    }
+
+    @Test
+    void cancellingRunningProgramStopsBeforeNextStage() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.gate = new CountDownLatch(1);
+        try (PriorityOvenQueue queue = queue(module, true)) {
+            ExecutionHandle handle = queue.submit(heaterProgram(0, 5), LOW);
+            Assertions.assertTrue(module.started.await(5, TimeUnit.SECONDS));
+
+            handle.cancel();
+            module.gate.countDown();
+
+            Assertions.assertThrows(CancellationException.class, () -> handle.result()
+                                                                           .join());
+            assertThat(handle.getState(), equalTo(ExecutionState.CANCELLED));
+            assertThat(handle.getNextStage(), equalTo(1));
+        }
+        assertThat(module.temps, hasSize(1));
+    }
+
+    @Test
+    void cancellingInterruptsInterruptibleModuleMidStage() throws Exception {
+        InterruptibleModule module = new InterruptibleModule();
+        try (PriorityOvenQueue queue = PriorityOvenQueue.builder()
+                                                        .withHeatingModule(module)
+                                                        .withFan(new StubFan())
+                                                        .build()) {
+            ExecutionHandle handle = queue.submit(heaterProgram(0, 3), LOW);
+            Assertions.assertTrue(module.started.await(5, TimeUnit.SECONDS));
+
+            handle.cancel();
+
+            Assertions.assertThrows(CancellationException.class, () -> handle.result()
+                                                                           .get(5, TimeUnit.SECONDS));
+            assertThat(handle.getState(), equalTo(ExecutionState.CANCELLED));
+        }
+    }
+
+    @Test
+    void fanFailureFailsProgramAndKeepsWorkerRunning() throws Exception {
+        FailingFan fan = new FailingFan();
+        fan.failure = new IllegalStateException("fan relay stuck");
+        try (PriorityOvenQueue queue = PriorityOvenQueue.builder()
+                                                        .withHeatingModule(new RecordingModule())
+                                                        .withFan(fan)
+                                                        .build()) {
+            ExecutionHandle failing = queue.submit(heaterProgram(100, 1), LOW);
+            ExecutionException thrown = Assertions.assertThrows(ExecutionException.class, () -> failing.result()
+                                                                                                     .get(5, TimeUnit.SECONDS));
+            assertThat(thrown.getCause(), sameInstance(fan.failure));
+            assertThat(failing.getState(), equalTo(ExecutionState.FAILED));
+
+            fan.failure = null;
+            ExecutionHandle next = queue.submit(heaterProgram(120, 1), LOW);
+            next.result()
+                .get(5, TimeUnit.SECONDS);
+            assertThat(next.getState(), equalTo(ExecutionState.COMPLETED));
+        }
+    }
+
+    @Test
+    void invalidStartStageIsRejectedBeforeProgramStarts() {
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        Oven oven = new Oven(new RecordingModule(), new StubFan(), new OvenMetrics() {
+
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void programStarted() {
+                started.incrementAndGet();
+            }
+
+            @Override
+            public void programCompleted(long nanos) {
+                finished.incrementAndGet();
+            }
+
+            @Override
+            public void programFailed(long nanos) {
+                finished.incrementAndGet();
+            }
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> oven.runProgram(heaterProgram(100, 2), 3, stage -> true));
+
+        assertThat(started.get(), equalTo(0));
+        assertThat(finished.get(), equalTo(0));
+    }
+
+    private static PriorityOvenQueue queue(RecordingModule module, boolean preemptive) {
+        return PriorityOvenQueue.builder()
+                                .withHeatingModule(module)
+                                .withFan(new StubFan())
+                                .withPreemption(preemptive)
+                                .build();
+    }
+
+    private static BakingProgram heaterProgram(int temp, int stages) {
+        List<ProgramStage> programStages = new ArrayList<>();
+        for (int stage = 1; stage <= stages; stage++) {
+            programStages.add(stage(HeatType.HEATER, temp == 0 ? 150 : temp, stage));
+        }
+        return program(temp, true, programStages);
+    }
+
+    private static class RecordingModule implements HeatingModule {
+
+        private final List<Integer> temps = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> times = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile long stageMillis;
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            temps.add(settings.getTargetTemp());
+            times.add(settings.getTimeInMinutes());
+            started.countDown();
+            try {
+                if (gate != null) {
+                    gate.await();
+                }
+                if (stageMillis > 0) {
+                    Thread.sleep(stageMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {}
+    }
+
+    private static class InterruptibleModule implements InterruptibleHeatingModule {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                throw new HeatingException();
+            }
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {}
+    }
+
+    private static class FailingFan extends StubFan {
+
+        private volatile RuntimeException failure;
+
+        @Override
+        public void on() {
+            if (failure != null) {
+                throw failure;
+            }
+            super.on();
+        }
+    }
+}
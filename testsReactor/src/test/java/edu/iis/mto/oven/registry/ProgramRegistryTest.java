@@ -0,0 +1,110 @@
+package edu.iis.mto.oven.registry;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.settings;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.ProgramStage;
+
+class ProgramRegistryTest {
+
+    private final ProgramRegistry registry = new ProgramRegistry();
+
+    @Test
+    void equalProgramsShareOneCanonicalInstance() {
+        BakingProgram first = singleStageProgram(180, 200, HeatType.HEATER);
+        BakingProgram second = singleStageProgram(180, 200, HeatType.HEATER);
+
+        BakingProgram canonical = registry.intern(first);
+
+        assertThat(registry.intern(second), sameInstance(canonical));
+        assertThat(canonical, equalTo(first));
+        assertThat(registry.stats()
+                           .getDuplicatesRemoved(),
+                is(1L));
+    }
+
+    @Test
+    void stagesAreInternedAcrossPrograms() {
+        BakingProgram withGrill = program(0, false, stage(HeatType.HEATER, 200, 10), stage(HeatType.GRILL, 220, 10));
+        BakingProgram withThermo = program(0, false, stage(HeatType.HEATER, 200, 10),
+                stage(HeatType.THERMO_CIRCULATION, 150, 10));
+
+        ProgramStage fromFirst = registry.intern(withGrill)
+                                         .iterator()
+                                         .next();
+        ProgramStage fromSecond = registry.intern(withThermo)
+                                          .iterator()
+                                          .next();
+
+        assertThat(fromSecond, sameInstance(fromFirst));
+        assertThat(registry.stats()
+                           .getUniqueStages(),
+                is(3));
+    }
+
+    @Test
+    void contentHashIsStableAndDistinguishesPrograms() {
+        ContentHash hash = ContentHash.of(singleStageProgram(180, 200, HeatType.HEATER));
+
+        assertThat(ContentHash.of(singleStageProgram(180, 200, HeatType.HEATER)), equalTo(hash));
+        assertThat(ContentHash.of(singleStageProgram(180, 200, HeatType.GRILL)), not(equalTo(hash)));
+        assertThat(ContentHash.of(singleStageProgram(181, 200, HeatType.HEATER)), not(equalTo(hash)));
+        assertThat(ContentHash.parse(hash.toString()), equalTo(hash));
+    }
+
+    @Test
+    void lookupByHashReturnsRegisteredProgramAndSharedCompiledForm() {
+        ContentHash hash = registry.register(singleStageProgram(180, 200, HeatType.HEATER));
+
+        assertThat(registry.get(hash), equalTo(singleStageProgram(180, 200, HeatType.HEATER)));
+        assertThat(registry.compiled(hash), sameInstance(registry.compiled(hash)));
+        assertThat(registry.get(ContentHash.of(singleStageProgram(0, 1, HeatType.GRILL))), nullValue());
+    }
+
+    @Test
+    void settingsAreInterned() {
+        HeatingSettings settings = settings(200, 10);
+        HeatingSettings copy = settings(200, 10);
+
+        assertThat(registry.intern(copy), sameInstance(registry.intern(settings)));
+    }
+
+    @Test
+    void concurrentRegistrationsConvergeOnOneInstance() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BakingProgram>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> registry.intern(singleStageProgram(180, 200, HeatType.HEATER))));
+            }
+            BakingProgram canonical = results.get(0)
+                                             .get();
+            for (Future<BakingProgram> result : results) {
+                assertThat(result.get(), sameInstance(canonical));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(registry.stats()
+                           .getUniquePrograms(),
+                is(1));
+    }
+
+    private static BakingProgram singleStageProgram(int initialTemp, int targetTemp, HeatType heat) {
+        return program(initialTemp, true, stage(heat, targetTemp, 10));
+    }
+}
@@ -0,0 +1,181 @@
+package edu.iis.mto.oven.replay;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+import edu.iis.mto.oven.journal.CommandJournal;
+
+class JournalReplayTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private long tick;
+
+    private final BakingProgram bread = program(180, true, stage(HeatType.HEATER, 200, 20),
+            stage(HeatType.THERMO_CIRCULATION, 180, 30), stage(HeatType.GRILL, 240, 5));
+
+    private final BakingProgram pizza = program(250, false, stage(HeatType.GRILL, 280, 8),
+            stage(HeatType.HEATER, 250, 4));
+
+    @Test
+    void rebuildsRecordedProgramsPerOven() throws IOException {
+        record(3, false);
+
+        RecordedJournal journal = RecordedJournal.read(directory);
+
+        assertThat(journal.ovenIds(), contains(0, 1, 2));
+        assertThat(journal.programs(1), contains(bread, pizza, bread));
+    }
+
+    @Test
+    void replayThroughOvenReproducesCommandStream() throws IOException {
+        record(4, false);
+
+        ReplayReport report = replay(ReplayMode.OVEN, false).replay(directory);
+
+        assertThat(report.hasDivergence(), is(false));
+        assertThat(report.getOvens(), hasSize(4));
+        assertThat(report.getOvens()
+                         .get(0)
+                         .getPrograms(),
+                equalTo(3));
+        assertThat(report.getReplayedCommands(), equalTo(report.getOvens()
+                                                               .stream()
+                                                               .mapToLong(OvenReplay::getRecordedCommands)
+                                                               .sum()));
+    }
+
+    @Test
+    void replayToDevicesReproducesCommandStream() throws IOException {
+        record(2, false);
+
+        ReplayReport report = replay(ReplayMode.DEVICES, false).replay(directory);
+
+        assertThat(report.hasDivergence(), is(false));
+        assertThat(report.getOvens()
+                         .get(1)
+                         .getReplayedCommands(),
+                greaterThan(0));
+    }
+
+    @Test
+    void recordedFailureThatTargetDoesNotReproduceIsReported() throws IOException {
+        record(1, true);
+
+        ReplayReport report = replay(ReplayMode.OVEN, false).replay(directory);
+
+        Divergence divergence = report.getOvens()
+                                      .get(0)
+                                      .getDivergence()
+                                      .orElseThrow();
+        assertThat(divergence.getExpected(), equalTo("GRILL(280, 8) failed"));
+        assertThat(divergence.getActual(), equalTo("GRILL(280, 8)"));
+    }
+
+    @Test
+    void failingTargetMatchesRecordedFailure() throws IOException {
+        record(1, true);
+
+        ReplayReport report = replay(ReplayMode.OVEN, true).replay(directory);
+
+        assertThat(report.hasDivergence(), is(false));
+    }
+
+    @Test
+    void speedKeepsScaledRecordedGaps() throws IOException {
+        record(1, false);
+        long recordedSpan = tick - MILLI;
+
+        ReplayReport report = JournalReplay.builder()
+                                           .withMode(ReplayMode.DEVICES)
+                                           .withHeatingModules(ovenId -> new StubModule(false))
+                                           .withFans(ovenId -> new StubFan())
+                                           .withSpeed(2)
+                                           .build()
+                                           .replay(directory);
+
+        assertThat(report.getOvens()
+                         .get(0)
+                         .getElapsedNanos(),
+                greaterThanOrEqualTo(recordedSpan / 2 - MILLI));
+    }
+
+    @Test
+    void negativeSpeedIsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JournalReplay.builder()
+                                                                                  .withHeatingModules(ovenId -> new StubModule(false))
+                                                                                  .withFans(ovenId -> new StubFan())
+                                                                                  .withSpeed(-1)
+                                                                                  .build());
+    }
+
+    private JournalReplay replay(ReplayMode mode, boolean failGrill) {
+        return JournalReplay.builder()
+                            .withMode(mode)
+                            .withHeatingModules(ovenId -> new StubModule(failGrill))
+                            .withFans(ovenId -> new StubFan())
+                            .build();
+    }
+
+    private void record(int ovens, boolean failGrill) throws IOException {
+        try (CommandJournal journal = CommandJournal.builder()
+                                                    .withDirectory(directory)
+                                                    .withClock(() -> tick += MILLI)
+                                                    .build()) {
+            for (int ovenId = 0; ovenId < ovens; ovenId++) {
+                Oven oven = new Oven(journal.heatingModule(new StubModule(failGrill && ovenId == 0), ovenId),
+                        journal.fan(new StubFan(), ovenId));
+                for (BakingProgram program : List.of(bread, pizza, bread)) {
+                    try {
+                        oven.runProgram(program);
+                    } catch (OvenException e) {
+                        // recorded as a failed command
+                    }
+                }
+            }
+        }
+    }
+
+    private static class StubModule implements HeatingModule {
+
+        private final boolean failGrillAt280;
+
+        private StubModule(boolean failGrillAt280) {
+            this.failGrillAt280 = failGrillAt280;
+        }
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {
+            if (failGrillAt280 && settings.getTargetTemp() == 280) {
+                throw new HeatingException();
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package edu.iis.mto.oven.ring;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.OvenException;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+import edu.iis.mto.oven.ProgramStage;
+
+class RingBufferOvenTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int PROGRAMS_PER_PRODUCER = 200;
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    void programsFromConcurrentProducersNeverInterleave(WaitStrategy waitStrategy) throws Exception {
+        RecordingModule module = new RecordingModule();
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        try (RingBufferOven oven = RingBufferOven.builder()
+                                                 .withHeatingModule(module)
+                                                 .withFan(new StubFan())
+                                                 .withCapacity(16)
+                                                 .withWaitStrategy(waitStrategy)
+                                                 .build()) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                int base = producer * PROGRAMS_PER_PRODUCER + 1;
+                done.add(producers.submit(() -> {
+                    for (int i = 0; i < PROGRAMS_PER_PRODUCER; i++) {
+                        oven.runProgram(heaterProgram(base + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        int programs = PRODUCERS * PROGRAMS_PER_PRODUCER;
+        assertThat(module.threads, hasSize(1));
+        assertThat(module.temps, hasSize(programs * 3));
+        int switches = 0;
+        for (int i = 1; i < module.temps.size(); i++) {
+            if (!module.temps.get(i)
+                             .equals(module.temps.get(i - 1))) {
+                switches++;
+            }
+        }
+        assertThat(switches, equalTo(programs - 1));
+    }
+
+    @Test
+    void trySubmitReportsFullRing() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.gate = new CountDownLatch(1);
+        try (RingBufferOven oven = RingBufferOven.builder()
+                                                 .withHeatingModule(module)
+                                                 .withFan(new StubFan())
+                                                 .withCapacity(2)
+                                                 .build()) {
+            CompletableFuture<Void> running = oven.submit(heaterProgram(1));
+            Assertions.assertTrue(module.entered.await(5, TimeUnit.SECONDS));
+            oven.submit(heaterProgram(2));
+            oven.submit(heaterProgram(3));
+
+            Optional<CompletableFuture<Void>> rejected = oven.trySubmit(heaterProgram(4));
+
+            assertThat(rejected.isPresent(), is(false));
+            assertThat(oven.queueDepth(), equalTo(2));
+            module.gate.countDown();
+            running.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void runProgramRethrowsOvenFailure() throws Exception {
+        RecordingModule module = new RecordingModule();
+        module.failing = true;
+        try (RingBufferOven oven = RingBufferOven.builder()
+                                                 .withHeatingModule(module)
+                                                 .withFan(new StubFan())
+                                                 .build()) {
+            Assertions.assertThrows(OvenException.class, () -> oven.runProgram(heaterProgram(1)));
+        }
+    }
+
+    @Test
+    void closeRunsEverythingAlreadyPublished() throws Exception {
+        RecordingModule module = new RecordingModule();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        RingBufferOven oven = RingBufferOven.builder()
+                                            .withHeatingModule(module)
+                                            .withFan(new StubFan())
+                                            .withWaitStrategy(WaitStrategy.PARK)
+                                            .build();
+        for (int i = 1; i <= 50; i++) {
+            results.add(oven.submit(heaterProgram(i)));
+        }
+        oven.close();
+
+        for (CompletableFuture<Void> result : results) {
+            assertThat(result.isDone() && !result.isCompletedExceptionally(), is(true));
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> oven.trySubmit(heaterProgram(1)));
+    }
+
+    @Test
+    void submissionsRacingCloseAreEitherRejectedOrCompleted() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            RingBufferOven oven = RingBufferOven.builder()
+                                                .withHeatingModule(new RecordingModule())
+                                                .withFan(new StubFan())
+                                                .withCapacity(2)
+                                                .build();
+            List<CompletableFuture<Void>> results = Collections.synchronizedList(new ArrayList<>());
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 1; i <= 100; i++) {
+                        results.add(oven.submit(heaterProgram(i)));
+                    }
+                } catch (IllegalStateException | InterruptedException e) {
+                    // ring closed under the producer
+                }
+            });
+            producer.start();
+            oven.close();
+            producer.join();
+            for (CompletableFuture<Void> result : results) {
+                assertThat(result.isDone(), is(true));
+            }
+        }
+    }
+
+    @Test
+    void waitAttemptsSaturateInsteadOfOverflowing() {
+        assertThat(WaitStrategy.next(0), equalTo(1));
+        assertThat(WaitStrategy.next(Integer.MAX_VALUE), equalTo(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void capacityMustBePowerOfTwo() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RingBufferOven.builder()
+                                                                                   .withHeatingModule(new RecordingModule())
+                                                                                   .withFan(new StubFan())
+                                                                                   .withCapacity(12)
+                                                                                   .build());
+    }
+
+    private static BakingProgram heaterProgram(int temp) {
+        List<ProgramStage> stages = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            stages.add(stage(HeatType.HEATER, temp, 1));
+        }
+        return program(temp, true, stages);
+    }
+
+    private static class RecordingModule implements HeatingModule {
+
+        private final List<Integer> temps = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile boolean failing;
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {}
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            threads.add(Thread.currentThread());
+            if (failing) {
+                throw new HeatingException();
+            }
+            entered.countDown();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                          .interrupt();
+                }
+            }
+            temps.add(settings.getTargetTemp());
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {}
+    }
+}
@@ -0,0 +1,126 @@
+package edu.iis.mto.oven.schedule;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.OvenFixtures.NoOpModule;
+import edu.iis.mto.oven.OvenFixtures.StubFan;
+import edu.iis.mto.oven.fleet.OvenFleet;
+
+class ProgramSchedulerTest {
+
+    ProgramScheduler scheduler = ProgramScheduler.builder()
+                                                 .withOvens(2)
+                                                 .build();
+
+    List<BakingProgram> alternatingQueue = alternating(20);
+
+    @Test
+    void fifoKeepsQueueOrderPerOven() {
+        Schedule fifo = scheduler.fifo(alternatingQueue);
+
+        assertThat(fifo.getPrograms(0)
+                       .get(0)
+                       .getQueueIndex(),
+                equalTo(0));
+        assertThat(fifo.getPrograms(1)
+                       .get(0)
+                       .getQueueIndex(),
+                equalTo(1));
+    }
+
+    @Test
+    void transitionAwareScheduleGroupsProgramsByTemperature() {
+        Schedule schedule = scheduler.schedule(alternatingQueue);
+
+        for (int oven = 0; oven < 2; oven++) {
+            int switches = 0;
+            List<ScheduledProgram> programs = schedule.getPrograms(oven);
+            for (int i = 1; i < programs.size(); i++) {
+                if (programs.get(i)
+                            .getProgram()
+                            .getInitialTemp() != programs.get(i - 1)
+                                                         .getProgram()
+                                                         .getInitialTemp()) {
+                    switches++;
+                }
+            }
+            assertThat(switches, lessThanOrEqualTo(1));
+        }
+    }
+
+    @Test
+    void comparisonShowsSavedTransitionTimeAndMakespan() {
+        ScheduleComparison comparison = scheduler.compareWithFifo(alternatingQueue);
+
+        assertThat(comparison.getTransitionSavedMinutes(), greaterThan(0.0));
+        assertThat(comparison.getMakespanSavedMinutes(), greaterThan(0.0));
+        Schedule optimized = comparison.getOptimized();
+        assertThat(optimized.getPrograms(0)
+                            .size()
+                   + optimized.getPrograms(1)
+                              .size(),
+                equalTo(20));
+        assertThat(optimized.getUtilization(0), both(greaterThan(0.0)).and(lessThanOrEqualTo(1.0)));
+    }
+
+    @Test
+    void costFunctionIsPluggable() {
+        ProgramScheduler free = ProgramScheduler.builder()
+                                                .withOvens(2)
+                                                .withTransitionCost((from, next) -> 0)
+                                                .build();
+        Schedule schedule = free.schedule(alternatingQueue);
+
+        assertThat(schedule.getTotalTransitionMinutes(), equalTo(0.0));
+        assertThat(schedule.getMakespanMinutes(), equalTo(100.0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {Double.POSITIVE_INFINITY, Double.NaN, -1})
+    void invalidTransitionCostIsRejected(double minutes) {
+        ProgramScheduler invalid = ProgramScheduler.builder()
+                                                   .withOvens(2)
+                                                   .withTransitionCost((from, next) -> minutes)
+                                                   .build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invalid.schedule(alternatingQueue));
+    }
+
+    @Test
+    void scheduleCanBeSubmittedToFleet() throws Exception {
+        List<CompletableFuture<Void>> results;
+        try (OvenFleet fleet = OvenFleet.builder()
+                                        .withOven(new NoOpModule(), new StubFan())
+                                        .withOven(new NoOpModule(), new StubFan())
+                                        .build()) {
+            results = scheduler.schedule(alternatingQueue)
+                               .submitTo(fleet);
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                             .get();
+        }
+        assertThat(results, hasSize(20));
+    }
+
+    private static List<BakingProgram> alternating(int size) {
+        List<BakingProgram> queue = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int temp = i % 2 == 0 ? 100 : 250;
+            queue.add(program(temp, false, stage(HeatType.HEATER, temp, 10)));
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,121 @@
+package edu.iis.mto.oven.sim;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.Oven;
+import edu.iis.mto.oven.OvenException;
+
+class ThermalSimulationTest {
+
+    ThermalModel model = ThermalModel.builder()
+                                     .withAmbientTemp(20)
+                                     .withHeatingRate(HeatType.HEATER, 10)
+                                     .withHeatingRate(HeatType.THERMO_CIRCULATION, 10)
+                                     .withFanBoost(2)
+                                     .build();
+
+    BakingProgram threeHourProgram = program(180, true, stage(HeatType.HEATER, 200, 60),
+            stage(HeatType.THERMO_CIRCULATION, 180, 60), stage(HeatType.GRILL, 250, 60));
+
+    @Test
+    void threeHourProgramRunsOnVirtualClock() {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withModel(model)
+                                                        .withTraceCapacity(16)
+                                                        .build();
+        long start = System.nanoTime();
+        new Oven(simulation.heatingModule(), simulation.fan()).runProgram(threeHourProgram);
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(simulation.getElapsed(), equalTo(Duration.ofMinutes(16 + 180)));
+        assertThat(wallTime, lessThan(Duration.ofSeconds(1)));
+        assertThat(simulation.getTemperature(), closeTo(250, 0.001));
+        assertThat(simulation.isFanOn(), equalTo(true));
+        TemperatureTrace trace = simulation.getTrace();
+        assertThat(trace.size(), equalTo(4));
+        assertThat(trace.getTemperature(0), closeTo(180, 0.001));
+        assertThat(trace.getTimeNanos(0), equalTo(Duration.ofMinutes(16)
+                                                          .toNanos()));
+    }
+
+    @Test
+    void shortStageStopsBelowTarget() {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withModel(model)
+                                                        .build();
+        new Oven(simulation.heatingModule(), simulation.fan()).runProgram(program(0, false,
+                stage(HeatType.HEATER, 220, 5)));
+
+        assertThat(simulation.getTemperature(), closeTo(70, 0.001));
+        assertThat(simulation.getElapsed(), equalTo(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void fanSpeedsUpThermoCirculation() {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withModel(model)
+                                                        .build();
+        new Oven(simulation.heatingModule(), simulation.fan()).runProgram(
+                program(0, false, stage(HeatType.THERMO_CIRCULATION, 220, 5)));
+
+        assertThat(simulation.getTemperature(), closeTo(120, 0.001));
+    }
+
+    @Test
+    void idleCoolsTowardsAmbient() {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withModel(model)
+                                                        .build();
+        new Oven(simulation.heatingModule(), simulation.fan()).runProgram(threeHourProgram);
+        simulation.idle(600);
+
+        assertThat(simulation.getTemperature(), closeTo(20, 1));
+    }
+
+    @Test
+    void injectedFailuresAreDeterministicPerSeed() {
+        int firstRun = failuresOutOf(1000, 42);
+        int secondRun = failuresOutOf(1000, 42);
+
+        assertThat(firstRun, equalTo(secondRun));
+        assertThat(firstRun, both(greaterThan(50)).and(lessThan(150)));
+    }
+
+    @Test
+    void certainFailureSurfacesAsOvenException() {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withFailureRate(HeatType.GRILL, 1)
+                                                        .build();
+        OvenException thrown = Assertions.assertThrows(OvenException.class,
+                () -> new Oven(simulation.heatingModule(), simulation.fan()).runProgram(threeHourProgram));
+        assertThat(thrown.getStageIndex(), equalTo(2));
+        assertThat(simulation.getInjectedFailures(), equalTo(1L));
+    }
+
+    private int failuresOutOf(int programs, long seed) {
+        ThermalSimulation simulation = ThermalSimulation.builder()
+                                                        .withFailureRate(0.1)
+                                                        .withSeed(seed)
+                                                        .build();
+        Oven oven = new Oven(simulation.heatingModule(), simulation.fan());
+        int failed = 0;
+        for (int i = 0; i < programs; i++) {
+            try {
+                oven.runProgram(program(0, false, stage(HeatType.HEATER, 200, 10)));
+            } catch (OvenException e) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
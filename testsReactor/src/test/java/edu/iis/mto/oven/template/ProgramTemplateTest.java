@@ -0,0 +1,153 @@
+package edu.iis.mto.oven.template;
+
+import static edu.iis.mto.oven.OvenFixtures.allocatedBytes;
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import edu.iis.mto.oven.BakingProgram;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.Oven;
+
+class ProgramTemplateTest {
+
+    private static final int WARM_UP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 10_000;
+
+    ProgramTemplate template = ProgramTemplate.builder()
+                                              .withName("bread")
+                                              .withInitialTemp(150)
+                                              .withStage(HeatType.HEATER, 200, 10)
+                                              .withOptionalStage("crust", HeatType.GRILL, 250, 5)
+                                              .withStage(HeatType.THERMO_CIRCULATION, 180, 30)
+                                              .withCoolAtFinish(true)
+                                              .build();
+
+    long checksum;
+
+    @Test
+    void defaultVariantIsBaseProgramWithoutOptionalStages() {
+        BakingProgram expected = program(150, true, stage(HeatType.HEATER, 200, 10),
+                stage(HeatType.THERMO_CIRCULATION, 180, 30));
+
+        assertThat(template.instantiate()
+                           .toBakingProgram(),
+                equalTo(expected));
+    }
+
+    @Test
+    void parametersScaleTemperaturesAndTimesAndEnableOptions() {
+        ProgramVariant variant = template.instantiate(TemplateParameters.builder()
+                                                                        .withTempScale(1.1)
+                                                                        .withTempOffset(-5)
+                                                                        .withTimeMultiplier(1.1)
+                                                                        .withOption("crust")
+                                                                        .build());
+
+        assertThat(variant.size(), equalTo(3));
+        assertThat(variant.getInitialTemp(), equalTo(160));
+        assertThat(variant.getHeat(1), equalTo(HeatType.GRILL));
+        assertThat(variant.getTargetTemp(1), equalTo(270));
+        assertThat(variant.getStageTime(1), equalTo(6));
+        assertThat(variant.getStageTime(2), equalTo(33));
+        assertThat(variant.compile()
+                          .getTargetTemp(2),
+                equalTo(193));
+    }
+
+    @Test
+    void unknownOptionIsRejected() {
+        TemplateParameters parameters = TemplateParameters.builder()
+                                                          .withOption("steam")
+                                                          .build();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.instantiate(parameters));
+    }
+
+    @Test
+    void shortenedTimedStageKeepsAtLeastOneMinute() {
+        ProgramTemplate quick = ProgramTemplate.builder()
+                                               .withStage(HeatType.GRILL, 250, 1)
+                                               .withStage(HeatType.HEATER, 200, Oven.HEAT_UP_AND_FINISH_SETTING_TIME)
+                                               .build();
+
+        ProgramVariant variant = quick.instantiate(longer(0.4));
+
+        assertThat(variant.getStageTime(0), equalTo(1));
+        assertThat(variant.getStageTime(1), equalTo(Oven.HEAT_UP_AND_FINISH_SETTING_TIME));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0.1, -20", "1, -180", "1, -200"})
+    void parametersYieldingNonPositiveTemperaturesAreRejected(double tempScale, int tempOffset) {
+        TemplateParameters parameters = TemplateParameters.builder()
+                                                          .withTempScale(tempScale)
+                                                          .withTempOffset(tempOffset)
+                                                          .build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.instantiate(parameters));
+        assertThat(template.getCachedVariants(), equalTo(0));
+    }
+
+    @Test
+    void equalParametersShareOneCachedVariant() {
+        ProgramVariant first = template.instantiate(longer(1.1));
+        BakingProgram program = first.toBakingProgram();
+
+        ProgramVariant second = template.instantiate(longer(1.1));
+
+        assertThat(second, sameInstance(first));
+        assertThat(second.toBakingProgram(), sameInstance(program));
+        assertThat(template.getCacheHits(), equalTo(1L));
+        assertThat(template.getCacheMisses(), equalTo(1L));
+    }
+
+    @Test
+    void leastRecentlyUsedVariantIsEvicted() {
+        ProgramTemplate small = ProgramTemplate.builder()
+                                               .withStage(HeatType.HEATER, 200, 10)
+                                               .withCacheCapacity(2)
+                                               .build();
+        ProgramVariant first = small.instantiate(longer(1.1));
+        small.instantiate(longer(1.2));
+        small.instantiate(longer(1.1));
+        small.instantiate(longer(1.3));
+
+        assertThat(small.getCachedVariants(), equalTo(2));
+        assertThat(small.instantiate(longer(1.1)), sameInstance(first));
+        assertThat(small.getCacheMisses(), equalTo(3L));
+        small.instantiate(longer(1.2));
+        assertThat(small.getCacheMisses(), equalTo(4L));
+    }
+
+    @Test
+    void readingVariantStagesAllocatesNothing() {
+        ProgramVariant variant = template.instantiate(TemplateParameters.builder()
+                                                                        .withTempOffset(10)
+                                                                        .withOption("crust")
+                                                                        .build());
+
+        assertThat(allocatedBytes(WARM_UP_RUNS, MEASURED_RUNS, () -> checksum += sum(variant)), equalTo(0L));
+        assertThat(checksum, greaterThan(0L));
+    }
+
+    private static long sum(ProgramVariant variant) {
+        long sum = variant.getInitialTemp();
+        for (int stage = 0; stage < variant.size(); stage++) {
+            sum += variant.getTargetTemp(stage) + variant.getStageTime(stage) + variant.getHeat(stage)
+                                                                                        .ordinal();
+        }
+        return sum;
+    }
+
+    private static TemplateParameters longer(double timeMultiplier) {
+        return TemplateParameters.builder()
+                                 .withTimeMultiplier(timeMultiplier)
+                                 .build();
+    }
+}
@@ -0,0 +1,259 @@
+package edu.iis.mto.oven.zone;
+
+import static edu.iis.mto.oven.OvenFixtures.program;
+import static edu.iis.mto.oven.OvenFixtures.stage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.iis.mto.oven.Fan;
+import edu.iis.mto.oven.HeatType;
+import edu.iis.mto.oven.HeatingException;
+import edu.iis.mto.oven.HeatingModule;
+import edu.iis.mto.oven.HeatingSettings;
+import edu.iis.mto.oven.ProgramStage;
+
+class MultiZoneOvenTest {
+
+    @Test
+    void zonesRunConcurrently() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        PhysicalFan fan = new PhysicalFan();
+        try (MultiZoneOven oven = MultiZoneOven.builder()
+                                               .withZone(new ZoneModule(fan, barrier), new PhysicalFan())
+                                               .withZone(new ZoneModule(fan, barrier), new PhysicalFan())
+                                               .build()) {
+            MultiZoneResult result = oven.run(ZonedProgram.builder()
+                                                          .withZone(0, program(0, false,
+                                                                  stage(HeatType.HEATER, 200, 1)))
+                                                          .withZone(1, program(0, false, stage(HeatType.GRILL, 250, 1)))
+                                                          .build());
+
+            assertThat(result.isCompleted(), equalTo(true));
+            assertThat(result.getZones(), hasSize(2));
+            assertThat(result.getZone(1)
+                             .getStagesRun(),
+                    equalTo(1));
+        }
+    }
+
+    @Test
+    void sharedFanNeverRunsDuringOtherZonesGrillOrHeater() {
+        PhysicalFan fan = new PhysicalFan();
+        ZoneModule circulating = new ZoneModule(fan, null);
+        ZoneModule grilling = new ZoneModule(fan, null);
+        try (MultiZoneOven oven = MultiZoneOven.builder()
+                                               .withZone(circulating, fan)
+                                               .withZone(grilling, fan)
+                                               .build()) {
+            List<ProgramStage> thermo = new ArrayList<>();
+            List<ProgramStage> grill = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                thermo.add(stage(i % 2 == 0 ? HeatType.THERMO_CIRCULATION : HeatType.HEATER, 180, 1));
+                grill.add(stage(HeatType.GRILL, 250, 1));
+            }
+            MultiZoneResult result = oven.run(ZonedProgram.builder()
+                                                          .withZone(0, program(0, false, thermo))
+                                                          .withZone(1, program(0, false, grill))
+                                                          .build());
+
+            assertThat(result.isCompleted(), equalTo(true));
+            assertThat(circulating.conflicts.get() + grilling.conflicts.get(), equalTo(0));
+            assertThat(result.getZone(0)
+                             .getFanWaitNanos()
+                       + result.getZone(1)
+                               .getFanWaitNanos(),
+                    greaterThan(0L));
+            assertThat(fan.isOn(), equalTo(false));
+        }
+    }
+
+    @Test
+    void circulatingZonesShareFanConcurrently() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        PhysicalFan fan = new PhysicalFan();
+        try (MultiZoneOven oven = MultiZoneOven.builder()
+                                               .withZone(new ZoneModule(fan, barrier), fan)
+                                               .withZone(new ZoneModule(fan, barrier), fan)
+                                               .build()) {
+            MultiZoneResult result = oven.run(ZonedProgram.builder()
+                                                          .withZone(0, program(0, false,
+                                                                  stage(HeatType.THERMO_CIRCULATION, 180, 1)))
+                                                          .withZone(1, program(0, false,
+                                                                  stage(HeatType.THERMO_CIRCULATION, 160, 1)))
+                                                          .build());
+
+            assertThat(result.isCompleted(), equalTo(true));
+            assertThat(fan.switches, contains(true, false));
+        }
+    }
+
+    @Test
+    void failingZoneDoesNotStopOthersAndCoolingWaitsForAllZones() {
+        PhysicalFan fan = new PhysicalFan();
+        ZoneModule failing = new ZoneModule(fan, null);
+        failing.failing = true;
+        try (MultiZoneOven oven = MultiZoneOven.builder()
+                                               .withZone(failing, fan)
+                                               .withZone(new ZoneModule(fan, null), fan)
+                                               .build()) {
+            MultiZoneResult result = oven.run(ZonedProgram.builder()
+                                                          .withZone(0, program(0, true, stage(HeatType.HEATER, 200, 1)))
+                                                          .withZone(1, program(0, true, stage(HeatType.HEATER, 200, 1),
+                                                                  stage(HeatType.GRILL, 250, 1)))
+                                                          .build());
+
+            assertThat(result.isCompleted(), equalTo(false));
+            assertThat(result.getZone(0)
+                             .getFailure()
+                             .getStageIndex(),
+                    equalTo(0));
+            assertThat(result.getZone(1)
+                             .isCompleted(),
+                    equalTo(true));
+            assertThat(fan.switches, contains(true));
+        }
+    }
+
+    @Test
+    void failedCirculationReturnsFanBeforeOtherZoneGrills() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        PhysicalFan fan = new PhysicalFan();
+        ZoneModule failing = new ZoneModule(fan, null);
+        failing.thermoBarrier = barrier;
+        failing.failingThermo = true;
+        ZoneModule grilling = new ZoneModule(fan, null);
+        grilling.thermoBarrier = barrier;
+        try (MultiZoneOven oven = MultiZoneOven.builder()
+                                               .withZone(failing, fan)
+                                               .withZone(grilling, fan)
+                                               .build()) {
+            MultiZoneResult result = oven.run(ZonedProgram.builder()
+                                                          .withZone(0, program(0, false,
+                                                                  stage(HeatType.THERMO_CIRCULATION, 180, 1)))
+                                                          .withZone(1, program(0, false,
+                                                                  stage(HeatType.THERMO_CIRCULATION, 180, 1),
+                                                                  stage(HeatType.GRILL, 250, 1)))
+                                                          .build());
+
+            assertThat(result.getZone(0)
+                             .getFailure(),
+                    notNullValue());
+            assertThat(result.getZone(1)
+                             .isCompleted(),
+                    equalTo(true));
+            assertThat(grilling.conflicts.get(), equalTo(0));
+            assertThat(fan.isOn(), equalTo(false));
+        }
+    }
+
+    @Test
+    void unknownZoneIsRejected() {
+        try (MultiZoneOven oven = MultiZoneOven.builder()
+                                               .withZone(new ZoneModule(new PhysicalFan(), null), new PhysicalFan())
+                                               .build()) {
+            ZonedProgram program = ZonedProgram.builder()
+                                               .withZone(1, program(0, false, stage(HeatType.HEATER, 200, 1)))
+                                               .build();
+            Assertions.assertThrows(IllegalArgumentException.class, () -> oven.run(program));
+        }
+    }
+
+    /**
+     * Checks the shared fan's state while a command runs; optionally meets the other zone at a barrier, which only
+     * works when both zones are inside a command at the same time.
+     */
+    private static class ZoneModule implements HeatingModule {
+
+        private final PhysicalFan fan;
+        private final CyclicBarrier barrier;
+        private final AtomicInteger conflicts = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile boolean failingThermo;
+        private volatile CyclicBarrier thermoBarrier;
+
+        ZoneModule(PhysicalFan fan, CyclicBarrier barrier) {
+            this.fan = fan;
+            this.barrier = barrier;
+        }
+
+        @Override
+        public void termalCircuit(HeatingSettings settings) throws HeatingException {
+            command(true);
+            if (thermoBarrier != null) {
+                try {
+                    thermoBarrier.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    throw new HeatingException();
+                }
+            }
+            if (failingThermo) {
+                throw new HeatingException();
+            }
+        }
+
+        @Override
+        public void heater(HeatingSettings settings) throws HeatingException {
+            command(false);
+        }
+
+        @Override
+        public void grill(HeatingSettings settings) throws HeatingException {
+            command(false);
+        }
+
+        private void command(boolean fanExpected) throws HeatingException {
+            if (failing) {
+                throw new HeatingException();
+            }
+            if (fan.isOn() != fanExpected) {
+                conflicts.incrementAndGet();
+            }
+            try {
+                if (barrier != null) {
+                    barrier.await(5, TimeUnit.SECONDS);
+                } else {
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                throw new HeatingException();
+            }
+            if (fan.isOn() != fanExpected) {
+                conflicts.incrementAndGet();
+            }
+        }
+    }
+
+    private static class PhysicalFan implements Fan {
+
+        private final List<Boolean> switches = new ArrayList<>();
+        private volatile boolean on;
+
+        @Override
+        public synchronized void on() {
+            on = true;
+            switches.add(true);
+        }
+
+        @Override
+        public synchronized void off() {
+            on = false;
+            switches.add(false);
+        }
+
+        @Override
+        public boolean isOn() {
+            return on;
+        }
+    }
+}